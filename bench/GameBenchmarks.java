@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ ***********************************************************
+ * RUN THIS FILE TO BENCHMARK THE GAME (see bench/ReadMe.txt)
+ ***********************************************************
+ */
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+
+/**
+ * This class measures the hot paths of a turn: rolling and drawing the dice, scoring the roll, updating the
+ * standing and the points of every player, and a full headless round. Every benchmark runs with two and
+ * three dice, and the ones that loop over the players also run for every count of PLAYER_COUNTS.
+ *
+ * Each benchmark is warmed up first, then run in batches until MEASURE_MILLIS have passed. The time per
+ * operation and the bytes allocated per operation by the benchmark thread, as counted by the JVM for that
+ * thread, are printed as one row of a table.
+ *
+ * Usage: java GameBenchmarks [warmup millis] [measure millis]
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public class GameBenchmarks {
+
+    /**
+     * One operation of a benchmark. The result is summed into a sink so the work cannot be optimized away.
+     */
+    interface Benchmark {
+        long run();
+    }
+
+    private static long warmupMillis, measureMillis;
+    private static long sink;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final int[] DICE_COUNTS   = {Dice.TWO_DICE, Dice.THREE_DICE};
+    public static final int[] PLAYER_COUNTS = {2, 10, 1000, 100000, 1000000};
+    public static final String[] VARIANTS   = {"2d6", "3d6", "4d6", "6d8", "8d10"};
+    public static final int VARIANT_PLAYERS = 10;
+
+    public static final long DEFAULT_WARMUP_MILLIS  = 300;
+    public static final long DEFAULT_MEASURE_MILLIS = 700;
+    public static final int WARMUP_ARG              = 0;
+    public static final int MEASURE_ARG             = 1;
+
+    public static final long NANOS_PER_MILLI  = 1000000;
+    public static final long BATCH_NANOS      = 1000000;
+    public static final int PRECOMPUTED_ROLLS = 1024;
+    public static final int ROLL_MASK         = PRECOMPUTED_ROLLS - 1;
+    public static final long SEED             = 2019;
+    public static final double BYTES_PER_MB   = 1024 * 1024;
+    public static final double NANOS_PER_SEC  = 1e9;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static final PrintStream DISCARD = new PrintStream(OutputStream.nullOutputStream());
+
+    public static void main(String[] args) {
+        warmupMillis = (args.length > WARMUP_ARG) ? Long.parseLong(args[WARMUP_ARG]) : DEFAULT_WARMUP_MILLIS;
+        measureMillis = (args.length > MEASURE_ARG) ? Long.parseLong(args[MEASURE_ARG]) : DEFAULT_MEASURE_MILLIS;
+
+        System.out.printf("%s %s, %d cores\n", System.getProperty("java.vm.name"),
+                System.getProperty("java.version"), Runtime.getRuntime().availableProcessors());
+        System.out.printf("\n %-36s | %-4s | %-7s | %-14s | %-12s | %-12s\n",
+                "Benchmark", "Dice", "Players", "ns/op", "B/op", "MB/sec");
+        System.out.print("--------------------------------------+------+---------+----------------+--------------+-------------\n");
+
+        for (int numDice : DICE_COUNTS) {
+            diceBenchmarks(numDice);
+            for (int numPlayers : PLAYER_COUNTS) {
+                roundBenchmarks(numDice, numPlayers);
+            }
+        }
+        for (String spec : VARIANTS) {
+            variantBenchmarks(DiceVariant.parse(spec));
+        }
+        metricsBenchmarks();
+        System.out.printf("\n(sink %d)\n", sink);
+    }
+
+    /**
+     * Benchmarks rolling, drawing and scoring the dice.
+     *
+     * @param numDice the number of dice
+     */
+    private static void diceBenchmarks(int numDice) {
+        RandomSource random = new XoshiroRandomSource(SEED);
+        Dice dice = new Dice(numDice, random);
+        int[][] rolls = precomputedRolls(numDice, random);
+
+        measure("Dice.rollDice (no rendering)", numDice, Player.ZERO_SCORE, () -> dice.roll()[Dice.FIRST_DICE_INDEX]);
+
+        /* the art is printed to a stream that discards it, so only the composition is measured */
+        measure("Dice.rollDice (rendering)", numDice, Player.ZERO_SCORE, () -> {
+            dice.roll();
+            dice.printRoll(DISCARD);
+            return Dice.ROLLED_ONE;
+        });
+
+        int[] face = {Player.ZERO_SCORE};
+        measure("Dice.getRollArt", numDice, Player.ZERO_SCORE,
+                () -> Dice.getRollArt(face[0]++ % Dice.DICE_FACES + Dice.RAND_START).length());
+
+        int[] next = {Player.ZERO_SCORE};
+        measure("Rounds.getCurrentPoint", numDice, Player.ZERO_SCORE,
+                () -> Rounds.getCurrentPoint(rolls[next[0]++ & ROLL_MASK]));
+    }
+
+    /**
+     * Benchmarks the updates of a turn that loop over every player, and a full headless round.
+     *
+     * @param numDice the number of dice
+     * @param numPlayers the number of (AI) players
+     */
+    private static void roundBenchmarks(int numDice, int numPlayers) {
+        RandomSource random = new XoshiroRandomSource(SEED);
+        Player players = new Player(new String[Player.ZERO_SCORE], numPlayers);
+        GameSession session = new GameSession(numDice, players, random);
+
+        /* half of the players are sitting, so every branch of updatePoints is taken */
+        for (int index = Player.STARTING_INDEX; index < numPlayers; index++) {
+            players.setStandingForIndex(index, random.nextInt(Dice.TWO_DICE) == Player.ZERO_SCORE);
+        }
+        players.setStandingForIndex(Player.STARTING_INDEX, true);
+        session.updateAllSitAndStand();
+
+        int[][] rolls = precomputedRolls(numDice, random);
+        int[] points = new int[PRECOMPUTED_ROLLS];
+        for (int i = Player.STARTING_INDEX; i < PRECOMPUTED_ROLLS; i++) {
+            points[i] = Rounds.getCurrentPoint(rolls[i]);
+        }
+
+        int[] next = {Player.ZERO_SCORE};
+        measure("GameSession.updatePoints", numDice, numPlayers, () -> {
+            session.updatePoints(points[next[0]++ & ROLL_MASK]);
+            return players.getScores()[Player.STARTING_INDEX];
+        });
+        measure("GameSession.gainedInCurRound", numDice, numPlayers, () -> {
+            session.gainedInCurRound(numDice * Dice.DICE_FACES);
+            return players.getScores()[Player.STARTING_INDEX];
+        });
+        measure("GameSession.lostInCurRound", numDice, numPlayers, () -> {
+            session.lostInCurRound();
+            return players.getScores()[Player.STARTING_INDEX];
+        });
+        measure("GameSession.loseAllPoints", numDice, numPlayers, () -> {
+            session.loseAllPoints();
+            return players.getScores()[Player.STARTING_INDEX];
+        });
+        measure("GameSession.updateAllSitAndStand", numDice, numPlayers, () -> {
+            session.updateAllSitAndStand();
+            return players.getNumStanding();
+        });
+
+        SimulatedGame game = new SimulatedGame(numDice, numPlayers,
+                (numDice == Dice.TWO_DICE) ? Player.TWO_DICE_SIT_PERCENTAGE : Player.THREE_DICE_SIT_PERCENTAGE,
+                random);
+        int[] round = {Rounds.STARTING_ROUND};
+        measure("SimulatedGame.playRound", numDice, numPlayers,
+                () -> game.playRound(round[0]++ % Rounds.NUM_SKUNK_ROUNDS));
+    }
+
+    /**
+     * Benchmarks rolling and scoring the dice of a variant, packed as face counts, against the RollScorer codes
+     * of the standard dice, and a full headless round with the variant.
+     *
+     * @param variant the dice
+     */
+    private static void variantBenchmarks(DiceVariant variant) {
+        RandomSource random = new XoshiroRandomSource(SEED);
+        Dice dice = new Dice(variant, random);
+        int numDice = variant.getNumDice();
+        String name = " " + variant;
+
+        if (variant.isStandard()) {
+            measure("Dice.rollCode + RollScorer" + name, numDice, Player.ZERO_SCORE,
+                    () -> RollScorer.scoreCode(numDice, dice.rollCode()));
+        }
+        measure("Dice.rollPacked + score" + name, numDice, Player.ZERO_SCORE,
+                () -> variant.score(dice.rollPacked()));
+
+        SimulatedGame game = new SimulatedGame(variant, VARIANT_PLAYERS,
+                (numDice == Dice.TWO_DICE) ? Player.TWO_DICE_SIT_PERCENTAGE : Player.THREE_DICE_SIT_PERCENTAGE,
+                random);
+        int[] round = {Rounds.STARTING_ROUND};
+        measure("SimulatedGame.playRound" + name, numDice, VARIANT_PLAYERS,
+                () -> game.playRound(round[0]++ % Rounds.NUM_SKUNK_ROUNDS));
+    }
+
+    /**
+     * Benchmarks what the turn metrics add to one turn of the console game (see Rounds.play), on average over
+     * the timed and the untimed turns: five phases, a roll and a turn counted.
+     */
+    private static void metricsBenchmarks() {
+        TurnMetrics.Recorder metrics = new TurnMetrics().recorder();
+        int[] points = {Player.ZERO_SCORE};
+        measure("TurnMetrics.Recorder (one turn)", Dice.THREE_DICE, Player.ZERO_SCORE, () -> {
+            long time = metrics.startTurn();
+            metrics.record(TurnMetrics.PROMPT, time);
+            time = metrics.start();
+            metrics.record(TurnMetrics.AI_DECISION, time);
+            time = metrics.start();
+            time = metrics.record(TurnMetrics.ROLL, time);
+            metrics.countRoll(points[0]++ % Dice.DICE_FACES + Rounds.DICE_ROLLS_ONE1);
+            metrics.count(TurnMetrics.TURNS);
+            time = metrics.record(TurnMetrics.SCORING, time);
+            return metrics.record(TurnMetrics.RENDERING, time);
+        });
+    }
+
+    /**
+     * @param numDice the number of dice
+     * @param random the source of the rolls
+     * @return PRECOMPUTED_ROLLS rolls, so the benchmarks do not measure the generator
+     */
+    private static int[][] precomputedRolls(int numDice, RandomSource random) {
+        int[][] rolls = new int[PRECOMPUTED_ROLLS][numDice];
+        for (int[] roll : rolls) {
+            random.fillFaces(roll, Dice.BEGIN_INDEX, numDice, Dice.DICE_FACES);
+        }
+        return rolls;
+    }
+
+    /**
+     * Runs one benchmark and prints its row.
+     */
+    private static void measure(String name, int numDice, int numPlayers, Benchmark benchmark) {
+        print(name, numDice, numPlayers, run(benchmark));
+    }
+
+    /**
+     * Warms the benchmark up, sizes the batches so one batch takes about BATCH_NANOS, then measures it.
+     *
+     * @param benchmark the operation to measure
+     * @return the number of operations, the elapsed nanoseconds and the allocated bytes
+     */
+    private static long[] run(Benchmark benchmark) {
+        long threadId = Thread.currentThread().getId();
+
+        long warmupOps = Player.ZERO_SCORE;
+        long start = System.nanoTime();
+        long warmupEnd = start + warmupMillis * NANOS_PER_MILLI;
+        while (System.nanoTime() < warmupEnd) {
+            sink += benchmark.run();
+            warmupOps++;
+        }
+        long nanosPerOp = Math.max(Player.ONE_INCREMENT, (System.nanoTime() - start) / warmupOps);
+        long batch = Math.max(Player.ONE_INCREMENT, BATCH_NANOS / nanosPerOp);
+
+        long ops = Player.ZERO_SCORE;
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+        start = System.nanoTime();
+        long elapsed;
+        do {
+            for (long i = Player.STARTING_INDEX; i < batch; i++) {
+                sink += benchmark.run();
+            }
+            ops += batch;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < measureMillis * NANOS_PER_MILLI);
+        long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        return new long[]{ops, elapsed, allocated};
+    }
+
+    /**
+     * Prints one row of the results table.
+     */
+    private static void print(String name, int numDice, int numPlayers, long[] result) {
+        long ops = result[0], elapsed = result[1], allocated = result[2];
+        String players = (numPlayers == Player.ZERO_SCORE) ? "-" : Integer.toString(numPlayers);
+        System.out.printf(" %-36s | %4d | %7s | %14.2f | %12.1f | %12.1f\n", name, numDice, players,
+                (double) elapsed / ops, (double) allocated / ops,
+                allocated / BYTES_PER_MB / (elapsed / NANOS_PER_SEC));
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * This class plays console games back to back from a script, with no intro, no instructions, no pauses and
+ * no "PLAY AGAIN" question, e.g. for regression and load jobs (see GameLauncher batch). Every line of the
+ * script plays one or more games:
+ *
+ *     games dice AI-players strategy seed [human names...] [: decisions]
+ *
+ *     # 1000 games of 3 dice between 4 AI players of the expected-score policy, seeded 42, 43, ...
+ *     1000 3 4 policy 42
+ *     # 10 games of 2 dice, ann and bob against a random AI
+ *     10 2 1 random 7 ann bob : nnynnnynny
+ *
+ * The strategy is policy (see PolicySolver) or random, and the seed is an integer or - for a random seed. The decisions are
+ * the answers of the human players, in the order they are asked (see SitPrompter): y to sit, n to keep
+ * standing. Every game of the line starts over from the first decision, and once they run out the human
+ * players sit, whatever the default action of SitPrompter: a round where everyone stands never ends, so
+ * humans left standing for good would keep a line with no AI players going forever. Blank lines and lines
+ * starting with # are skipped.
+ *
+ * The games are printed nowhere; one line with the final scores is printed for every game.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public class BatchGames {
+    private final PrintStream out;
+    private final PrintStream gameOut;
+    private final Pacer pacer;
+    private final StringBuilder line;
+    private long gamesPlayed;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final char COMMENT         = '#';
+    public static final char SEPARATOR       = ':';
+    public static final char SIT             = 'y';
+    public static final char STAND           = 'n';
+    public static final String POLICY        = "policy";
+    public static final String RANDOM        = "random";
+    public static final String RANDOM_SEED   = "-";
+    public static final double NANOS_PER_SEC = 1e9;
+
+    /**
+     * @param out where the scores of every game are printed
+     */
+    public BatchGames(PrintStream out) {
+        this.out = out;
+        gameOut = new PrintStream(OutputStream.nullOutputStream());
+        pacer = new VirtualPacer();
+        line = new StringBuilder();
+    }
+
+    /**
+     * Plays every game of a script.
+     *
+     * @param script the script, read to its end
+     * @return the number of games played
+     * @throws IOException if something goes wrong with the script or the journal
+     * @throws InterruptedException if the thread gets interrupted
+     * @throws IllegalArgumentException if a line of the script is not written as above
+     */
+    public long play(BufferedReader script) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        int lineNumber = Player.ZERO_SCORE;
+        for (String text = script.readLine(); text != null; text = script.readLine()) {
+            lineNumber++;
+            Tokens tokens = new Tokens(text);
+            if (tokens.hasNext() && tokens.peek() != COMMENT) {
+                playLine(tokens, lineNumber);
+            }
+        }
+        out.printf("%d games played in %.2f s\n", gamesPlayed, (System.nanoTime() - start) / NANOS_PER_SEC);
+        out.flush();
+        return gamesPlayed;
+    }
+
+    /**
+     * Plays the games of one line of the script.
+     *
+     * @param tokens the fields of the line
+     * @param lineNumber the number of the line, for the errors
+     * @throws IOException if something goes wrong with the journal
+     * @throws InterruptedException if the thread gets interrupted
+     */
+    private void playLine(Tokens tokens, int lineNumber) throws IOException, InterruptedException {
+        long games = number(tokens, lineNumber, "games");
+        long dice = number(tokens, lineNumber, "dice");
+        long numAI = number(tokens, lineNumber, "AI players");
+        String strategy = tokens.next();
+        String seedText = tokens.next();
+        if (games < Player.ZERO_SCORE || (dice != Dice.TWO_DICE && dice != Dice.THREE_DICE)
+                || numAI < Player.ZERO_SCORE) {
+            throw error(lineNumber, "needs a number of games, 2 or 3 dice and a number of AI players");
+        }
+        if (!POLICY.equalsIgnoreCase(strategy) && !RANDOM.equalsIgnoreCase(strategy)) {
+            throw error(lineNumber, "the strategy is " + POLICY + " or " + RANDOM + ", not " + strategy);
+        }
+        long seed = ConsoleHelper.NOT_AN_INTEGER;
+        if (!RANDOM_SEED.equals(seedText)) {
+            seed = (seedText == null) ? ConsoleHelper.NOT_AN_INTEGER : ConsoleHelper.parseInt(seedText);
+            if (seed == ConsoleHelper.NOT_AN_INTEGER) {
+                throw error(lineNumber, "the seed is an integer or " + RANDOM_SEED + ", not " + seedText);
+            }
+        }
+
+        int numHuman = Player.ZERO_SCORE;
+        String[] names = new String[tokens.remaining()];
+        String decisions = ConsoleHelper.EMPTY_STRING;
+        for (String token = tokens.next(); token != null; token = tokens.next()) {
+            if (token.charAt(Player.STARTING_INDEX) == SEPARATOR) {
+                decisions = (token.length() > Player.ONE_INCREMENT) ? token.substring(Player.ONE_INCREMENT)
+                        : tokens.next();
+                if (decisions == null || tokens.hasNext()) {
+                    throw error(lineNumber, "the decisions are written as one word after " + SEPARATOR);
+                }
+                break;
+            }
+            names[numHuman++] = token;
+        }
+        for (int i = Player.STARTING_INDEX; i < decisions.length(); i++) {
+            if (decisions.charAt(i) != SIT && decisions.charAt(i) != STAND) {
+                throw error(lineNumber, "the decisions are " + SIT + " to sit or " + STAND + " to stand, not "
+                        + decisions.charAt(i));
+            }
+        }
+        if (numHuman + numAI == Player.ZERO_SCORE) {
+            throw error(lineNumber, "there must be at least ONE player");
+        }
+
+        for (long game = Player.ZERO_SCORE; game < games; game++) {
+            Player players = new Player(Arrays.copyOf(names, numHuman), (int) numAI);
+            RandomSource random = (seed == ConsoleHelper.NOT_AN_INTEGER) ? RandomSource.newSource()
+                    : new XoshiroRandomSource(seed + game);
+            GameSession session = new GameSession((int) dice, players, random);
+            if (POLICY.equalsIgnoreCase(strategy)) {
+                session.setStrategy(PolicyTableStrategy.forDice((int) dice));
+            }
+            session.setOut(gameOut);
+            session.setPacer(pacer);
+            if (GameJournal.processJournal() != null) {
+                session.setListener(GameJournal.processJournal().recorder());
+            }
+            Rounds rounds = new Rounds(session, new ScriptedPrompter(session, decisions), null);
+            printScores(players, rounds.getFinalScores());
+        }
+    }
+
+    /**
+     * Prints one line with the final scores of a game.
+     *
+     * @param players the players of the game
+     * @param scores the final scores of the players
+     */
+    private void printScores(Player players, int[] scores) {
+        gamesPlayed++;
+        line.setLength(Player.ZERO_SCORE);
+        line.append("GAME ").append(gamesPlayed).append(':');
+        for (int index = Player.STARTING_INDEX; index < scores.length; index++) {
+            String name = (index < players.getNumHuman()) ? players.getHumanNames()[index]
+                    : players.getTheAINames()[index - players.getNumHuman()];
+            line.append(' ').append(name).append(' ').append(scores[index]);
+        }
+        out.println(line);
+    }
+
+    /**
+     * @param tokens the fields of a line
+     * @param lineNumber the number of the line, for the errors
+     * @param field what the field is, for the errors
+     * @return the next field, which must be an integer
+     */
+    private static long number(Tokens tokens, int lineNumber, String field) {
+        String token = tokens.next();
+        long value = (token == null) ? ConsoleHelper.NOT_AN_INTEGER : ConsoleHelper.parseInt(token);
+        if (value == ConsoleHelper.NOT_AN_INTEGER) {
+            throw error(lineNumber, "the " + field + " must be an integer, not " + token);
+        }
+        return value;
+    }
+
+    /**
+     * @param lineNumber the number of a line of the script
+     * @param message what is wrong with it
+     * @return the exception to throw
+     */
+    private static IllegalArgumentException error(int lineNumber, String message) {
+        return new IllegalArgumentException("Line " + lineNumber + " of the script: " + message);
+    }
+
+    /**
+     * The fields of a line, separated by spaces or tabs.
+     */
+    private static final class Tokens {
+        private final String text;
+        private int pos;
+
+        Tokens(String text) {
+            this.text = text;
+            skipSpaces();
+        }
+
+        private void skipSpaces() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        boolean hasNext() {
+            return pos < text.length();
+        }
+
+        char peek() {
+            return text.charAt(pos);
+        }
+
+        /**
+         * @return the next field, or null at the end of the line
+         */
+        String next() {
+            if (!hasNext()) {
+                return null;
+            }
+            int start = pos;
+            while (pos < text.length() && !Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+            String token = text.substring(start, pos);
+            skipSpaces();
+            return token;
+        }
+
+        /**
+         * @return at most how many fields are left
+         */
+        int remaining() {
+            return (text.length() - pos + Player.ONE_INCREMENT) / Dice.TWO_DICE;
+        }
+    }
+
+    /**
+     * Answers for the human players from the decisions of the script.
+     */
+    private static final class ScriptedPrompter extends SitPrompter {
+        private final GameSession session;
+        private final Player players;
+        private final String decisions;
+        private int next;
+
+        ScriptedPrompter(GameSession session, String decisions) {
+            super(session);
+            this.session = session;
+            players = session.getPlayers();
+            this.decisions = decisions;
+        }
+
+        @Override
+        public void collect() {
+            for (int index = Player.STARTING_INDEX; index < players.getNumHuman(); index++) {
+                if (players.isStanding(index)) {
+                    boolean sits = next >= decisions.length() || decisions.charAt(next++) == BatchGames.SIT;
+                    session.setStanding(index, !sits);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+/**
+ * Pauses the game for real, but all of the pauses of one turn add up to at most turnBudgetMillis. Once the
+ * budget of a turn is spent, the remaining pauses of that turn are skipped, so a table with many players
+ * does not spend more time waiting than a small one.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public class BudgetPacer extends RealTimePacer {
+    private final long turnBudgetMillis;
+    private long remainingMillis;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final long DEFAULT_TURN_BUDGET_MILLIS = 5000;
+
+    /**
+     * @param turnBudgetMillis the total time the pauses of one turn may last
+     */
+    public BudgetPacer(long turnBudgetMillis) {
+        this.turnBudgetMillis = turnBudgetMillis;
+        remainingMillis = turnBudgetMillis;
+    }
+
+    @Override
+    public void startTurn() {
+        remainingMillis = turnBudgetMillis;
+    }
+
+    @Override
+    public void pause(long millis) throws InterruptedException {
+        long granted = Math.min(millis, remainingMillis);
+        if (granted > NO_DELAY) {
+            remainingMillis -= granted;
+            super.pause(granted);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class saves the checkpoints of one game (see GameCheckpoint) to a file without stalling the game: save
+ * only hands the checkpoint over, and a background thread shared by every writer encodes it and writes it.
+ * When the game saves faster than the disk keeps up, the checkpoints waiting are replaced by the newest one,
+ * so a slow disk never queues up work and the file always ends up with the last state of the game.
+ *
+ * Like PolicyFile, a checkpoint is written to a temporary file that is then moved in place, so a crash in the
+ * middle of a write leaves the previous checkpoint intact.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public class CheckpointWriter implements AutoCloseable {
+    private final Path file;
+    private final Path temp;
+    private final AtomicReference<GameCheckpoint> pending;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final String CHECKPOINT_PROPERTY = "skunk.checkpoint";
+    public static final String TEMP_SUFFIX         = ".tmp";
+
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "skunk-checkpoint-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param file where the checkpoints of the game are saved
+     */
+    public CheckpointWriter(Path file) {
+        this.file = file;
+        temp = file.resolveSibling(file.getFileName() + "." + ProcessHandle.current().pid() + TEMP_SUFFIX);
+        pending = new AtomicReference<>();
+    }
+
+    /**
+     * @return where the checkpoints of the game are saved
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Saves a checkpoint in the background, in place of any checkpoint not written yet.
+     *
+     * @param checkpoint the state of the game to save
+     */
+    public void save(GameCheckpoint checkpoint) {
+        if (pending.getAndSet(checkpoint) == null) {
+            WRITER.execute(this::writePending);
+        }
+    }
+
+    /**
+     * Deletes the checkpoint in the background once the game is over, after the checkpoints saved before.
+     */
+    public void discard() {
+        pending.set(null);
+        WRITER.execute(() -> {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                System.err.println("Could not delete the checkpoint " + file + ": " + e);
+            }
+        });
+    }
+
+    /**
+     * @param file a file saved by a CheckpointWriter
+     * @return the checkpoint saved in the file
+     * @throws IOException if the file cannot be read or does not hold a valid checkpoint
+     */
+    public static GameCheckpoint read(Path file) throws IOException {
+        return GameCheckpoint.decode(ByteBuffer.wrap(Files.readAllBytes(file)));
+    }
+
+    /**
+     * Writes the newest checkpoint, if save was called since the last write. Runs on the writer thread.
+     */
+    private void writePending() {
+        GameCheckpoint checkpoint = pending.getAndSet(null);
+        if (checkpoint == null) {
+            return;
+        }
+        ByteBuffer bytes = checkpoint.encode();
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not save the checkpoint " + file + ": " + e);
+        }
+    }
+
+    /**
+     * Waits until every checkpoint saved so far is written. If the thread gets interrupted while waiting, the
+     * last checkpoint is still written in the background, and the interrupt flag is set again for the caller.
+     */
+    @Override
+    public void close() {
+        try {
+            WRITER.submit(this::writePending).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
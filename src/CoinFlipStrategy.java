@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+/**
+ * This class is the original AI of the game: before every roll, a standing AI player sits when a random
+ * percentage is not above the sit percentage of the game session (see GameSession.getSitPercentage), or
+ * the sit percentage given to the strategy.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public class CoinFlipStrategy implements SitStrategy {
+    private final int sitPercentage;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final int SESSION_PERCENTAGE = -1;
+
+    /**
+     * Sits with the sit percentage of the game session.
+     */
+    public CoinFlipStrategy() {
+        this.sitPercentage = SESSION_PERCENTAGE;
+    }
+
+    /**
+     * @param sitPercentage the percentage used to decide if the AI sits (between 0 and 99)
+     */
+    public CoinFlipStrategy(int sitPercentage) {
+        if (sitPercentage < Player.ZERO_SCORE || sitPercentage >= Player.ONE_HUNDRED_PERCENT) {
+            throw new IllegalArgumentException("Sit percentage must be between 0 and 99.");
+        }
+        this.sitPercentage = sitPercentage;
+    }
+
+    /**
+     * @param session the game being played
+     * @param index the index of an AI player who is standing
+     * @return whether the player keeps standing for the next roll
+     */
+    @Override
+    public boolean keepStanding(GameSession session, int index) {
+        int percentage = (sitPercentage == SESSION_PERCENTAGE) ? session.getSitPercentage() : sitPercentage;
+        return session.getRandom().nextInt(Player.ONE_HUNDRED_PERCENT) > percentage;
+    }
+
+    @Override
+    public String toString() {
+        return (sitPercentage == SESSION_PERCENTAGE) ? "coin flip" : "coin flip " + sitPercentage + "%";
+    }
+}
@@ -3,6 +3,11 @@
  *
  */
 
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.PrintStream;
+
 /**
  * This class is used to show command line progress animation in the console. The animation frames are:
  * [ \ ], [ | ], [ / ], [ - ]
@@ -13,6 +18,7 @@
  * @since July 9, 2019
  */
 public class ConsoleHelper {
+    private final PrintStream out;
     private String lastLine;
     private int anim;
 
@@ -25,25 +31,101 @@ public class ConsoleHelper {
     public static final int STEP_THREE  = 3;
     public static final int RESET_VALUE = 0;
 
+    public static final long NOT_AN_INTEGER = Long.MIN_VALUE;
+    public static final int RADIX           = 10;
+    public static final char MINUS          = '-';
+    public static final int ANSWER_NO       = 0;
+    public static final int ANSWER_YES      = 1;
+    public static final int NOT_YES_OR_NO   = -1;
+
     public ConsoleHelper(){
+        this(System.out);
+    }
+
+    /**
+     * @param out where the animation is printed
+     */
+    public ConsoleHelper(PrintStream out){
+        this.out = out;
         lastLine = EMPTY_STRING;
     }
 
     /**
-     * @param line prints progress bars for each frame.
+     * Reads the next answer of a player. Unlike BufferedReader.readLine, it never returns null, so the
+     * prompts that loop until they get a valid answer stop when the input is closed (e.g. a remote
+     * player disconnected) instead of looping forever.
+     *
+     * @param bf to read the user input
+     * @return the next line typed by the user
+     * @throws IOException if something goes wrong with the bufferedReader or the input was closed
+     */
+    public static String readLine(BufferedReader bf) throws IOException {
+        String line = bf.readLine();
+        if (line == null) {
+            throw new EOFException("The input was closed.");
+        }
+        return line;
+    }
+
+    /**
+     * Reads an integer written in decimal digits, with an optional minus sign, e.g. an answer to a prompt or
+     * a field of a script (see BatchGames). Unlike Integer.parseInt, a text that is not an integer is not an
+     * exception but an expected answer, so it is told by the NOT_AN_INTEGER result instead.
+     *
+     * @param s the text to read
+     * @return the integer, or NOT_AN_INTEGER if s is not an integer or does not fit in an int
+     */
+    public static long parseInt(CharSequence s) {
+        int length = s.length();
+        boolean negative = length > Player.STARTING_INDEX && s.charAt(Player.STARTING_INDEX) == MINUS;
+        int start = negative ? Player.ONE_INCREMENT : Player.STARTING_INDEX;
+        if (start == length) {
+            return NOT_AN_INTEGER;
+        }
+        long value = Player.ZERO_SCORE;
+        for (int i = start; i < length; i++) {
+            int digit = s.charAt(i) - '0';
+            if (digit < Player.ZERO_SCORE || digit >= RADIX) {
+                return NOT_AN_INTEGER;
+            }
+            value = value * RADIX + digit;
+            if (value > (long) Integer.MAX_VALUE + Player.ONE_INCREMENT) {
+                return NOT_AN_INTEGER;
+            }
+        }
+        value = negative ? -value : value;
+        return (value > Integer.MAX_VALUE) ? NOT_AN_INTEGER : value;
+    }
+
+    /**
+     * @param ans an answer to a yes or no question
+     * @return ANSWER_YES or ANSWER_NO, ignoring case, or NOT_YES_OR_NO for any other answer
+     */
+    public static int yesOrNo(String ans) {
+        if (ans.equalsIgnoreCase("yes")) {
+            return ANSWER_YES;
+        } else if (ans.equalsIgnoreCase("no")) {
+            return ANSWER_NO;
+        }
+        return NOT_YES_OR_NO;
+    }
+
+    /**
+     * @param line prints progress bars for each frame, with a single print.
      */
     public void print(String line) {
+        StringBuilder frame = new StringBuilder();
 
         // clears the last line if needed
-        if (lastLine.length() > line.length()) {
-            String temp = Rounds.EMPTY_STRING;
+        if (lastLine.length() > line.length() && lastLine.length() > CRITICAL_LENGTH) {
+            frame.append('\n');
             for (int i = Player.STARTING_INDEX; i < lastLine.length(); i++) {
-                temp += Rounds.EMPTY_CHAR;
+                frame.append(Rounds.EMPTY_CHAR);
             }
-            if (temp.length() > CRITICAL_LENGTH)
-                System.out.print("\n" + temp);
         }
-        System.out.print("\r" + line);
+        frame.append('\r').append(line);
+        out.print(frame);
+        out.flush();
         lastLine = line;
     }
 
@@ -3,19 +3,26 @@
  *
  */
 
-
-import java.util.Random;
+import java.io.PrintStream;
+import java.util.Arrays;
 
 /**
- * This class is used to simulate dice rolls. The number of dice should only be two or three.
+ * This class is used to simulate dice rolls. The number of dice should only be two or three, except for the
+ * headless variants of the game (see DiceVariant) which roll any number of dice with any number of faces.
+ * Every game session (see GameSession) has its own instance.
  *
  * @author Owen Ren
  * @version 1.0
  * @since July 9, 2019
  */
 public class Dice {
-    private static int[] dices;
-    private static Random r;
+    private final int[] dices;
+    private final int[] faces;
+    private final DiceVariant variant;
+    private final RandomSource r;
+    private final DieArt art;
+    private int nextFace;
+    private int terminalWidth;
 
     /* Symbolic constants used to get rid of magic numbers */
     public static final int DICE_FACES  = 6;
@@ -32,6 +39,7 @@ public class Dice {
     public static final int DIE_ART_NUM_COL = 34;
     public static final int DECREMENT_ONE   = -1;
     public static final int DIE_ART_NUM_ROW = 20;
+    public static final int FACE_BUFFER_SIZE = 64;
 
     public static final int DIE_ONE   = 1;
     public static final int DIE_TWO   = 2;
@@ -44,58 +52,171 @@ public class Dice {
      * @param n the number of dice.
      */
     public Dice(int n){
-        if (n != TWO_DICE && n != THREE_DICE) {
-            throw new IllegalArgumentException("Invalid number of dice.");
+        this(n, RandomSource.newSource());
+    }
+
+    /**
+     * @param n the number of dice.
+     * @param random the source of the dice rolls
+     */
+    public Dice(int n, RandomSource random){
+        this(DiceVariant.standard(n), random);
+    }
+
+    /**
+     * @param variant the number of dice, their number of faces and the points of the ones
+     * @param random the source of the dice rolls
+     */
+    public Dice(DiceVariant variant, RandomSource random){
+        this.variant = variant;
+        dices = new int[variant.getNumDice()];
+        faces = new int[FACE_BUFFER_SIZE];
+        nextFace = FACE_BUFFER_SIZE;
+        r = random;
+        art = new DieArt();
+        terminalWidth = DieArt.defaultTerminalWidth();
+    }
+
+    /**
+     * @param out where the dice are displayed
+     * @param pacer how long the rolling animations last
+     * @return one roll of all of the dice.
+     * @throws InterruptedException if the thread gets interrupted
+     */
+    public int[] rollDice(PrintStream out, Pacer pacer) throws InterruptedException {
+        roll();
+        GameEvents.Roll event = new GameEvents.Roll();
+        if (event.shouldCommit()) {
+            StringBuilder faces = new StringBuilder();
+            for (int die : dices) {
+                if (faces.length() > BEGIN_INDEX) {
+                    faces.append(Rounds.EMPTY_CHAR);
+                }
+                faces.append(die);
+            }
+            event.faces = faces.toString();
+            event.points = variant.score(DiceVariant.pack(dices));
+            event.commit();
         }
-        dices = new int[n];
-        r = new Random();
+
+        out.println("The dice rolls are: ");
+        pacer.animate(out, "Rolling Dice...", Rounds.WAITING_TIME_SEC);
+        out.println("\n");
+        printRoll(out);
+        pacer.animate(out, Rounds.EMPTY_STRING, Rounds.WAITING_TIME_SEC);
+        return dices;
     }
 
     /**
+     * Rolls all of the dice without displaying them.
+     *
      * @return one roll of all of the dice.
      */
-    public static int[] rollDice(){
-        for (int i = BEGIN_INDEX; i < dices.length; i++){
-            dices[i] = RAND_START + r.nextInt(DICE_FACES);
+    int[] roll(){
+        r.fillFaces(dices, BEGIN_INDEX, dices.length, variant.getNumFaces());
+        return dices;
+    }
+
+    /**
+     * Rolls all of the dice without keeping the faces, for headless games. The faces are taken from a
+     * buffer that is refilled in bulk when it runs out.
+     *
+     * Only for the standard dice (see DiceVariant.isStandard), the other variants use rollPacked.
+     *
+     * @return one roll of all of the dice, packed as a RollScorer code.
+     */
+    int rollCode(){
+        if (nextFace + dices.length > FACE_BUFFER_SIZE) {
+            refillFaces();
+        }
+        int code = BEGIN_INDEX;
+        for (int i = BEGIN_INDEX; i < dices.length; i++) {
+            code = code * DICE_FACES + faces[nextFace++] - RAND_START;
+        }
+        return code;
+    }
+
+    /**
+     * Rolls all of the dice without keeping the faces, like rollCode, for any variant.
+     *
+     * @return one roll of all of the dice, packed as face counts (see DiceVariant)
+     */
+    long rollPacked(){
+        if (nextFace + dices.length > FACE_BUFFER_SIZE) {
+            refillFaces();
+        }
+        long roll = BEGIN_INDEX;
+        for (int i = BEGIN_INDEX; i < dices.length; i++) {
+            roll += DiceVariant.ONE_DIE << ((faces[nextFace++] - RAND_START) << DiceVariant.NIBBLE_SHIFT);
         }
+        return roll;
+    }
+
+    /**
+     * Draws a full buffer of faces from the random source.
+     */
+    private void refillFaces(){
+        r.fillFaces(faces, BEGIN_INDEX, FACE_BUFFER_SIZE, variant.getNumFaces());
+        nextFace = BEGIN_INDEX;
+    }
 
-        System.out.println("The dice rolls are: ");
-        Rounds.waiting("Rolling Dice...", Rounds.WAITING_TIME_SEC);
-        System.out.println("\n");
-        if (dices.length == Dice.TWO_DICE) {
+    /**
+     * Used to checkpoint a game: these faces were drawn from the random source but not rolled yet.
+     *
+     * @return a copy of the faces left in the buffer of rollCode
+     */
+    int[] getBufferedFaces() {
+        return Arrays.copyOfRange(faces, nextFace, FACE_BUFFER_SIZE);
+    }
 
-            int index = BEGIN_INDEX;
+    /**
+     * @param buffered the faces left in the buffer of rollCode, as returned by getBufferedFaces
+     */
+    void setBufferedFaces(int[] buffered) {
+        nextFace = FACE_BUFFER_SIZE - buffered.length;
+        System.arraycopy(buffered, BEGIN_INDEX, faces, nextFace, buffered.length);
+    }
 
-            for (int row = BEGIN_INDEX; row < DIE_ART_NUM_ROW; row++){
-                String curRow = getRollArt(dices[FIRST_DICE_INDEX]).substring(index, index + DIE_ART_NUM_COL + DECREMENT_ONE) + "    " +
-                        getRollArt(dices[SECOND_DICE_INDEX]).substring(index, index + DIE_ART_NUM_COL);
-                System.out.print(curRow);
-                index += DIE_ART_NUM_COL;
-            }
-        } else {
-            int index = BEGIN_INDEX;
-
-            for (int row = BEGIN_INDEX; row < DIE_ART_NUM_ROW; row++){
-                String curRow = getRollArt(dices[FIRST_DICE_INDEX]).substring(index,
-                                index + DIE_ART_NUM_COL + DECREMENT_ONE) + "    " +
-                        getRollArt(dices[SECOND_DICE_INDEX]).substring(index,
-                                index + DIE_ART_NUM_COL + DECREMENT_ONE) + "    " +
-                        getRollArt(dices[THIRD_DICE_INDEX]).substring(index, index + DIE_ART_NUM_COL);
-                System.out.print(curRow);
-                index += DIE_ART_NUM_COL;
-            }
+    /**
+     * Prints the art of the last roll, the dice side by side, wrapped to the width of the terminal.
+     *
+     * @param out where the dice are displayed
+     */
+    void printRoll(PrintStream out){
+        art.print(out, dices, dices.length, terminalWidth);
+    }
+
+    /**
+     * @return the width of the terminal the dice are wrapped to, DieArt.NO_WRAP if they are never wrapped
+     */
+    public int getTerminalWidth() {
+        return terminalWidth;
+    }
+
+    /**
+     * @param terminalWidth the width of the terminal in characters, DieArt.NO_WRAP to never wrap the dice
+     */
+    public void setTerminalWidth(int terminalWidth) {
+        if (terminalWidth <= BEGIN_INDEX) {
+            throw new IllegalArgumentException("Terminal width must be positive.");
         }
-        Rounds.waiting(Rounds.EMPTY_STRING, Rounds.WAITING_TIME_SEC);
-        return dices;
+        this.terminalWidth = terminalWidth;
     }
 
     /**
      * @return the number of dices
      */
-    public static int getNumOfDice() {
+    public int getNumOfDice() {
         return dices.length;
     }
 
+    /**
+     * @return the number of dice, their number of faces and the points of the ones
+     */
+    public DiceVariant getVariant() {
+        return variant;
+    }
+
     /**
      * For aesthetic purposes, to display the rolls of dice
      *
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+import java.util.Arrays;
+
+/**
+ * This class holds the rules of a variant of skunk with any number of dice, up to MAX_DICE, of any number of
+ * faces, up to MAX_FACES, e.g. the house variants with four to eight dice or with d8 and d10. A variant is
+ * written NdM, like 5d8, optionally followed by the points of a roll with k ones, like 5d8:-1,0,0,100,500.
+ *
+ * A roll is packed into a single long of face counts, one nibble (four bits) per face, the count of ones in
+ * the lowest nibble:
+ *     bits 4(f - 1) to 4f - 1 = the number of dice that rolled the face f.
+ * So a roll is packed by adding 1 << 4(f - 1) for every die, the number of ones is roll & NIBBLE_MASK, and the
+ * sum of the dice takes a few multiplications whatever the number of dice (see sum). The order of the dice is
+ * lost, which does not matter for the points.
+ *
+ * The points of a roll with k ones are onesPoints[k - 1], any of:
+ *     DICE_ROLLS_ONE1 = the points of the round of the standing players are lost.
+ *     DICE_ROLLS_TWO1 = the total score of the standing players is lost.
+ *     a positive number of points, like DICE_ROLLS_THREE1.
+ * and a roll without ones is worth the sum of the dice. By default (see the constructor without points) the
+ * rules are those of the standard game: one one is DICE_ROLLS_ONE1, more ones are DICE_ROLLS_TWO1, and every
+ * die showing a one is DICE_ROLLS_THREE1 with three dice or more.
+ *
+ * Instances are immutable and can be shared between threads.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public final class DiceVariant {
+    private final int numDice;
+    private final int numFaces;
+    private final int[] onesPoints;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final int MIN_DICE  = 1;
+    public static final int MAX_DICE  = 15;
+    public static final int MIN_FACES = 2;
+    public static final int MAX_FACES = 16;
+
+    public static final int NIBBLE_SHIFT = 2;
+    public static final long NIBBLE_MASK = 0xF;
+    public static final long ONE_DIE     = 1;
+
+    public static final long EVEN_NIBBLES  = 0x0F0F0F0F0F0F0F0FL;
+    public static final long BYTE_ONES     = 0x0101010101010101L;
+    public static final long BYTE_INDEXES  = 0x0001020304050607L;
+    public static final int TOP_BYTE_SHIFT = Long.SIZE - Byte.SIZE;
+
+    public static final String DICE_SEPARATOR   = "d";
+    public static final String POINTS_SEPARATOR = ":";
+    public static final String LIST_SEPARATOR   = ",";
+
+    /**
+     * A variant with the rules of the standard game for the ones.
+     *
+     * @param numDice the number of dice, between MIN_DICE and MAX_DICE
+     * @param numFaces the number of faces of each die, between MIN_FACES and MAX_FACES
+     */
+    public DiceVariant(int numDice, int numFaces) {
+        this(numDice, numFaces, standardOnesPoints(numDice));
+    }
+
+    /**
+     * @param numDice the number of dice, between MIN_DICE and MAX_DICE
+     * @param numFaces the number of faces of each die, between MIN_FACES and MAX_FACES
+     * @param onesPoints the points of a roll with k ones at index k - 1, so numDice of them
+     */
+    public DiceVariant(int numDice, int numFaces, int[] onesPoints) {
+        if (numDice < MIN_DICE || numDice > MAX_DICE) {
+            throw new IllegalArgumentException("The number of dice must be between " + MIN_DICE + " and "
+                    + MAX_DICE + ".");
+        }
+        if (numFaces < MIN_FACES || numFaces > MAX_FACES) {
+            throw new IllegalArgumentException("The number of faces must be between " + MIN_FACES + " and "
+                    + MAX_FACES + ".");
+        }
+        if (onesPoints.length != numDice) {
+            throw new IllegalArgumentException("There must be points for every number of ones, from 1 to "
+                    + numDice + ".");
+        }
+        for (int points : onesPoints) {
+            if (points < Rounds.DICE_ROLLS_ONE1) {
+                throw new IllegalArgumentException("Error points cannot be lower than -1");
+            }
+        }
+        this.numDice = numDice;
+        this.numFaces = numFaces;
+        /* index 0, a roll without ones, stays 0: it is worth the sum (see score) */
+        this.onesPoints = new int[numDice + Player.ONE_INCREMENT];
+        System.arraycopy(onesPoints, Player.STARTING_INDEX, this.onesPoints, Player.ONE_INCREMENT, numDice);
+    }
+
+    /**
+     * @param numDice the number of dice, two or three.
+     * @return the variant of the standard game, with six sided dice
+     */
+    public static DiceVariant standard(int numDice) {
+        if (numDice != Dice.TWO_DICE && numDice != Dice.THREE_DICE) {
+            throw new IllegalArgumentException("Invalid number of dice.");
+        }
+        return new DiceVariant(numDice, Dice.DICE_FACES);
+    }
+
+    /**
+     * @param spec a variant written NdM or NdM:p1,...,pN (see the class comment)
+     * @return the variant
+     * @throws IllegalArgumentException if spec is not a valid variant
+     */
+    public static DiceVariant parse(String spec) {
+        try {
+            String[] parts = spec.trim().split(POINTS_SEPARATOR, -Player.ONE_INCREMENT);
+            String[] dice = parts[Player.STARTING_INDEX].split(DICE_SEPARATOR, -Player.ONE_INCREMENT);
+            if (parts.length > Dice.TWO_DICE || dice.length != Dice.TWO_DICE) {
+                throw new IllegalArgumentException("A variant is written NdM or NdM:p1,...,pN, not " + spec);
+            }
+            int numDice = Integer.parseInt(dice[Player.STARTING_INDEX]);
+            int numFaces = Integer.parseInt(dice[Player.ONE_INCREMENT]);
+            if (parts.length == Player.ONE_INCREMENT) {
+                return new DiceVariant(numDice, numFaces);
+            }
+            String[] list = parts[Player.ONE_INCREMENT].split(LIST_SEPARATOR, -Player.ONE_INCREMENT);
+            int[] onesPoints = new int[list.length];
+            for (int i = Player.STARTING_INDEX; i < list.length; i++) {
+                onesPoints[i] = Integer.parseInt(list[i].trim());
+            }
+            return new DiceVariant(numDice, numFaces, onesPoints);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("A variant is written NdM or NdM:p1,...,pN, not " + spec, e);
+        }
+    }
+
+    /**
+     * @param numDice the number of dice
+     * @return the points of the standard game for 1 to numDice ones
+     */
+    private static int[] standardOnesPoints(int numDice) {
+        int[] points = new int[Math.max(Math.min(numDice, MAX_DICE), Player.ZERO_SCORE)];
+        Arrays.fill(points, Rounds.DICE_ROLLS_TWO1);
+        if (points.length >= Dice.ROLLED_ONE) {
+            points[Player.STARTING_INDEX] = Rounds.DICE_ROLLS_ONE1;
+        }
+        if (points.length >= Dice.THREE_DICE) {
+            points[points.length - Player.ONE_INCREMENT] = Rounds.DICE_ROLLS_THREE1;
+        }
+        return points;
+    }
+
+    /**
+     * @return the number of dice
+     */
+    public int getNumDice() {
+        return numDice;
+    }
+
+    /**
+     * @return the number of faces of each die
+     */
+    public int getNumFaces() {
+        return numFaces;
+    }
+
+    /**
+     * @param numOnes a number of ones, between 1 and getNumDice()
+     * @return the points of a roll with that many ones
+     */
+    public int getOnesPoints(int numOnes) {
+        if (numOnes < Dice.ROLLED_ONE || numOnes > numDice) {
+            throw new IllegalArgumentException("The number of ones must be between 1 and " + numDice + ".");
+        }
+        return onesPoints[numOnes];
+    }
+
+    /**
+     * @return whether these are the rules of the standard game, two or three six sided dice, so the rolls can
+     * be packed and scored by RollScorer instead
+     */
+    public boolean isStandard() {
+        return numFaces == Dice.DICE_FACES && (numDice == Dice.TWO_DICE || numDice == Dice.THREE_DICE)
+                && hasStandardOnes();
+    }
+
+    /**
+     * @return whether the points of the ones are those of the standard game
+     */
+    private boolean hasStandardOnes() {
+        return Arrays.equals(onesPoints, Player.ONE_INCREMENT, onesPoints.length,
+                standardOnesPoints(numDice), Player.STARTING_INDEX, numDice);
+    }
+
+    /**
+     * @param faces the faces of the dice, each one between 1 and getNumFaces()
+     * @return the roll packed as face counts
+     */
+    public static long pack(int[] faces) {
+        long roll = Player.ZERO_SCORE;
+        for (int face : faces) {
+            roll += ONE_DIE << ((face - Dice.RAND_START) << NIBBLE_SHIFT);
+        }
+        return roll;
+    }
+
+    /**
+     * @param roll a roll packed as face counts
+     * @param face a face
+     * @return the number of dice that rolled the face
+     */
+    public static int count(long roll, int face) {
+        return (int) ((roll >>> ((face - Dice.RAND_START) << NIBBLE_SHIFT)) & NIBBLE_MASK);
+    }
+
+    /**
+     * @param roll a roll packed as face counts
+     * @return the number of ones of the roll
+     */
+    public static int countOnes(long roll) {
+        return (int) (roll & NIBBLE_MASK);
+    }
+
+    /**
+     * Branch free: the nibbles are spread into two longs of byte counts, even faces and odd faces, and the
+     * counts are summed and weighted by their byte index with one multiplication each, the result ending up
+     * in the top byte. There are at most MAX_DICE dice, so no byte of the products carries into the next.
+     *
+     * @param roll a roll packed as face counts
+     * @return the sum of the dice
+     */
+    public static int sum(long roll) {
+        long odd = (roll >>> (Player.ONE_INCREMENT << NIBBLE_SHIFT)) & EVEN_NIBBLES;
+        long bytes = (roll & EVEN_NIBBLES) + odd;
+        /* the face of a count is 2 * its byte index + 1 in even, + 2 in odd */
+        long numDice = (bytes * BYTE_ONES) >>> TOP_BYTE_SHIFT;
+        long byteIndexes = (bytes * BYTE_INDEXES) >>> TOP_BYTE_SHIFT;
+        long numOdd = (odd * BYTE_ONES) >>> TOP_BYTE_SHIFT;
+        return (int) (Dice.TWO_DICE * byteIndexes + numOdd + numDice);
+    }
+
+    /**
+     * @param roll a roll of getNumDice() dice packed as face counts
+     * @return the points of the roll: onesPoints of its number of ones, or the sum of the dice without ones
+     */
+    public int score(long roll) {
+        int ones = (int) (roll & NIBBLE_MASK);
+        /* all ones bits without ones, no bits otherwise, so rolling a one or not is not a branch */
+        int noOnes = (ones - Player.ONE_INCREMENT) >> (Integer.SIZE - Player.ONE_INCREMENT);
+        return onesPoints[ones] | (sum(roll) & noOnes);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof DiceVariant && ((DiceVariant) other).numFaces == numFaces
+                && Arrays.equals(((DiceVariant) other).onesPoints, onesPoints);
+    }
+
+    @Override
+    public int hashCode() {
+        return numFaces * Dice.DICE_FACES + Arrays.hashCode(onesPoints);
+    }
+
+    /**
+     * @return the variant written NdM, followed by the points of the ones when they are not the standard ones
+     */
+    @Override
+    public String toString() {
+        String name = numDice + DICE_SEPARATOR + numFaces;
+        if (hasStandardOnes()) {
+            return name;
+        }
+        StringBuilder s = new StringBuilder(name).append(POINTS_SEPARATOR);
+        for (int numOnes = Dice.ROLLED_ONE; numOnes <= numDice; numOnes++) {
+            s.append(onesPoints[numOnes]).append((numOnes < numDice) ? LIST_SEPARATOR : "");
+        }
+        return s.toString();
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class draws rolls of dice. The art of every face (see Dice.getRollArt) is cut into rows once, when
+ * the class is loaded, and kept as bytes in a glyph atlas. A roll is then composed by copying the rows of
+ * each die side by side into one buffer that is reused from roll to roll, and printed with a single write.
+ *
+ * When the terminal is too narrow for all of the dice, the dice wrap onto as many lines of art as needed.
+ *
+ * One instance should only be used by one thread, since the buffer is shared between rolls.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public final class DieArt {
+    private byte[] frame;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final int ART_WIDTH = Dice.DIE_ART_NUM_COL + Dice.DECREMENT_ONE;
+    public static final int ART_ROWS  = Dice.DIE_ART_NUM_ROW;
+    public static final int GAP_WIDTH = 4;
+    public static final int NO_WRAP   = Integer.MAX_VALUE;
+    public static final byte SPACE    = ' ';
+    public static final byte NEW_LINE = '\n';
+    public static final String COLUMNS_VARIABLE = "COLUMNS";
+
+    /* GLYPHS[face][row * ART_WIDTH + col], without the new lines */
+    private static final byte[][] GLYPHS = buildAtlas();
+
+    public DieArt() {
+        frame = new byte[frameLength(Dice.THREE_DICE, NO_WRAP)];
+    }
+
+    /**
+     * @return the art of every face, one byte per character, the new lines taken out
+     */
+    private static byte[][] buildAtlas() {
+        byte[][] glyphs = new byte[Dice.DICE_FACES + Dice.RAND_START][];
+        for (int face = Dice.DIE_ONE; face <= Dice.DIE_SIX; face++) {
+            byte[] art = Dice.getRollArt(face).getBytes(StandardCharsets.US_ASCII);
+            glyphs[face] = new byte[ART_ROWS * ART_WIDTH];
+            for (int row = Dice.BEGIN_INDEX; row < ART_ROWS; row++) {
+                System.arraycopy(art, row * Dice.DIE_ART_NUM_COL, glyphs[face], row * ART_WIDTH, ART_WIDTH);
+            }
+        }
+        return glyphs;
+    }
+
+    /**
+     * @return the width of the terminal from the COLUMNS environment variable, or NO_WRAP when it is not set
+     */
+    public static int defaultTerminalWidth() {
+        String columns = System.getenv(COLUMNS_VARIABLE);
+        if (columns == null) {
+            return NO_WRAP;
+        }
+        try {
+            int width = Integer.parseInt(columns.trim());
+            return (width > Dice.BEGIN_INDEX) ? width : NO_WRAP;
+        } catch (NumberFormatException e) {
+            return NO_WRAP;
+        }
+    }
+
+    /**
+     * @param width the width of the terminal in characters
+     * @return how many dice fit side by side, at least one
+     */
+    public static int dicePerLine(int width) {
+        if (width == NO_WRAP) {
+            return NO_WRAP;
+        }
+        return Math.max(Dice.DIE_ONE, (width + GAP_WIDTH) / (ART_WIDTH + GAP_WIDTH));
+    }
+
+    /**
+     * @param numDice the number of dice
+     * @param width the width of the terminal in characters
+     * @return the number of bytes needed to draw that many dice
+     */
+    private static int frameLength(int numDice, int width) {
+        int perLine = Math.min(numDice, dicePerLine(width));
+        int lines = (numDice + perLine - Dice.DIE_ONE) / perLine;
+        int rowLength = perLine * (ART_WIDTH + GAP_WIDTH) - GAP_WIDTH + Dice.DIE_ONE;
+        return lines * ART_ROWS * rowLength;
+    }
+
+    /**
+     * Draws a roll into the reusable buffer.
+     *
+     * @param faces the faces of the dice, each one between 1 and 6
+     * @param numDice the number of dice to draw from faces
+     * @param width the width of the terminal in characters, or NO_WRAP
+     * @return the number of bytes of the buffer that hold the drawing
+     */
+    int compose(int[] faces, int numDice, int width) {
+        int length = frameLength(numDice, width);
+        if (frame.length < length) {
+            frame = new byte[length];
+        }
+
+        int perLine = Math.min(numDice, dicePerLine(width));
+        int pos = Dice.BEGIN_INDEX;
+        for (int first = Dice.BEGIN_INDEX; first < numDice; first += perLine) {
+            int last = Math.min(numDice, first + perLine);
+            for (int row = Dice.BEGIN_INDEX; row < ART_ROWS; row++) {
+                for (int die = first; die < last; die++) {
+                    if (die > first) {
+                        for (int gap = Dice.BEGIN_INDEX; gap < GAP_WIDTH; gap++) {
+                            frame[pos++] = SPACE;
+                        }
+                    }
+                    System.arraycopy(GLYPHS[faces[die]], row * ART_WIDTH, frame, pos, ART_WIDTH);
+                    pos += ART_WIDTH;
+                }
+                frame[pos++] = NEW_LINE;
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Draws a roll and prints it with a single write.
+     *
+     * @param out where the dice are displayed
+     * @param faces the faces of the dice, each one between 1 and 6
+     * @param numDice the number of dice to draw from faces
+     * @param width the width of the terminal in characters, or NO_WRAP
+     */
+    public void print(PrintStream out, int[] faces, int numDice, int width) {
+        /* compose first, it may replace the buffer with a bigger one */
+        int length = compose(faces, numDice, width);
+        out.write(frame, Dice.BEGIN_INDEX, length);
+    }
+}
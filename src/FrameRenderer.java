@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+import java.io.PrintStream;
+
+/**
+ * This class draws frames of text, like the score tables, with a single print and a single flush per frame.
+ * A frame is the lines added since the last render: they are appended to one reused buffer, then sent at
+ * once, so a row of a table over a socket is one write instead of one write per print call.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public class FrameRenderer {
+    private final PrintStream out;
+    private final StringBuilder output;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final char NEW_LINE = '\n';
+
+    /**
+     * @param out where the frames are drawn
+     */
+    public FrameRenderer(PrintStream out) {
+        this.out = out;
+        output = new StringBuilder();
+    }
+
+    /**
+     * Adds a line at the end of the frame, without drawing it yet.
+     *
+     * @param text the line, without the new line
+     */
+    public void addLine(CharSequence text) {
+        output.append(text).append(NEW_LINE);
+    }
+
+    /**
+     * Adds text at the end of the frame, without drawing it yet. Unlike addLine, no new line is added after
+     * the text, so the text ends with one when it is a whole number of lines.
+     *
+     * @param text the lines, each one ended by a new line
+     */
+    public void addLines(String text) {
+        output.append(text);
+    }
+
+    /**
+     * Draws the lines added since the frame was last drawn, with a single print and a single flush.
+     */
+    public void render() {
+        if (output.length() > Player.STARTING_INDEX) {
+            out.print(output);
+            out.flush();
+            output.setLength(Player.STARTING_INDEX);
+        }
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * This class is an immutable copy of the full state of a game in progress (see GameSession.checkpoint): the
+ * players, their scores and standing, the points of the current round, the round and turn counters, the
+ * flags of the round, the state of the random source and the faces the dice drew from it but did not roll
+ * yet. Taking one only copies a few small arrays, so the game thread can take one after every turn and leave
+ * the encoding and the writing to CheckpointWriter.
+ *
+ * The encoded form is fixed for a given number of players and human names, all in big endian:
+ *     magic          = int, MAGIC.
+ *     version        = int, FORMAT_VERSION.
+ *     numDice, numHuman, numAI, sitPercentage, round, turn = ints.
+ *     flags          = int, the bits ALL_STANDING, ALL_SITTING, ROUND_ENDED and POLICY_AI.
+ *     randomLongs    = int, the number of longs of the state of the random source.
+ *     randomState    = randomLongs longs.
+ *     numFaces       = int, the number of faces buffered by the dice (see Dice.rollCode).
+ *     faces          = numFaces bytes.
+ *     scores         = numHuman + numAI ints.
+ *     roundScores    = numHuman + numAI ints, the points of the current round.
+ *     standing       = numHuman + numAI bytes, 1 if the player stands.
+ *     humanNames     = numHuman times: a short length, then the UTF-8 bytes of the name.
+ *     checksum       = long, the CRC32 of everything before it.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public final class GameCheckpoint {
+    private final int numDice;
+    private final String[] humanNames;
+    private final int numAI;
+    private final int sitPercentage;
+    private final int round, turn;
+    private final int flags;
+    private final long[] randomState;
+    private final int[] bufferedFaces;
+    private final int[] scores;
+    private final int[] roundScores;
+    private final boolean[] standing;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final int MAGIC          = 0x534B4350;
+    public static final int FORMAT_VERSION = 1;
+    public static final int FIXED_INTS     = 11;
+
+    public static final int ALL_STANDING = 1;
+    public static final int ALL_SITTING  = 1 << 1;
+    public static final int ROUND_ENDED  = 1 << 2;
+    public static final int POLICY_AI    = 1 << 3;
+
+    public static final byte STANDS = 1;
+    public static final byte SITS   = 0;
+
+    /**
+     * The arrays are owned by the checkpoint from now on, the caller passes copies.
+     *
+     * @param numDice the number of dice, two or three.
+     * @param humanNames the names of the human players
+     * @param numAI the number of AI players
+     * @param sitPercentage the sit percentage of the AI (see GameSession)
+     * @param round the current round
+     * @param turn the number of turns already played in the current round
+     * @param flags the bits ALL_STANDING, ALL_SITTING, ROUND_ENDED and POLICY_AI
+     * @param randomState the state of the random source (see RandomSource.getState)
+     * @param bufferedFaces the faces drawn by the dice but not rolled yet (see Dice.getBufferedFaces)
+     * @param scores the total score of every player
+     * @param roundScores the points of every player in the current round
+     * @param standing whether every player stands
+     */
+    GameCheckpoint(int numDice, String[] humanNames, int numAI, int sitPercentage, int round, int turn,
+                   int flags, long[] randomState, int[] bufferedFaces, int[] scores, int[] roundScores,
+                   boolean[] standing) {
+        this.numDice = numDice;
+        this.humanNames = humanNames;
+        this.numAI = numAI;
+        this.sitPercentage = sitPercentage;
+        this.round = round;
+        this.turn = turn;
+        this.flags = flags;
+        this.randomState = randomState;
+        this.bufferedFaces = bufferedFaces;
+        this.scores = scores;
+        this.roundScores = roundScores;
+        this.standing = standing;
+    }
+
+    /**
+     * @return the number of dice
+     */
+    public int getNumDice() {
+        return numDice;
+    }
+
+    /**
+     * @return a copy of the names of the human players
+     */
+    public String[] getHumanNames() {
+        return humanNames.clone();
+    }
+
+    /**
+     * @return the number of AI players
+     */
+    public int getNumAI() {
+        return numAI;
+    }
+
+    /**
+     * @return the sit percentage of the AI
+     */
+    public int getSitPercentage() {
+        return sitPercentage;
+    }
+
+    /**
+     * @return the current round
+     */
+    public int getRound() {
+        return round;
+    }
+
+    /**
+     * @return the number of turns already played in the current round
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * @param flag one of ALL_STANDING, ALL_SITTING, ROUND_ENDED and POLICY_AI
+     * @return whether the flag is set
+     */
+    public boolean hasFlag(int flag) {
+        return (flags & flag) != Player.ZERO_SCORE;
+    }
+
+    /**
+     * @return a copy of the state of the random source
+     */
+    public long[] getRandomState() {
+        return randomState.clone();
+    }
+
+    /**
+     * @return a copy of the faces drawn by the dice but not rolled yet
+     */
+    public int[] getBufferedFaces() {
+        return bufferedFaces.clone();
+    }
+
+    /**
+     * @param index the index of the player
+     * @return the total score of the player
+     */
+    public int getScore(int index) {
+        return scores[index];
+    }
+
+    /**
+     * @param index the index of the player
+     * @return the points of the player in the current round
+     */
+    public int getRoundScore(int index) {
+        return roundScores[index];
+    }
+
+    /**
+     * @param index the index of the player
+     * @return whether the player stands
+     */
+    public boolean isStanding(int index) {
+        return standing[index];
+    }
+
+    /**
+     * @return the number of players
+     */
+    public int getNumPlayers() {
+        return scores.length;
+    }
+
+    /**
+     * @return the checkpoint in its binary form, from position 0 to the limit
+     */
+    public ByteBuffer encode() {
+        byte[][] names = new byte[humanNames.length][];
+        int namesBytes = Player.ZERO_SCORE;
+        for (int i = Player.STARTING_INDEX; i < names.length; i++) {
+            names[i] = humanNames[i].getBytes(StandardCharsets.UTF_8);
+            namesBytes += Short.BYTES + names[i].length;
+        }
+        int bytes = FIXED_INTS * Integer.BYTES + randomState.length * Long.BYTES + bufferedFaces.length
+                + scores.length * (2 * Integer.BYTES + Byte.BYTES) + namesBytes + Long.BYTES;
+
+        ByteBuffer buffer = ByteBuffer.allocate(bytes).order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(numDice).putInt(humanNames.length).putInt(numAI)
+                .putInt(sitPercentage).putInt(round).putInt(turn).putInt(flags).putInt(randomState.length);
+        for (long state : randomState) {
+            buffer.putLong(state);
+        }
+        buffer.putInt(bufferedFaces.length);
+        for (int face : bufferedFaces) {
+            buffer.put((byte) face);
+        }
+        for (int score : scores) {
+            buffer.putInt(score);
+        }
+        for (int score : roundScores) {
+            buffer.putInt(score);
+        }
+        for (boolean stands : standing) {
+            buffer.put(stands ? STANDS : SITS);
+        }
+        for (byte[] name : names) {
+            buffer.putShort((short) name.length).put(name);
+        }
+        buffer.putLong(checksum(buffer.array(), buffer.position()));
+        return buffer.flip();
+    }
+
+    /**
+     * @param buffer a checkpoint in its binary form, from its position to its limit
+     * @return the checkpoint
+     * @throws IOException if the buffer does not hold a valid checkpoint
+     */
+    public static GameCheckpoint decode(ByteBuffer buffer) throws IOException {
+        ByteBuffer in = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+        int length = in.remaining() - Long.BYTES;
+        if (length < FIXED_INTS * Integer.BYTES || in.getInt() != MAGIC) {
+            throw new IOException("Not a game checkpoint.");
+        }
+        int version = in.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("The checkpoint has version " + version + " instead of " + FORMAT_VERSION);
+        }
+        byte[] bytes = new byte[length];
+        in.get(Player.STARTING_INDEX, bytes);
+        if (checksum(bytes, length) != in.getLong(length)) {
+            throw new IOException("The checkpoint is corrupted, its checksum does not match.");
+        }
+
+        try {
+            int numDice = in.getInt(), numHuman = in.getInt(), numAI = in.getInt(), sitPercentage = in.getInt();
+            int round = in.getInt(), turn = in.getInt(), flags = in.getInt();
+            long[] randomState = new long[in.getInt()];
+            for (int i = Player.STARTING_INDEX; i < randomState.length; i++) {
+                randomState[i] = in.getLong();
+            }
+            int numFaces = in.getInt();
+            if (numFaces > Dice.FACE_BUFFER_SIZE) {
+                throw new IOException("The checkpoint has " + numFaces + " buffered faces.");
+            }
+            int[] bufferedFaces = new int[numFaces];
+            for (int i = Player.STARTING_INDEX; i < numFaces; i++) {
+                bufferedFaces[i] = in.get();
+            }
+            int numPlayers = numHuman + numAI;
+            int[] scores = new int[numPlayers];
+            int[] roundScores = new int[numPlayers];
+            boolean[] standing = new boolean[numPlayers];
+            for (int i = Player.STARTING_INDEX; i < numPlayers; i++) {
+                scores[i] = in.getInt();
+            }
+            for (int i = Player.STARTING_INDEX; i < numPlayers; i++) {
+                roundScores[i] = in.getInt();
+            }
+            for (int i = Player.STARTING_INDEX; i < numPlayers; i++) {
+                standing[i] = in.get() == STANDS;
+            }
+            String[] humanNames = new String[numHuman];
+            for (int i = Player.STARTING_INDEX; i < numHuman; i++) {
+                byte[] name = new byte[in.getShort()];
+                in.get(name);
+                humanNames[i] = new String(name, StandardCharsets.UTF_8);
+            }
+            if (in.remaining() != Long.BYTES) {
+                throw new IOException("The checkpoint has " + (in.remaining() - Long.BYTES) + " bytes too many.");
+            }
+            return new GameCheckpoint(numDice, humanNames, numAI, sitPercentage, round, turn, flags, randomState,
+                    bufferedFaces, scores, roundScores, standing);
+        } catch (RuntimeException e) {
+            throw new IOException("The checkpoint is corrupted: " + e, e);
+        }
+    }
+
+    /**
+     * @param bytes the encoded checkpoint
+     * @param length the number of bytes before the checksum
+     * @return the CRC32 of the bytes
+     */
+    private static long checksum(byte[] bytes, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, Player.STARTING_INDEX, length);
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * This class holds the JDK Flight Recorder events of the console games (see Rounds and Dice), so the activity
+ * of the games lines up with the GC, lock and CPU samples of a recording, e.g. of a live SkunkServer:
+ *     jcmd <pid> JFR.start settings=default settings=src/skunk.jfc filename=skunk.jfr
+ *
+ * Every event is off by default and has no stack trace, so outside of a recording an event is a check of a
+ * flag: the fields are only filled, and the strings only built, when shouldCommit says the event is recorded.
+ * The events are turned on by the checked in profile src/skunk.jfc, or one at a time with e.g.
+ * skunk.Roll#enabled=true.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public final class GameEvents {
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final String CATEGORY = "Skunk";
+
+    private GameEvents() {
+    }
+
+    @Name("skunk.GameStart")
+    @Label("Game Start")
+    @Description("A console game starts, or goes on from a checkpoint")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class GameStart extends Event {
+        @Label("Dice")
+        int numDice;
+
+        @Label("Human Players")
+        int numHuman;
+
+        @Label("AI Players")
+        int numAI;
+
+        @Label("Resumed")
+        @Description("Whether the game goes on from a checkpoint")
+        boolean resumed;
+    }
+
+    @Name("skunk.GameEnd")
+    @Label("Game End")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class GameEnd extends Event {
+        @Label("Players")
+        int numPlayers;
+
+        @Label("Top Score")
+        int topScore;
+
+        @Label("Winners")
+        @Description("The number of players sharing the top score")
+        int numWinners;
+    }
+
+    @Name("skunk.RoundStart")
+    @Label("Round Start")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class RoundStart extends Event {
+        @Label("Round")
+        @Description("The round, as in Rounds.ROUNDS")
+        String round;
+    }
+
+    @Name("skunk.RoundEnd")
+    @Label("Round End")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class RoundEnd extends Event {
+        @Label("Round")
+        @Description("The round, as in Rounds.ROUNDS")
+        String round;
+
+        @Label("Turns")
+        int turns;
+
+        @Label("Top Score")
+        int topScore;
+    }
+
+    @Name("skunk.Turn")
+    @Label("Turn")
+    @Description("One turn, from the prompts to the summary table")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class Turn extends Event {
+        @Label("Round")
+        String round;
+
+        @Label("Turn")
+        int turn;
+
+        @Label("Standing")
+        @Description("The number of players standing for the roll")
+        int numStanding;
+
+        @Label("Points")
+        @Description("The points of the roll: -1 for one one, 0 for two ones, else the points gained")
+        int points;
+    }
+
+    @Name("skunk.Roll")
+    @Label("Roll")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class Roll extends Event {
+        @Label("Faces")
+        @Description("The faces of the dice, separated by spaces")
+        String faces;
+
+        @Label("Points")
+        int points;
+    }
+
+    @Name("skunk.PromptWait")
+    @Label("Prompt Wait")
+    @Description("The time a human player takes to answer whether to sit")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class PromptWait extends Event {
+        @Label("Player")
+        String player;
+
+        @Label("Sits")
+        boolean sits;
+
+        @Label("Invalid Answers")
+        int invalidAnswers;
+
+        @Label("Timed Out")
+        @Description("Whether the player got the default action of SitPrompter for not answering in time")
+        boolean timedOut;
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class appends games to a binary journal file: every roll, sit or stand change and score update of a
+ * game, small enough to keep every game that is played and exact enough to play it again (see JournalReader).
+ * Any number of game sessions can write to one journal at once, each through its own JournalRecorder.
+ *
+ * The file starts with MAGIC and FORMAT_VERSION, then holds one block per game: the length of the block as
+ * a varint, then its records. A record is a tag byte followed by varints:
+ *     GAME_START  = number of dice, number of humans, number of AI, then the name of every human
+ *                   (length of the UTF-8 bytes, then the bytes).
+ *     RESUME      = length, then the bytes of a GameCheckpoint (see GameCheckpoint.encode). Right after the
+ *                   GAME_START of a game restored from a checkpoint: the state the game goes on from.
+ *     ROUND_START = the round. Every player stands again and has no points in the round.
+ *     STANDING    = zigzag(index - index of the previous STANDING of the turn) * 2, plus STANDING_BIT if the
+ *                   player stands.
+ *     ROLL        = the roll, packed as a RollScorer code.
+ *     SCORE       = zigzag(index - index of the previous SCORE of the roll), then zigzag(the change of the
+ *                   score of the player).
+ *     TURN_END    = nothing.
+ *     GAME_END    = nothing.
+ *
+ * Varints use 7 bits per byte, the high bit meaning another byte follows. Zigzag maps small negative and
+ * positive numbers to small varints. Blocks are gathered in a buffer and written BATCH_BYTES at a time.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public class GameJournal implements AutoCloseable {
+    private final FileChannel channel;
+    private final ByteBuffer batch;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final int MAGIC          = 0x534B4A4C;
+    public static final int FORMAT_VERSION = 2;
+    public static final int FIRST_FORMAT_VERSION = 1;
+    public static final int HEADER_BYTES   = 2 * Integer.BYTES;
+    public static final int BATCH_BYTES    = 1 << 20;
+    public static final String JOURNAL_PROPERTY = "skunk.journal";
+
+    public static final byte GAME_START  = 1;
+    public static final byte ROUND_START = 2;
+    public static final byte STANDING    = 3;
+    public static final byte ROLL        = 4;
+    public static final byte SCORE       = 5;
+    public static final byte TURN_END    = 6;
+    public static final byte GAME_END    = 7;
+    public static final byte RESUME      = 8;
+    public static final int STANDING_BIT = 1;
+
+    public static final int VARINT_BITS    = 7;
+    public static final int VARINT_PAYLOAD = 0x7F;
+    public static final int VARINT_MORE    = 0x80;
+    public static final int MAX_VARINT_BYTES = 10;
+
+    /**
+     * The journal named by the system property skunk.journal, opened the first time it is used.
+     */
+    private static final class ProcessJournal {
+        static final GameJournal JOURNAL = open();
+
+        private static GameJournal open() {
+            String file = System.getProperty(JOURNAL_PROPERTY);
+            if (file == null) {
+                return null;
+            }
+            try {
+                GameJournal journal = new GameJournal(Paths.get(file));
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        journal.close();
+                    } catch (IOException e) {
+                        System.err.println("Could not close the journal: " + e);
+                    }
+                }));
+                return journal;
+            } catch (IOException e) {
+                System.err.println("Could not open the journal " + file + ": " + e);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Opens a journal file, creating it if needed. New games are appended after the games already in it,
+     * once the header of the file shows it is a journal of FORMAT_VERSION.
+     *
+     * @param file the journal file
+     * @throws IOException if the file cannot be opened or is not a journal of FORMAT_VERSION
+     */
+    public GameJournal(Path file) throws IOException {
+        if (Files.exists(file) && Files.size(file) > Player.ZERO_SCORE) {
+            checkHeader(file);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        batch = ByteBuffer.allocate(BATCH_BYTES);
+        if (channel.size() == Player.ZERO_SCORE) {
+            batch.putInt(MAGIC).putInt(FORMAT_VERSION);
+        }
+    }
+
+    /**
+     * @param file a file that is not empty
+     * @throws IOException if the file cannot be read or does not start with MAGIC and FORMAT_VERSION
+     */
+    private static void checkHeader(Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && in.read(header) >= Player.ZERO_SCORE) {
+                /* reads until the header is full or the file ends */
+            }
+        }
+        header.flip();
+        if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+            throw new IOException(file + " is not a journal.");
+        }
+        int version = header.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException(file + " has version " + version + " instead of " + FORMAT_VERSION
+                    + ", the games cannot be appended to it.");
+        }
+    }
+
+    /**
+     * @return the journal of the process, named by the system property skunk.journal, or null if there is none
+     */
+    public static GameJournal processJournal() {
+        return ProcessJournal.JOURNAL;
+    }
+
+    /**
+     * @return a new recorder, to be set as the listener of one game session
+     */
+    public JournalRecorder recorder() {
+        return new JournalRecorder(this);
+    }
+
+    /**
+     * Appends the block of one game. The game is written to the file with the next batch.
+     *
+     * @param block the records of the game
+     * @param length the number of bytes of the records
+     * @throws IOException if a batch cannot be written
+     */
+    synchronized void append(byte[] block, int length) throws IOException {
+        if (batch.remaining() < MAX_VARINT_BYTES + length) {
+            flush();
+        }
+        if (batch.remaining() < MAX_VARINT_BYTES + length) {
+            /* a game bigger than a batch goes straight to the file */
+            ByteBuffer big = ByteBuffer.allocate(MAX_VARINT_BYTES + length);
+            putVarint(big, length);
+            big.put(block, Player.STARTING_INDEX, length).flip();
+            writeFully(big);
+            return;
+        }
+        putVarint(batch, length);
+        batch.put(block, Player.STARTING_INDEX, length);
+    }
+
+    /**
+     * Writes the games gathered in the batch to the file.
+     *
+     * @throws IOException if the batch cannot be written
+     */
+    public synchronized void flush() throws IOException {
+        batch.flip();
+        writeFully(batch);
+        batch.clear();
+    }
+
+    /**
+     * @param buffer the bytes to write, all of them
+     * @throws IOException if they cannot be written
+     */
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * @param buffer where the varint is written
+     * @param value a non-negative number
+     */
+    private static void putVarint(ByteBuffer buffer, long value) {
+        while ((value & ~VARINT_PAYLOAD) != Player.ZERO_SCORE) {
+            buffer.put((byte) ((value & VARINT_PAYLOAD) | VARINT_MORE));
+            value >>>= VARINT_BITS;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Writes the last games and closes the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel.isOpen()) {
+            flush();
+            channel.close();
+        }
+    }
+}
@@ -9,7 +9,10 @@
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.util.concurrent.TimeUnit;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /**
  * This class is used to launch the skunk game in console.
@@ -20,64 +23,170 @@ import java.util.concurrent.TimeUnit;
  */
 public class GameLauncher {
 
-    private static boolean playAgain;
-
     /* Symbolic constants used to get rid of magic numbers */
     public static final int timeBetweenBigBlockTextMS = 500;
     public static final int timeBetweenSmallTextMS    = 200;
+    public static final int PACING_ARG                = 0;
+    public static final String BATCH                  = "batch";
+    public static final int SCRIPT_ARG                = 1;
+    public static final String STANDARD_INPUT         = "-";
 
+    /**
+     * @param args optionally the pacing mode of the game: real (default), budget or virtual (see Pacer); or
+     *             "batch" then the script of the games to play (see BatchGames), read from the standard input
+     *             if it is missing or "-"
+     */
     public static void main(String[] args) throws Exception {
+        if (args.length > PACING_ARG && args[PACING_ARG].equalsIgnoreCase(BATCH)) {
+            String script = (args.length > SCRIPT_ARG) ? args[SCRIPT_ARG] : STANDARD_INPUT;
+            try (BufferedReader bf = STANDARD_INPUT.equals(script)
+                    ? new BufferedReader(new InputStreamReader(System.in))
+                    : Files.newBufferedReader(Paths.get(script))) {
+                new BatchGames(System.out).play(bf);
+            }
+            return;
+        }
 
         /* Initializes bufferedReader so users can type in the console. */
-        playAgain = true;
         InputStreamReader r = new InputStreamReader(System.in);
         BufferedReader bf = new BufferedReader(r);
 
-        /* Continuous loop until user says no to "PLAY AGAIN" */
-        while(playAgain) {
+        String checkpoint = System.getProperty(CheckpointWriter.CHECKPOINT_PROPERTY);
+        play(bf, System.out, Pacer.forMode((args.length > PACING_ARG) ? args[PACING_ARG] : Pacer.REAL_TIME),
+                (checkpoint == null) ? null : Paths.get(checkpoint));
 
-            /* Prints the introduction and asks if the user wants to see game instructions*/
-            printIntro();
-            printInstructions(bf);
+        /* Closes the bufferedReader and InputStreamReader */
+        bf.close();
+        r.close();
+    }
 
-            /* Gets the users input */
-            GetGameSettings settings = new GetGameSettings(bf);
+    /**
+     * Plays games until the user says no to "PLAY AGAIN". Used by main for the console, and by SkunkServer
+     * for every remote connection.
+     *
+     * @param bf to prompt the user for input
+     * @param out where the games are printed
+     * @param pacer how long the pauses of the games last
+     * @throws Exception if something goes wrong with the bufferedReader or the thread gets interrupted
+     */
+    public static void play(BufferedReader bf, PrintStream out, Pacer pacer) throws Exception {
+        play(bf, out, pacer, null);
+    }
+
+    /**
+     * Plays games until the user says no to "PLAY AGAIN", saving a checkpoint of the game after every turn.
+     * When a checkpoint is found, the user can resume that game instead of starting a new one.
+     *
+     * @param bf to prompt the user for input
+     * @param out where the games are printed
+     * @param pacer how long the pauses of the games last
+     * @param checkpointFile where the game in progress is saved (see CheckpointWriter), or null to save nothing
+     * @throws Exception if something goes wrong with the bufferedReader or the thread gets interrupted
+     */
+    public static void play(BufferedReader bf, PrintStream out, Pacer pacer, Path checkpointFile)
+            throws Exception {
+        CheckpointWriter checkpoints = (checkpointFile == null) ? null : new CheckpointWriter(checkpointFile);
+        boolean playAgain = true;
 
-            /* Initializes the dice for the current game */
-            new Dice(settings.getNumberOfDie());
+        /* Continuous loop until user says no to "PLAY AGAIN" */
+        while(playAgain) {
 
-            /* Initializes the players for the current game */
-            new Player(settings.getNumberOfHumanPlayers(), settings.getNumberOfAIPlayers(), bf);
+            /* Resumes the saved game, or initializes a new game, its dice and the random source */
+            GameSession session = resumeSavedGame(bf, out, checkpointFile);
+            if (session == null) {
+                session = newGame(bf, out, pacer);
+            }
+            session.setOut(out);
+            session.setPacer(pacer);
+            if (GameJournal.processJournal() != null) {
+                session.setListener(GameJournal.processJournal().recorder());
+            }
 
             /* Executes the rounds */
-            new Rounds(bf);
+            new Rounds(session, bf, checkpoints);
 
             /* Asks if the user wants to play again */
-            askPlayAgain(bf);
+            playAgain = askYesNo(bf, out, "PLAY AGAIN? (Yes or No)");
         }
+        if (checkpoints != null) {
+            checkpoints.close();
+        }
+    }
 
-        /* Closes the bufferedReader and InputStreamReader */
-        bf.close();
-        r.close();
+    /**
+     * Prints the introduction and asks the user for the settings and the players of a new game.
+     *
+     * @param bf to prompt the user for input
+     * @param out where the user is prompted
+     * @param pacer how long the pauses of the introduction last
+     * @return the new game
+     * @throws Exception if something goes wrong with the bufferedReader or the thread gets interrupted
+     */
+    private static GameSession newGame(BufferedReader bf, PrintStream out, Pacer pacer) throws Exception {
+
+        /* Prints the introduction and asks if the user wants to see game instructions*/
+        printIntro(out, pacer);
+        printInstructions(bf, out, pacer);
+
+        /* Gets the users input */
+        GetGameSettings settings = new GetGameSettings(bf, out);
+
+        /* Initializes the players for the current game */
+        Player players = new Player(settings.getNumberOfHumanPlayers(), settings.getNumberOfAIPlayers(), bf, out);
+
+        /* Initializes the game, its dice and the random source shared by the dice and the AI */
+        GameSession session = new GameSession(settings.getNumberOfDie(), players, RandomSource.newSource());
+        if (settings.isPolicyAI()) {
+            session.setStrategy(PolicyTableStrategy.forDice(settings.getNumberOfDie()));
+        }
+        return session;
+    }
+
+    /**
+     * Asks the user whether to resume the game saved in the checkpoint file, if there is one.
+     *
+     * @param bf to prompt the user for input
+     * @param out where the user is prompted
+     * @param checkpointFile where the game in progress is saved, or null
+     * @return the saved game, or null if there is none or the user starts a new game
+     * @throws IOException if something goes wrong with the bufferedReader
+     */
+    private static GameSession resumeSavedGame(BufferedReader bf, PrintStream out, Path checkpointFile)
+            throws IOException {
+        if (checkpointFile == null || !Files.exists(checkpointFile)) {
+            return null;
+        }
+        GameCheckpoint checkpoint;
+        try {
+            checkpoint = CheckpointWriter.read(checkpointFile);
+        } catch (IOException e) {
+            out.println("The saved game cannot be resumed: " + e.getMessage());
+            return null;
+        }
+        String question = String.format("A game saved in round %s after turn %d was found. Resume it? (Yes or No)",
+                Rounds.ROUNDS[checkpoint.getRound()], checkpoint.getTurn());
+        return askYesNo(bf, out, question) ? GameSession.resume(checkpoint) : null;
     }
 
     /**
-     * This methods asks if the user wants to play again, and breaks through the while loop depending on the answer.
+     * This methods asks a yes or no question, e.g. if the user wants to play again, until the answer is yes or no.
      *
      * @param bf to prompt the user for input
+     * @param out where the user is prompted
+     * @param question the question
+     * @return whether the user answered yes
      * @throws IOException if something goes wrong with the bufferedReader
      */
-    private static void askPlayAgain(BufferedReader bf) throws IOException{
-        System.out.println("PLAY AGAIN? (Yes or No)");
+    private static boolean askYesNo(BufferedReader bf, PrintStream out, String question) throws IOException{
+        out.println(question);
         while(true) {
-            String ans = bf.readLine();
+            String ans = ConsoleHelper.readLine(bf);
             if (ans.equalsIgnoreCase("yes")) {
-                break;
+                return true;
             } else if (ans.equalsIgnoreCase("no")) {
-                playAgain = false;
-                break;
+                return false;
             } else {
-                System.out.println("Please enter Yes or No.");
+                out.println("Please enter Yes or No.");
             }
         }
     }
@@ -86,75 +195,78 @@ public class GameLauncher {
      * This prints the character into a big font
      *
      * @param c should be an alphabetical letter
+     * @param out where the letter is printed
      */
-    private static void printSkunk(char c) {
+    private static void printSkunk(char c, PrintStream out) {
         if (c == 's') {
-            System.out.println(".----------------.");
-            System.out.println("| .--------------. |");
-            System.out.println("| |    _______   | |");
-            System.out.println("| |   /  ___  |  | |");
-            System.out.println("| |  |  (__ \\_|  | |");
-            System.out.println("| |   '.___`-.   | |");
-            System.out.println("| |  |`\\____) |  | |");
-            System.out.println("| |  |_______.'  | |");
-            System.out.println("| |              | |");
-            System.out.println("| '--------------' |");
-            System.out.println("'----------------' ");
+            out.println(".----------------.");
+            out.println("| .--------------. |");
+            out.println("| |    _______   | |");
+            out.println("| |   /  ___  |  | |");
+            out.println("| |  |  (__ \\_|  | |");
+            out.println("| |   '.___`-.   | |");
+            out.println("| |  |`\\____) |  | |");
+            out.println("| |  |_______.'  | |");
+            out.println("| |              | |");
+            out.println("| '--------------' |");
+            out.println("'----------------' ");
         } else if (c == 'k') {
-            System.out.println(" .----------------. ");
-            System.out.println("| .--------------. |");
-            System.out.println("| |  ___  ____   | |");
-            System.out.println("| | |_  ||_  _|  | |");
-            System.out.println("| |   | |_/ /    | |");
-            System.out.println("| |   |  __'.    | |");
-            System.out.println("| |  _| |  \\ \\_  | |");
-            System.out.println("| | |____||____| | |");
-            System.out.println("| |              | |");
-            System.out.println("| '--------------' |");
-            System.out.println(" '----------------' ");
+            out.println(" .----------------. ");
+            out.println("| .--------------. |");
+            out.println("| |  ___  ____   | |");
+            out.println("| | |_  ||_  _|  | |");
+            out.println("| |   | |_/ /    | |");
+            out.println("| |   |  __'.    | |");
+            out.println("| |  _| |  \\ \\_  | |");
+            out.println("| | |____||____| | |");
+            out.println("| |              | |");
+            out.println("| '--------------' |");
+            out.println(" '----------------' ");
         } else if (c == 'u') {
-            System.out.println(" .----------------. ");
-            System.out.println("| .--------------. |");
-            System.out.println("| | _____  _____ | |");
-            System.out.println("| ||_   _||_   _|| |");
-            System.out.println("| |  | |    | |  | |");
-            System.out.println("| |  | '    ' |  | |");
-            System.out.println("| |   \\ `--' /   | |");
-            System.out.println("| |    `.__.'    | |");
-            System.out.println("| |              | |");
-            System.out.println("| '--------------' |");
-            System.out.println(" '----------------' ");
+            out.println(" .----------------. ");
+            out.println("| .--------------. |");
+            out.println("| | _____  _____ | |");
+            out.println("| ||_   _||_   _|| |");
+            out.println("| |  | |    | |  | |");
+            out.println("| |  | '    ' |  | |");
+            out.println("| |   \\ `--' /   | |");
+            out.println("| |    `.__.'    | |");
+            out.println("| |              | |");
+            out.println("| '--------------' |");
+            out.println(" '----------------' ");
         } else if (c == 'n') {
-            System.out.println(" .-----------------.");
-            System.out.println("| .--------------. |");
-            System.out.println("| | ____  _____  | |");
-            System.out.println("| ||_   \\|_   _| | |");
-            System.out.println("| |  |   \\ | |   | |");
-            System.out.println("| |  | |\\ \\| |   | |");
-            System.out.println("| | _| |_\\   |_  | |");
-            System.out.println("| ||_____|\\____| | |");
-            System.out.println("| |              | |");
-            System.out.println("| '--------------' |");
-            System.out.println(" '----------------' ");
+            out.println(" .-----------------.");
+            out.println("| .--------------. |");
+            out.println("| | ____  _____  | |");
+            out.println("| ||_   \\|_   _| | |");
+            out.println("| |  |   \\ | |   | |");
+            out.println("| |  | |\\ \\| |   | |");
+            out.println("| | _| |_\\   |_  | |");
+            out.println("| ||_____|\\____| | |");
+            out.println("| |              | |");
+            out.println("| '--------------' |");
+            out.println(" '----------------' ");
         }
     }
 
     /**
      * prints the introduction to the game
      *
+     * @param out where the introduction is printed
+     * @param pacer how long the pauses between the letters last
      * @throws InterruptedException if there is something is wrong with thread sleep
      */
-    private static void printIntro() throws InterruptedException {
+    private static void printIntro(PrintStream out, Pacer pacer) throws InterruptedException {
         char[] welcome = "\n\nWELCOME TO THE GAME:\n\n".toCharArray();
         for (char c: welcome) {
-            System.out.print(c);
-            TimeUnit.MILLISECONDS.sleep(timeBetweenSmallTextMS);
+            out.print(c);
+            pacer.pause(timeBetweenSmallTextMS);
         }
 
         char[] skunk = "skunk".toCharArray();
         for (char c: skunk) {
-            printSkunk(c);
-            TimeUnit.MILLISECONDS.sleep(timeBetweenBigBlockTextMS);
+            printSkunk(c, out);
+            pacer.pause(timeBetweenBigBlockTextMS);
         }
     }
 
@@ -162,14 +274,17 @@ public class GameLauncher {
      * prints the instructions if the user wants to
      *
      * @param bf to prompt the user for input
+     * @param out where the instructions are printed
+     * @param pacer how long the pauses between the paragraphs last
      */
-    private static void printInstructions(BufferedReader bf) throws IOException, InterruptedException {
+    private static void printInstructions(BufferedReader bf, PrintStream out, Pacer pacer)
+            throws IOException, InterruptedException {
 
-        System.out.print("\nDo you want to read the game instructions (yes or no)? ");
+        out.print("\nDo you want to read the game instructions (yes or no)? ");
         while(true) {
-            String ans = bf.readLine();
+            String ans = ConsoleHelper.readLine(bf);
             if (ans.equalsIgnoreCase("yes")) {
-                System.out.print("\n%%============================================================%%\n" +
+                out.print("\n%%============================================================%%\n" +
                         "\t\t\t  SKUNK GAME INSTRUCTIONS\n" +
                         "%%============================================================%%\n" +
                         "\n" +
@@ -179,8 +294,8 @@ public class GameLauncher {
                         "dice game or a three dice game, and then inputs the number of \n" +
                         "human or AI players.\n" +
                         "\n");
-                Thread.sleep(Rounds.THREAD_SLEEP_TIME_MILLISEC);
-                System.out.print("Players start the game standing up. The system rolls all the \n" +
+                pacer.pause(Rounds.THREAD_SLEEP_TIME_MILLISEC);
+                out.print("Players start the game standing up. The system rolls all the \n" +
                         "dice each turn. The players and AI all have a choice before \n" +
                         "each roll whether to remain standing or whether to sit down. \n" +
                         "If they are standing when a roll is made that does not contain \n" +
@@ -190,16 +305,16 @@ public class GameLauncher {
                         "their points from that round and wait for the round to be \n" +
                         "completed.\n" +
                         "\n");
-                Thread.sleep(Rounds.THREAD_SLEEP_TIME_MILLISEC);
-                System.out.print("If they are ever standing when a “1” is rolled they lose ALL \n" +
+                pacer.pause(Rounds.THREAD_SLEEP_TIME_MILLISEC);
+                out.print("If they are ever standing when a “1” is rolled they lose ALL \n" +
                         "OF their points for that round. If they are ever standing when \n" +
                         "two 1’s (snake eyes) are rolled then they lose ALL of their \n" +
                         "points from ALL ROUNDS THAT HAVE BEEN PLAYED TO THAT POINT. \n" +
                         "For three dice games, if they are ever standing when triple \n" +
                         "\"1\"'s are rolled then they GAIN 100 points.\n" +
                         "\n");
-                Thread.sleep(Rounds.THREAD_SLEEP_TIME_MILLISEC);
-                System.out.print("Once students sit down they cannot get up again until the next \n" +
+                pacer.pause(Rounds.THREAD_SLEEP_TIME_MILLISEC);
+                out.print("Once students sit down they cannot get up again until the next \n" +
                         "round. Each round ends when a “1” is rolled (except triple \n" +
                         "1's) or when all students sit down. The object of the game is \n" +
                         "to get the highest score possible through the five rounds of \n" +
@@ -212,7 +327,7 @@ public class GameLauncher {
             } else if (ans.equalsIgnoreCase("no")){
                 break;
             } else {
-                System.out.println("Please enter yes or no");
+                out.println("Please enter yes or no");
             }
         }
     }
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+/**
+ * This interface is told about everything that happens in a game session (see GameSession.setListener):
+ * the start of the game and of every round, every sit or stand change, every roll and every score update.
+ * Together these events are enough to play the game again (see JournalReader). Every method does nothing by
+ * default, so a listener only implements the events it needs.
+ *
+ * The methods are called on the thread playing the game, in the order of the events.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public interface GameListener {
+
+    /**
+     * @param session the game that starts, with its players and dice
+     */
+    default void gameStarted(GameSession session) {
+    }
+
+    /**
+     * Told instead of gameStarted when a game restored from a checkpoint goes on (see GameSession.resume).
+     *
+     * @param session the game that goes on, in the state it was restored to
+     */
+    default void gameResumed(GameSession session) {
+    }
+
+    /**
+     * @param round the round that starts, every player standing
+     */
+    default void roundStarted(int round) {
+    }
+
+    /**
+     * @param index the index of the player
+     * @param standing whether the player now stands
+     */
+    default void standingChanged(int index, boolean standing) {
+    }
+
+    /**
+     * @param code the roll, packed as a RollScorer code
+     */
+    default void rolled(int code) {
+    }
+
+    /**
+     * @param index the index of the player
+     * @param score the new total score of the player
+     */
+    default void scoreChanged(int index, int score) {
+    }
+
+    /**
+     * @param turn the number of turns played in the round so far
+     */
+    default void turnEnded(int turn) {
+    }
+
+    /**
+     * @param scores the final scores of the players
+     */
+    default void gameEnded(int[] scores) {
+    }
+}
@@ -0,0 +1,506 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * This class holds everything about one game of skunk: the players, the dice, the random source and the
+ * state of the current round. It also applies the rules of a turn to that state, so the console game
+ * (Rounds) and the headless games (SimulatedGame) play by exactly the same rules. Nothing is static, so
+ * one JVM can host any number of independent games at once, each one on its own thread.
+ * The instance variables are defined as follows:
+ *     round              = the current round, an index of Rounds.ROUNDS.
+ *     turn               = the number of turns already played in the current round.
+ *     scoresCurrentRound = an array that stores the points each player gained in the current round.
+ *     allStanding        = whether every player was standing for the last roll.
+ *     allSitting         = whether every player was sitting for the last roll.
+ *     roundEnded         = whether the current round is over.
+ *     sitPercentage      = the AI sits when a random percentage is not above this value.
+ *     strategy           = how the AI decides to sit or stand, a coin flip with sitPercentage unless set otherwise.
+ *     listener           = told about every event of the game (e.g. a GameJournal recorder), or null.
+ *     out                = where the console game is printed, System.out unless the game is played remotely.
+ *     pacer              = how long the pauses of the console game last, real time unless set otherwise.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public class GameSession {
+    private final Player players;
+    private final Dice dice;
+    private final RandomSource random;
+    private final int[] scoresCurrentRound;
+    private PrintStream out;
+    private Pacer pacer;
+    private SitStrategy strategy;
+    private GameListener listener;
+    private int sitPercentage;
+    private int round, turn;
+    private boolean allStanding, allSitting, roundEnded;
+
+    /**
+     * @param numDice the number of dice, two or three.
+     * @param players the players of the game
+     * @param random the source of the dice rolls and of the AI decisions
+     */
+    public GameSession(int numDice, Player players, RandomSource random) {
+        this(DiceVariant.standard(numDice), players, random);
+    }
+
+    /**
+     * A game with any number of dice of any number of faces, for the headless games (see SimulatedGame).
+     *
+     * @param variant the number of dice, their number of faces and the points of the ones
+     * @param players the players of the game
+     * @param random the source of the dice rolls and of the AI decisions
+     */
+    public GameSession(DiceVariant variant, Player players, RandomSource random) {
+        int numDice = variant.getNumDice();
+        this.players = players;
+        this.random = random;
+        dice = new Dice(variant, random);
+        out = System.out;
+        pacer = new RealTimePacer();
+        strategy = new CoinFlipStrategy();
+        scoresCurrentRound = new int[players.getScores().length];
+        sitPercentage = (numDice == Dice.TWO_DICE) ?
+                Player.TWO_DICE_SIT_PERCENTAGE : Player.THREE_DICE_SIT_PERCENTAGE;
+        startRound(Rounds.STARTING_ROUND);
+    }
+
+    /**
+     * @param numDice the number of dice, two or three.
+     * @param players the players of the game
+     */
+    public GameSession(int numDice, Player players) {
+        this(numDice, players, RandomSource.newSource());
+    }
+
+    /**
+     * @return the players of the game
+     */
+    public Player getPlayers() {
+        return players;
+    }
+
+    /**
+     * @return the dice of the game
+     */
+    public Dice getDice() {
+        return dice;
+    }
+
+    /**
+     * @return the source of the dice rolls and of the AI decisions
+     */
+    public RandomSource getRandom() {
+        return random;
+    }
+
+    /**
+     * @return where the console game is printed
+     */
+    public PrintStream getOut() {
+        return out;
+    }
+
+    /**
+     * @param out where the console game is printed
+     */
+    public void setOut(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * @return how long the pauses of the console game last
+     */
+    public Pacer getPacer() {
+        return pacer;
+    }
+
+    /**
+     * @param pacer how long the pauses of the console game last
+     */
+    public void setPacer(Pacer pacer) {
+        this.pacer = pacer;
+    }
+
+    /**
+     * @return the current round
+     */
+    public int getRound() {
+        return round;
+    }
+
+    /**
+     * @return the number of turns already played in the current round
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * @return the points each player gained in the current round
+     */
+    public int[] getScoresCurrentRound() {
+        return scoresCurrentRound;
+    }
+
+    /**
+     * @return whether every player was standing for the last roll
+     */
+    public boolean isAllStanding() {
+        return allStanding;
+    }
+
+    /**
+     * @return whether every player was sitting for the last roll
+     */
+    public boolean isAllSitting() {
+        return allSitting;
+    }
+
+    /**
+     * @return whether the current round is over
+     */
+    public boolean isRoundEnded() {
+        return roundEnded;
+    }
+
+    /**
+     * @return the AI sits when a random percentage is not above this value
+     */
+    public int getSitPercentage() {
+        return sitPercentage;
+    }
+
+    /**
+     * @param sitPercentage the percentage used by the AI to decide if it sits (between 0 and 99)
+     */
+    public void setSitPercentage(int sitPercentage) {
+        /* an AI that never sits would keep a round where everyone stands going forever */
+        if (sitPercentage < Player.ZERO_SCORE || sitPercentage >= Player.ONE_HUNDRED_PERCENT) {
+            throw new IllegalArgumentException("Sit percentage must be between 0 and 99.");
+        }
+        this.sitPercentage = sitPercentage;
+    }
+
+    /**
+     * @return how the AI decides to sit or stand
+     */
+    public SitStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * @param strategy how the AI decides to sit or stand
+     */
+    public void setStrategy(SitStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * @return the listener told about every event of the game, or null
+     */
+    public GameListener getListener() {
+        return listener;
+    }
+
+    /**
+     * @param listener the listener told about every event of the game, or null
+     */
+    public void setListener(GameListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @return whether no roll has been made yet in the game, the AI does not decide before the first roll.
+     */
+    public boolean isFirstTurnOfGame() {
+        return turn == Rounds.STARTING_TURN && round == Rounds.STARTING_ROUND;
+    }
+
+    /**
+     * Starts a new game with the current scores (see resetScores), and tells the listener.
+     */
+    public void startGame() {
+        if (listener != null) {
+            listener.gameStarted(this);
+        }
+    }
+
+    /**
+     * Goes on with a game restored from a checkpoint (see resume), and tells the listener.
+     */
+    public void resumeGame() {
+        if (listener != null) {
+            listener.gameResumed(this);
+        }
+    }
+
+    /**
+     * Ends the game, and tells the listener the final scores.
+     */
+    public void endGame() {
+        if (listener != null) {
+            listener.gameEnded(players.getScores());
+        }
+    }
+
+    /**
+     * Initializes the variables for a new round: everyone stands and nobody has points in the round yet.
+     *
+     * @param round the round that starts
+     */
+    public void startRound(int round) {
+        this.round = round;
+        turn = Rounds.STARTING_TURN;
+        Arrays.fill(scoresCurrentRound, Player.ZERO_SCORE);
+        players.resetAllStanding();
+        roundEnded = false;
+        allStanding = true;
+        allSitting = true;
+        if (listener != null) {
+            listener.roundStarted(round);
+        }
+    }
+
+    /**
+     * Moves on to the next turn of the round.
+     */
+    public void endTurn() {
+        turn++;
+        if (listener != null) {
+            listener.turnEnded(turn);
+        }
+    }
+
+    /**
+     * Records the decision of a player to sit or stand, and tells the listener when it changed.
+     *
+     * @param index the index of the player
+     * @param standing whether the player stands
+     */
+    public void setStanding(int index, boolean standing) {
+        if (listener != null && players.isStanding(index) != standing) {
+            listener.standingChanged(index, standing);
+        }
+        players.setStandingForIndex(index, standing);
+    }
+
+    /**
+     * Applies a roll of the dice to the scores (see updatePoints), and tells the listener about the roll.
+     *
+     * @param code the roll, packed as a RollScorer code
+     */
+    public void applyRoll(int code) {
+        if (listener != null) {
+            listener.rolled(code);
+        }
+        updatePoints(RollScorer.scoreCode(dice.getNumOfDice(), code));
+    }
+
+    /**
+     * Applies a roll of the dice of any variant to the scores (see updatePoints). The listener is not told
+     * about the roll itself, only the standard dice can be journaled (see applyRoll).
+     *
+     * @param roll the roll, packed as face counts (see DiceVariant)
+     */
+    public void applyPackedRoll(long roll) {
+        updatePoints(dice.getVariant().score(roll));
+    }
+
+    /**
+     * Copies the full state of the game, so it can be saved while the game goes on (see CheckpointWriter).
+     *
+     * @return an immutable copy of the state of the game
+     */
+    public GameCheckpoint checkpoint() {
+        if (!dice.getVariant().isStandard()) {
+            throw new IllegalStateException("Only the games with the standard dice can be checkpointed.");
+        }
+        int flags = (allStanding ? GameCheckpoint.ALL_STANDING : Player.ZERO_SCORE)
+                | (allSitting ? GameCheckpoint.ALL_SITTING : Player.ZERO_SCORE)
+                | (roundEnded ? GameCheckpoint.ROUND_ENDED : Player.ZERO_SCORE)
+                | (strategy instanceof PolicyTableStrategy ? GameCheckpoint.POLICY_AI : Player.ZERO_SCORE);
+        boolean[] standing = new boolean[scoresCurrentRound.length];
+        for (int index = Player.STARTING_INDEX; index < standing.length; index++) {
+            standing[index] = players.isStanding(index);
+        }
+        return new GameCheckpoint(dice.getNumOfDice(), players.getHumanNames().clone(), players.getNumAI(),
+                sitPercentage, round, turn, flags, random.getState(), dice.getBufferedFaces(),
+                players.getScores().clone(), scoresCurrentRound.clone(), standing);
+    }
+
+    /**
+     * Puts the game back in the state of a checkpoint, random source included, so it goes on exactly as it
+     * would have from there. The listener is not told.
+     *
+     * @param checkpoint a checkpoint of a game with the same players and dice
+     */
+    public void restore(GameCheckpoint checkpoint) {
+        if (checkpoint.getNumDice() != dice.getNumOfDice() || checkpoint.getNumPlayers() != scoresCurrentRound.length
+                || checkpoint.getNumAI() != players.getNumAI()) {
+            throw new IllegalArgumentException("The checkpoint is of a game with other players or dice.");
+        }
+        random.setState(checkpoint.getRandomState());
+        dice.setBufferedFaces(checkpoint.getBufferedFaces());
+        sitPercentage = checkpoint.getSitPercentage();
+        round = checkpoint.getRound();
+        turn = checkpoint.getTurn();
+        allStanding = checkpoint.hasFlag(GameCheckpoint.ALL_STANDING);
+        allSitting = checkpoint.hasFlag(GameCheckpoint.ALL_SITTING);
+        roundEnded = checkpoint.hasFlag(GameCheckpoint.ROUND_ENDED);
+        if (checkpoint.hasFlag(GameCheckpoint.POLICY_AI)) {
+            strategy = PolicyTableStrategy.forDice(dice.getNumOfDice());
+        }
+        for (int index = Player.STARTING_INDEX; index < scoresCurrentRound.length; index++) {
+            players.setPointsForIndex(index, checkpoint.getScore(index));
+            players.setStandingForIndex(index, checkpoint.isStanding(index));
+            scoresCurrentRound[index] = checkpoint.getRoundScore(index);
+        }
+    }
+
+    /**
+     * @param checkpoint a checkpoint of a game played with the default random source (see RandomSource.newSource)
+     * @return a new game, with the players of the checkpoint, in the state of the checkpoint
+     */
+    public static GameSession resume(GameCheckpoint checkpoint) {
+        Player players = new Player(checkpoint.getHumanNames(), checkpoint.getNumAI());
+        GameSession session = new GameSession(checkpoint.getNumDice(), players,
+                new XoshiroRandomSource(Player.ZERO_SCORE));
+        session.restore(checkpoint);
+        return session;
+    }
+
+    /**
+     * Resets the scores of all the players for a new game.
+     */
+    public void resetScores() {
+        players.resetScores();
+        startRound(Rounds.STARTING_ROUND);
+    }
+
+    /**
+     * decides whether the computer sits or stand based on the strategy of the AI
+     */
+    void AISitDecision() {
+        for (int index = players.nextStanding(players.getNumHuman()); index != Player.NO_PLAYER;
+             index = players.nextStanding(index + Player.ONE_INCREMENT)) {
+            setStanding(index, strategy.keepStanding(this, index));
+        }
+    }
+
+    /**
+     * updates if all players are standing (allStanding = True) and if all players are sitting (allSitting = True).
+     * Player counts the standing players on every change, so this does not depend on the number of players.
+     */
+    void updateAllSitAndStand() {
+        int numStanding = players.getNumStanding();
+        allStanding = numStanding == players.getNumPlayers();
+        allSitting = numStanding == Player.ZERO_SCORE;
+    }
+
+    /**
+     * update points for standing players when a positive point (input) is rolled. Adds
+     * the points gained to all score record keepers. Used as a helper function for updatePoints
+     *
+     * When everyone stands and neither a listener nor a leaderboard has to be told, both arrays are updated
+     * by plain loops with no branch, which the JIT compiles to SIMD additions. Otherwise only the standing
+     * players are visited.
+     *
+     * @param points must be positive
+     */
+    void gainedInCurRound(int points) {
+        int[] scores = players.getScores();
+        if (listener == null && !players.hasLeaderboard() && players.getNumStanding() == scores.length) {
+            for (int index = Player.STARTING_INDEX; index < scores.length; index++) {
+                scoresCurrentRound[index] += points;
+            }
+            for (int index = Player.STARTING_INDEX; index < scores.length; index++) {
+                scores[index] += points;
+            }
+            return;
+        }
+        long[] words = players.getStandingWords();
+        for (int word = Player.STARTING_INDEX; word < words.length; word++) {
+            for (long bits = words[word]; bits != Player.ZERO_SCORE; bits &= bits - Player.ONE_BIT) {
+                int index = (word << Player.WORD_SHIFT) + Long.numberOfTrailingZeros(bits);
+                scoresCurrentRound[index] += points;
+                setPoints(index, scores[index] + points);
+            }
+        }
+    }
+
+    /**
+     * update points for standing players when -1 (one one) is rolled. Used as a helper function
+     * for updatePoints method.
+     */
+    void lostInCurRound(){
+        int[] scores = players.getScores();
+        long[] words = players.getStandingWords();
+        for (int word = Player.STARTING_INDEX; word < words.length; word++) {
+            for (long bits = words[word]; bits != Player.ZERO_SCORE; bits &= bits - Player.ONE_BIT) {
+                int index = (word << Player.WORD_SHIFT) + Long.numberOfTrailingZeros(bits);
+                setPoints(index, scores[index] - scoresCurrentRound[index]);
+                scoresCurrentRound[index] = Player.ZERO_SCORE;
+            }
+        }
+    }
+
+    /**
+     * updates points for standing players when 0 (two ones) is rolled. Used as a helper function
+     * for updatePoints method.
+     */
+    void loseAllPoints() {
+        long[] words = players.getStandingWords();
+        for (int word = Player.STARTING_INDEX; word < words.length; word++) {
+            for (long bits = words[word]; bits != Player.ZERO_SCORE; bits &= bits - Player.ONE_BIT) {
+                int index = (word << Player.WORD_SHIFT) + Long.numberOfTrailingZeros(bits);
+                setPoints(index, Player.ZERO_SCORE);
+                scoresCurrentRound[index] = Player.ZERO_SCORE;
+            }
+        }
+    }
+
+    /**
+     * Sets the total score of a player, and tells the listener.
+     *
+     * @param index the index of the player
+     * @param score the new total score
+     */
+    private void setPoints(int index, int score) {
+        players.setPointsForIndex(index, score);
+        if (listener != null) {
+            listener.scoreChanged(index, score);
+        }
+    }
+
+    /**
+     * updates the scores for all players given the current roll of the dice. The scores are updated
+     * also depending on the allSitting or allStanding variables. Here we also set the roundEnded
+     * depending on the points and allSitting variable.
+     *
+     * @param points the translated points from a roll of dice
+     */
+    void updatePoints(int points) {
+        if (points < Rounds.DICE_ROLLS_ONE1) {
+            throw new IllegalArgumentException("Error points cannot be lower than -1");
+        }
+
+        if (points == Rounds.DICE_ROLLS_TWO1 && !allStanding) {
+            loseAllPoints();
+            roundEnded = true;
+        } else if (points == Rounds.DICE_ROLLS_ONE1 && !allStanding) {
+            lostInCurRound();
+            roundEnded = true;
+        } else if (allSitting) {
+            roundEnded = true;
+        } else if (points > Rounds.DICE_ROLLS_TWO1) {
+            gainedInCurRound(points);
+        }
+    }
+}
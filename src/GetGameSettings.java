@@ -4,6 +4,8 @@
  */
 
 import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
 
 /**
  * This class requires a BufferedReader as input for all of its functions.
@@ -14,37 +16,54 @@ import java.io.BufferedReader;
  */
 public class GetGameSettings {
 
+    private final PrintStream out;
     private int numberOfDie;
     private int numberOfHumanPlayers;
     private int numberOfAIPlayers;
+    private boolean policyAI;
 
     /* Symbolic constants used to get rid of magic numbers */
-    public static final boolean HUMAN         = true;
-    public static final String REG_EX_INTEGER = "^[0-9]+$|^-[0-9]+$";
-    public static final int MIN_NUM_PLAYERS   = 0;
+    public static final boolean HUMAN       = true;
+    public static final int MIN_NUM_PLAYERS = 0;
 
     /**
      * @param bf prompts the user for input.
+     * @throws IOException if something goes wrong with the bufferedReader
      */
-    public GetGameSettings(BufferedReader bf) {
-        System.out.printf("\n\nEnter the game settings you want to play with:\n\n");
+    public GetGameSettings(BufferedReader bf) throws IOException {
+        this(bf, System.out);
+    }
+
+    /**
+     * @param bf prompts the user for input.
+     * @param out where the user is prompted
+     * @throws IOException if something goes wrong with the bufferedReader
+     */
+    public GetGameSettings(BufferedReader bf, PrintStream out) throws IOException {
+        this.out = out;
+        out.printf("\n\nEnter the game settings you want to play with:\n\n");
         inputNumberOfDie(bf);
         inputPlayerInfo(bf, HUMAN);
         inputPlayerInfo(bf, !HUMAN);
+        if (numberOfAIPlayers > MIN_NUM_PLAYERS) {
+            inputPolicyAI(bf);
+        }
     }
 
     /**
      * Prompts the user to enter the number of Die in the game
      *
      * @param bf to read user inputs
+     * @throws IOException if something goes wrong with the bufferedReader
      */
-    private void inputNumberOfDie(BufferedReader bf) {
+    private void inputNumberOfDie(BufferedReader bf) throws IOException {
         while(numberOfDie != Dice.TWO_DICE && numberOfDie != Dice.THREE_DICE) {
-            System.out.printf("Select number of dice (2 or 3): ");
-            try {
-                numberOfDie = Integer.parseInt(bf.readLine());
-            } catch (Exception e) {
-                System.out.println("Not a 2 or 3, please re-enter.");
+            out.printf("Select number of dice (2 or 3): ");
+            long dice = ConsoleHelper.parseInt(ConsoleHelper.readLine(bf));
+            if (dice == ConsoleHelper.NOT_AN_INTEGER) {
+                out.println("Not a 2 or 3, please re-enter.");
+            } else {
+                numberOfDie = (int) dice;
             }
         }
     }
@@ -54,33 +73,49 @@ public class GetGameSettings {
      *
      * @param bf to read user inputs
      * @param human whether this is for human player or not
+     * @throws IOException if something goes wrong with the bufferedReader
      */
-    private void inputPlayerInfo(BufferedReader bf, boolean human) {
+    private void inputPlayerInfo(BufferedReader bf, boolean human) throws IOException {
         while(true) {
-            System.out.printf("Enter the number of %s players: ", human ? "human" : "AI");
-            try {
-                String players = bf.readLine();
-                if (!players.matches(REG_EX_INTEGER)){
-                    throw new IllegalArgumentException("Please enter an integer");
-                }
-                int numPlayers = Integer.parseInt(players);
-                if (numPlayers < MIN_NUM_PLAYERS) {
-                    throw new IllegalArgumentException("Not a non-negative integer, please re-enter.");
-                } else if (human) {
-                    numberOfHumanPlayers = numPlayers;
-                } else if (!human && numPlayers == MIN_NUM_PLAYERS && numberOfHumanPlayers == MIN_NUM_PLAYERS) {
-                    // Total number of players cannot be 0
-                    throw new IllegalArgumentException("There must be at least ONE player.");
+            out.printf("Enter the number of %s players: ", human ? "human" : "AI");
+            long numPlayers = ConsoleHelper.parseInt(ConsoleHelper.readLine(bf));
+            if (numPlayers == ConsoleHelper.NOT_AN_INTEGER) {
+                out.println("Please enter an integer");
+            } else if (numPlayers < MIN_NUM_PLAYERS) {
+                out.println("Not a non-negative integer, please re-enter.");
+            } else if (!human && numPlayers == MIN_NUM_PLAYERS && numberOfHumanPlayers == MIN_NUM_PLAYERS) {
+                // Total number of players cannot be 0
+                out.println("There must be at least ONE player.");
+            } else {
+                if (human) {
+                    numberOfHumanPlayers = (int) numPlayers;
                 } else {
-                    numberOfAIPlayers = numPlayers;
+                    numberOfAIPlayers = (int) numPlayers;
                 }
-                break;
-            } catch (Exception e) {
-                System.out.println(e.getMessage());
+                return;
             }
         }
     }
 
+    /**
+     * Prompts the user to choose between the random AI and the AI that plays the expected-score policy (see
+     * PolicySolver)
+     *
+     * @param bf to read user inputs
+     * @throws IOException if something goes wrong with the bufferedReader
+     */
+    private void inputPolicyAI(BufferedReader bf) throws IOException {
+        while (true) {
+            out.printf("Should the AI players play the expected-score policy (yes or no)? ");
+            int ans = ConsoleHelper.yesOrNo(ConsoleHelper.readLine(bf));
+            if (ans != ConsoleHelper.NOT_YES_OR_NO) {
+                policyAI = ans == ConsoleHelper.ANSWER_YES;
+                return;
+            }
+            out.println("Please enter yes or no.");
+        }
+    }
+
     /**
      * @return the number of die used.
      */
@@ -101,4 +136,11 @@ public class GetGameSettings {
     public int getNumberOfAIPlayers() {
         return numberOfAIPlayers;
     }
+
+    /**
+     * @return whether the AI players play the expected-score policy instead of sitting at random
+     */
+    public boolean isPolicyAI() {
+        return policyAI;
+    }
 }
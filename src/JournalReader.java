@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ ***********************************************************
+ * RUN THIS FILE TO REPLAY THE GAMES OF A JOURNAL
+ ***********************************************************
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class maps a journal written by GameJournal into memory and plays its games again, one block at a
+ * time. A game is replayed on a fresh GameSession with the recorded players: every round is started, every
+ * sit or stand decision and every roll is applied exactly as recorded, with no printing, pacing or random
+ * numbers, and the scores of the session are checked against the recorded scores after every turn. So a
+ * replay both reads the history of a game and proves the rules still give the same scores.
+ *
+ * Usage: java JournalReader [journal file, the system property skunk.journal by default]
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public final class JournalReader {
+    private final Path file;
+    private final MappedByteBuffer mapped;
+    private int gamesRead;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final int FILE_ARG              = 0;
+    public static final double NANOS_PER_SECOND   = 1e9;
+    public static final String DEFAULT_JOURNAL    = "skunk.journal";
+
+    /**
+     * Maps a journal file into memory. The mapping stays valid after the file is closed.
+     *
+     * @param file the journal file
+     * @throws IOException if the file cannot be read or is not a journal
+     */
+    public JournalReader(Path file) throws IOException {
+        this.file = file;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(file + " is too big to be mapped at once.");
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, Player.STARTING_INDEX, channel.size());
+        }
+        mapped.order(ByteOrder.BIG_ENDIAN);
+        if (mapped.remaining() < GameJournal.HEADER_BYTES || mapped.getInt() != GameJournal.MAGIC) {
+            throw new IOException(file + " is not a journal.");
+        }
+        int version = mapped.getInt();
+        if (version < GameJournal.FIRST_FORMAT_VERSION || version > GameJournal.FORMAT_VERSION) {
+            throw new IOException(file + " has version " + version + " instead of " + GameJournal.FORMAT_VERSION);
+        }
+    }
+
+    /**
+     * @return whether there are games left to replay
+     */
+    public boolean hasNextGame() {
+        return mapped.hasRemaining();
+    }
+
+    /**
+     * @return the number of bytes of the journal
+     */
+    public int size() {
+        return mapped.capacity();
+    }
+
+    /**
+     * Replays the next game of the journal. The reader moves on to the following game even when this one
+     * does not replay.
+     *
+     * @return the session at the end of the game, with the final scores
+     * @throws IOException if the game is cut short, corrupted, or does not give the recorded scores
+     */
+    public GameSession nextGame() throws IOException {
+        int length = getVarint(mapped);
+        if (length > mapped.remaining()) {
+            mapped.position(mapped.limit());
+            throw new IOException(file + " ends in the middle of game " + gamesRead);
+        }
+        ByteBuffer block = mapped.slice(mapped.position(), length);
+        mapped.position(mapped.position() + length);
+        try {
+            return replay(block);
+        } catch (RuntimeException e) {
+            throw new IOException("Game " + gamesRead + " of " + file + " is corrupted: " + e, e);
+        } finally {
+            gamesRead++;
+        }
+    }
+
+    /**
+     * @param block the records of one game
+     * @return the session at the end of the game
+     * @throws IOException if the scores of the session differ from the recorded scores
+     */
+    private GameSession replay(ByteBuffer block) throws IOException {
+        if (block.get() != GameJournal.GAME_START) {
+            throw new IOException("Game " + gamesRead + " of " + file + " does not start with GAME_START.");
+        }
+        int numDice = getVarint(block), numHuman = getVarint(block), numAI = getVarint(block);
+        String[] humanNames = new String[numHuman];
+        for (int i = Player.STARTING_INDEX; i < numHuman; i++) {
+            byte[] bytes = new byte[getVarint(block)];
+            block.get(bytes);
+            humanNames[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        GameSession session = new GameSession(numDice, new Player(humanNames, numAI), RandomSource.newSource());
+        int[] scores = session.getPlayers().getScores();
+        int[] recorded = new int[scores.length];
+
+        int lastIndex = Player.STARTING_INDEX;
+        while (true) {
+            byte tag = block.get();
+            switch (tag) {
+                case GameJournal.ROUND_START:
+                    session.startRound(getVarint(block));
+                    break;
+                case GameJournal.RESUME:
+                    int checkpointBytes = getVarint(block);
+                    GameCheckpoint checkpoint = GameCheckpoint.decode(block.slice(block.position(), checkpointBytes));
+                    block.position(block.position() + checkpointBytes);
+                    session.restore(checkpoint);
+                    for (int index = Player.STARTING_INDEX; index < recorded.length; index++) {
+                        recorded[index] = checkpoint.getScore(index);
+                    }
+                    break;
+                case GameJournal.STANDING:
+                    int decision = getVarint(block);
+                    lastIndex += unzigzag(decision >>> Player.ONE_INCREMENT);
+                    session.setStanding(lastIndex, (decision & GameJournal.STANDING_BIT) != Player.ZERO_SCORE);
+                    break;
+                case GameJournal.ROLL:
+                    session.updateAllSitAndStand();
+                    session.applyRoll(getVarint(block));
+                    break;
+                case GameJournal.SCORE:
+                    lastIndex += unzigzag(getVarint(block));
+                    recorded[lastIndex] += unzigzag(getVarint(block));
+                    break;
+                case GameJournal.TURN_END:
+                    session.endTurn();
+                    checkScores(scores, recorded);
+                    break;
+                case GameJournal.GAME_END:
+                    checkScores(scores, recorded);
+                    return session;
+                default:
+                    throw new IOException("Game " + gamesRead + " of " + file + " has an unknown record " + tag);
+            }
+            if (tag != GameJournal.STANDING && tag != GameJournal.SCORE) {
+                lastIndex = Player.STARTING_INDEX;
+            }
+        }
+    }
+
+    /**
+     * @param scores the scores of the replayed session
+     * @param recorded the scores recorded in the journal
+     * @throws IOException if they differ
+     */
+    private void checkScores(int[] scores, int[] recorded) throws IOException {
+        for (int index = Player.STARTING_INDEX; index < scores.length; index++) {
+            if (scores[index] != recorded[index]) {
+                throw new IOException("Game " + gamesRead + " of " + file + " does not replay: player " + index
+                        + " scores " + scores[index] + " instead of " + recorded[index]);
+            }
+        }
+    }
+
+    /**
+     * @param buffer where the varint is read
+     * @return the non-negative number written in 7 bits per byte
+     */
+    static int getVarint(ByteBuffer buffer) {
+        int value = Player.ZERO_SCORE;
+        for (int shift = Player.ZERO_SCORE; ; shift += GameJournal.VARINT_BITS) {
+            byte b = buffer.get();
+            value |= (b & GameJournal.VARINT_PAYLOAD) << shift;
+            if ((b & GameJournal.VARINT_MORE) == Player.ZERO_SCORE) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * @param value a number written by JournalRecorder.zigzag
+     * @return the number with its sign back
+     */
+    static int unzigzag(int value) {
+        return (value >>> Player.ONE_INCREMENT) ^ -(value & Player.ONE_INCREMENT);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get((args.length > FILE_ARG) ? args[FILE_ARG]
+                : System.getProperty(GameJournal.JOURNAL_PROPERTY, DEFAULT_JOURNAL));
+        long start = System.nanoTime();
+        JournalReader reader = new JournalReader(file);
+        int games = Player.ZERO_SCORE, failed = Player.ZERO_SCORE;
+        while (reader.hasNextGame()) {
+            try {
+                reader.nextGame();
+            } catch (IOException e) {
+                System.out.println(e.getMessage());
+                failed++;
+            }
+            games++;
+        }
+        double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+        System.out.printf("Replayed %d games from %d bytes (%.1f bytes per game) in %.3f s, %.0f games per second\n",
+                games, reader.size(), (double) reader.size() / Math.max(games, Player.ONE_INCREMENT), seconds,
+                games / seconds);
+        System.out.printf("%d games did not replay.\n", failed);
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * This class records the events of one game session into a block of the format of GameJournal, and appends
+ * the block to the journal when the game ends. The block is built in a byte array kept from one game to the
+ * next, so recording a game does not allocate once the array is big enough, and a game in progress never
+ * holds the lock of the journal.
+ *
+ * A game resumed from a checkpoint is recorded from gameResumed, with its checkpoint right after its start,
+ * so it is journaled like any other game. Events before gameStarted or gameResumed and after gameEnded
+ * (e.g. the round that resetScores starts) are not recorded.
+ * A recorder must only be used by the thread playing its game.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public class JournalRecorder implements GameListener {
+    private final GameJournal journal;
+    private byte[] block;
+    private int length;
+    private int[] lastScores;
+    private int lastIndex;
+    private boolean recording;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final int INITIAL_BLOCK_BYTES = 1024;
+    public static final int GROWTH_FACTOR       = 2;
+
+    /**
+     * @param journal the journal the games are appended to
+     */
+    JournalRecorder(GameJournal journal) {
+        this.journal = journal;
+        block = new byte[INITIAL_BLOCK_BYTES];
+        lastScores = new int[Player.ZERO_SCORE];
+    }
+
+    @Override
+    public void gameStarted(GameSession session) {
+        Player players = session.getPlayers();
+        String[] humanNames = players.getHumanNames();
+        length = Player.ZERO_SCORE;
+        recording = true;
+
+        putTag(GameJournal.GAME_START);
+        putVarint(session.getDice().getNumOfDice());
+        putVarint(players.getNumHuman());
+        putVarint(players.getNumAI());
+        for (String name : humanNames) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            putVarint(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, Player.STARTING_INDEX, block, length, bytes.length);
+            length += bytes.length;
+        }
+
+        int[] scores = players.getScores();
+        if (lastScores.length != scores.length) {
+            lastScores = new int[scores.length];
+        }
+        System.arraycopy(scores, Player.STARTING_INDEX, lastScores, Player.STARTING_INDEX, scores.length);
+    }
+
+    @Override
+    public void gameResumed(GameSession session) {
+        gameStarted(session);
+        ByteBuffer checkpoint = session.checkpoint().encode();
+        putTag(GameJournal.RESUME);
+        putVarint(checkpoint.remaining());
+        ensureCapacity(checkpoint.remaining());
+        System.arraycopy(checkpoint.array(), Player.STARTING_INDEX, block, length, checkpoint.remaining());
+        length += checkpoint.remaining();
+    }
+
+    @Override
+    public void roundStarted(int round) {
+        if (recording) {
+            putTag(GameJournal.ROUND_START);
+            putVarint(round);
+        }
+    }
+
+    @Override
+    public void standingChanged(int index, boolean standing) {
+        if (recording) {
+            putTag(GameJournal.STANDING);
+            int bit = standing ? GameJournal.STANDING_BIT : Player.ZERO_SCORE;
+            putVarint((zigzag(index - lastIndex) << Player.ONE_INCREMENT) | bit);
+            lastIndex = index;
+        }
+    }
+
+    @Override
+    public void rolled(int code) {
+        if (recording) {
+            putTag(GameJournal.ROLL);
+            putVarint(code);
+        }
+    }
+
+    @Override
+    public void scoreChanged(int index, int score) {
+        if (recording) {
+            putTag(GameJournal.SCORE);
+            putVarint(zigzag(index - lastIndex));
+            putVarint(zigzag(score - lastScores[index]));
+            lastScores[index] = score;
+            lastIndex = index;
+        }
+    }
+
+    @Override
+    public void turnEnded(int turn) {
+        if (recording) {
+            putTag(GameJournal.TURN_END);
+        }
+    }
+
+    @Override
+    public void gameEnded(int[] scores) {
+        if (!recording) {
+            return;
+        }
+        putTag(GameJournal.GAME_END);
+        recording = false;
+        try {
+            journal.append(block, length);
+        } catch (IOException e) {
+            System.err.println("Could not write the game to the journal: " + e);
+        }
+    }
+
+    /**
+     * Writes the tag of a record. Every tag but STANDING and SCORE starts counting the indexes of the players
+     * from zero again.
+     *
+     * @param tag the tag of the record
+     */
+    private void putTag(byte tag) {
+        ensureCapacity(Player.ONE_INCREMENT);
+        block[length++] = tag;
+        if (tag != GameJournal.STANDING && tag != GameJournal.SCORE) {
+            lastIndex = Player.STARTING_INDEX;
+        }
+    }
+
+    /**
+     * @param value a non-negative number, written in 7 bits per byte
+     */
+    private void putVarint(int value) {
+        ensureCapacity(GameJournal.MAX_VARINT_BYTES);
+        while ((value & ~GameJournal.VARINT_PAYLOAD) != Player.ZERO_SCORE) {
+            block[length++] = (byte) ((value & GameJournal.VARINT_PAYLOAD) | GameJournal.VARINT_MORE);
+            value >>>= GameJournal.VARINT_BITS;
+        }
+        block[length++] = (byte) value;
+    }
+
+    /**
+     * @param value any number
+     * @return the number with its sign in the lowest bit, so small negative numbers stay small
+     */
+    static int zigzag(int value) {
+        return (value << Player.ONE_INCREMENT) ^ (value >> (Integer.SIZE - Player.ONE_INCREMENT));
+    }
+
+    /**
+     * @param bytes the number of bytes about to be written
+     */
+    private void ensureCapacity(int bytes) {
+        if (length + bytes > block.length) {
+            block = Arrays.copyOf(block, Math.max(block.length * GROWTH_FACTOR, length + bytes));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class counts latencies in nanoseconds in log-linear buckets, like HdrHistogram: the values below
+ * 2 * SUB_BUCKETS have a bucket each, and every power of two above is split into SUB_BUCKETS buckets, so a
+ * percentile is within 1 / SUB_BUCKETS (about 3%) of the exact value. The bucket of a value is found with a
+ * leading zero count and two shifts, and the buckets are a fixed array, so recording never allocates.
+ * Values of MAX_VALUE_BITS bits or more (about 18 minutes) are counted in the last bucket.
+ *
+ * A histogram is written by one thread (see TurnMetrics.Recorder) and can be read by any other at the same
+ * time: the writer stores every count with lazySet, without any lock or compare and swap, and a reader sees
+ * each count either before or after a record. Histograms are merged by adding their counts (see add).
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public final class LatencyHistogram {
+    private final AtomicLongArray counts;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final int SUB_BUCKET_BITS = 5;
+    public static final int SUB_BUCKETS     = 1 << SUB_BUCKET_BITS;
+    public static final int MAX_VALUE_BITS  = 40;
+    public static final long MAX_VALUE      = (1L << MAX_VALUE_BITS) - 1;
+    public static final int NUM_BUCKETS     = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    /* the two slots after the buckets */
+    public static final int COUNT_SLOT = NUM_BUCKETS;
+    public static final int SUM_SLOT   = NUM_BUCKETS + 1;
+    public static final int NUM_SLOTS  = NUM_BUCKETS + 2;
+
+    public static final double MAX_PERCENTILE = 100.0;
+
+    public LatencyHistogram() {
+        counts = new AtomicLongArray(NUM_SLOTS);
+    }
+
+    /**
+     * Counts one value. Only one thread may record into a histogram.
+     *
+     * @param nanos a latency in nanoseconds, clamped to between 0 and MAX_VALUE
+     */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, Player.ZERO_SCORE), MAX_VALUE);
+        int bucket = bucketOf(value);
+        counts.lazySet(bucket, counts.get(bucket) + Player.ONE_INCREMENT);
+        counts.lazySet(COUNT_SLOT, counts.get(COUNT_SLOT) + Player.ONE_INCREMENT);
+        counts.lazySet(SUM_SLOT, counts.get(SUM_SLOT) + value);
+    }
+
+    /**
+     * @param value a value between 0 and MAX_VALUE
+     * @return the index of its bucket
+     */
+    static int bucketOf(long value) {
+        int shift = Math.max(Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS - Player.ONE_INCREMENT,
+                Player.ZERO_SCORE);
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    /**
+     * @param bucket the index of a bucket
+     * @return the lowest value counted in the bucket
+     */
+    static long lowestValue(int bucket) {
+        int shift = Math.max((bucket >> SUB_BUCKET_BITS) - Player.ONE_INCREMENT, Player.ZERO_SCORE);
+        return (long) (bucket - (shift << SUB_BUCKET_BITS)) << shift;
+    }
+
+    /**
+     * @param bucket the index of a bucket
+     * @return the highest value counted in the bucket
+     */
+    static long highestValue(int bucket) {
+        int shift = Math.max((bucket >> SUB_BUCKET_BITS) - Player.ONE_INCREMENT, Player.ZERO_SCORE);
+        return lowestValue(bucket) + (1L << shift) - Player.ONE_INCREMENT;
+    }
+
+    /**
+     * Merges other into this histogram. This histogram must not be recorded into at the same time.
+     *
+     * @param other a histogram, possibly being recorded into
+     * @return this histogram
+     */
+    public LatencyHistogram add(LatencyHistogram other) {
+        for (int slot = Player.STARTING_INDEX; slot < NUM_SLOTS; slot++) {
+            long count = other.counts.get(slot);
+            if (count != Player.ZERO_SCORE) {
+                counts.lazySet(slot, counts.get(slot) + count);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Sets every count back to zero. Must not be recorded into at the same time.
+     */
+    public void reset() {
+        for (int slot = Player.STARTING_INDEX; slot < NUM_SLOTS; slot++) {
+            counts.lazySet(slot, Player.ZERO_SCORE);
+        }
+    }
+
+    /**
+     * @return the number of values recorded
+     */
+    public long getCount() {
+        return counts.get(COUNT_SLOT);
+    }
+
+    /**
+     * @return the average of the values recorded, 0 if there is none
+     */
+    public double getMean() {
+        long count = getCount();
+        return (count == Player.ZERO_SCORE) ? Player.ZERO_SCORE : (double) counts.get(SUM_SLOT) / count;
+    }
+
+    /**
+     * @param percentile a percentile between 0 and 100
+     * @return the highest value of the bucket holding the percentile, 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        long count = getCount();
+        if (count == Player.ZERO_SCORE) {
+            return Player.ZERO_SCORE;
+        }
+        long rank = Math.max((long) Math.ceil(Math.min(percentile, MAX_PERCENTILE) / MAX_PERCENTILE * count),
+                Player.ONE_INCREMENT);
+        long seen = Player.ZERO_SCORE;
+        for (int bucket = Player.STARTING_INDEX; bucket < NUM_BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return highestValue(bucket);
+            }
+        }
+        return MAX_VALUE;
+    }
+
+    /**
+     * @return the highest value of the highest bucket with a count, 0 if nothing was recorded
+     */
+    public long getMax() {
+        for (int bucket = NUM_BUCKETS - Player.ONE_INCREMENT; bucket >= Player.STARTING_INDEX; bucket--) {
+            if (counts.get(bucket) != Player.ZERO_SCORE) {
+                return highestValue(bucket);
+            }
+        }
+        return Player.ZERO_SCORE;
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+import java.util.Arrays;
+
+/**
+ * This class keeps the players of a game ranked by total score as the scores change (see
+ * Player.getLeaderboard), so the winners, the top of the table and the rank of any player are known without
+ * going through every player again.
+ *
+ * Scores are small non-negative integers, so the players are bucketed by score:
+ *     count = the number of players with each score.
+ *     tree  = a Fenwick tree over count, giving the number of players up to any score in O(log maxScore).
+ *     first = the first player of each score, the players of a score being linked through next and prev.
+ * Every bucket is a tie group. Moving a player to a new score is O(log maxScore), a rank or the score at a
+ * rank is O(log maxScore), and the top K players cost O(K log maxScore) whatever the number of players.
+ * Everything is kept in int arrays, nothing is boxed. The buckets grow when a score outgrows them.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public final class Leaderboard {
+    private final int[] scores;
+    private final int[] next;
+    private final int[] prev;
+    private int[] first;
+    private int[] count;
+    private int[] tree;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final int INITIAL_SCORES = 256;
+    public static final int GROWTH_FACTOR  = 2;
+    public static final int NO_SCORE       = -1;
+
+    /**
+     * @param scores the total scores of the players, all of them non-negative
+     */
+    Leaderboard(int[] scores) {
+        this.scores = scores.clone();
+        next = new int[scores.length];
+        prev = new int[scores.length];
+        int capacity = INITIAL_SCORES;
+        for (int score : scores) {
+            while (score >= capacity) {
+                capacity *= GROWTH_FACTOR;
+            }
+        }
+        first = new int[capacity];
+        count = new int[capacity];
+        Arrays.fill(first, Player.NO_PLAYER);
+        for (int index = scores.length - Player.ONE_INCREMENT; index >= Player.STARTING_INDEX; index--) {
+            link(index, scores[index]);
+            count[scores[index]]++;
+        }
+        rebuildTree();
+    }
+
+    /**
+     * @return the number of players
+     */
+    public int size() {
+        return scores.length;
+    }
+
+    /**
+     * Moves a player to a new score. Called by Player on every change of a score.
+     *
+     * @param index the index of the player
+     * @param score the new total score of the player, non-negative
+     */
+    void update(int index, int score) {
+        int old = scores[index];
+        if (old == score) {
+            return;
+        }
+        if (score < Player.ZERO_SCORE) {
+            throw new IllegalArgumentException("Scores cannot be negative.");
+        }
+        if (score >= first.length) {
+            grow(score);
+        }
+        unlink(index, old);
+        add(old, -Player.ONE_INCREMENT);
+        link(index, score);
+        add(score, Player.ONE_INCREMENT);
+        scores[index] = score;
+    }
+
+    /**
+     * Puts every player back to a score of zero, for a new game.
+     */
+    void reset() {
+        Arrays.fill(scores, Player.ZERO_SCORE);
+        Arrays.fill(first, Player.NO_PLAYER);
+        Arrays.fill(count, Player.ZERO_SCORE);
+        for (int index = scores.length - Player.ONE_INCREMENT; index >= Player.STARTING_INDEX; index--) {
+            link(index, Player.ZERO_SCORE);
+        }
+        count[Player.ZERO_SCORE] = scores.length;
+        rebuildTree();
+    }
+
+    /**
+     * @param score a score
+     * @return the number of players with a higher score
+     */
+    public int countAbove(int score) {
+        return scores.length - countUpTo(score);
+    }
+
+    /**
+     * @param score a score
+     * @return the number of players with exactly this score, the size of its tie group
+     */
+    public int countTied(int score) {
+        return (score >= Player.ZERO_SCORE && score < count.length) ? count[score] : Player.ZERO_SCORE;
+    }
+
+    /**
+     * @param index the index of a player
+     * @return the rank of the player, 1 for the leaders, tied players sharing a rank
+     */
+    public int rank(int index) {
+        return countAbove(scores[index]) + Player.ONE_INCREMENT;
+    }
+
+    /**
+     * @return the highest score of the game
+     */
+    public int getTopScore() {
+        return scoreAtRank(Player.ONE_INCREMENT);
+    }
+
+    /**
+     * @param rank a position in the table, 1 for the first place, at most size()
+     * @return the score of the player at that position
+     */
+    public int scoreAtRank(int rank) {
+        if (rank < Player.ONE_INCREMENT || rank > scores.length) {
+            throw new IllegalArgumentException("Rank must be between 1 and " + scores.length);
+        }
+        /* the score at rank r from the top is the lowest score with scores.length - r + 1 players up to it */
+        int target = scores.length - rank + Player.ONE_INCREMENT;
+        int position = Player.ZERO_SCORE;
+        for (int step = Integer.highestOneBit(tree.length - Player.ONE_INCREMENT); step > Player.ZERO_SCORE;
+             step >>>= Player.ONE_INCREMENT) {
+            int probe = position + step;
+            if (probe < tree.length && tree[probe] < target) {
+                position = probe;
+                target -= tree[probe];
+            }
+        }
+        return position;
+    }
+
+    /**
+     * @param score a score
+     * @return the highest score held by a player below score, or NO_SCORE if there is none
+     */
+    public int nextLowerScore(int score) {
+        int below = countUpTo(score - Player.ONE_INCREMENT);
+        if (below == Player.ZERO_SCORE) {
+            return NO_SCORE;
+        }
+        return scoreAtRank(scores.length - below + Player.ONE_INCREMENT);
+    }
+
+    /**
+     * Used to go through a tie group: for (int i = firstWithScore(s); i != NO_PLAYER; i = nextTied(i))
+     *
+     * @param score a score
+     * @return the first player with the score, or NO_PLAYER if there is none
+     */
+    public int firstWithScore(int score) {
+        return (score >= Player.ZERO_SCORE && score < first.length) ? first[score] : Player.NO_PLAYER;
+    }
+
+    /**
+     * @param index the index of a player
+     * @return the next player with the same score, or NO_PLAYER if there is none
+     */
+    public int nextTied(int index) {
+        return next[index];
+    }
+
+    /**
+     * Fills top with the players of the first places, the highest scores first. Tied players come in no set
+     * order, so a tie group cut by the end of top is cut anywhere.
+     *
+     * @param top where the indexes of the players are stored, top.length players at most
+     * @return the number of players stored, top.length unless there are fewer players
+     */
+    public int top(int[] top) {
+        int length = Player.ZERO_SCORE;
+        int score = (scores.length == Player.ZERO_SCORE) ? NO_SCORE : getTopScore();
+        while (length < top.length && score != NO_SCORE) {
+            for (int index = first[score]; index != Player.NO_PLAYER && length < top.length; index = next[index]) {
+                top[length++] = index;
+            }
+            score = nextLowerScore(score);
+        }
+        return length;
+    }
+
+    /**
+     * @param score a score
+     * @return the number of players with a score up to score
+     */
+    private int countUpTo(int score) {
+        int sum = Player.ZERO_SCORE;
+        for (int i = Math.min(score + Player.ONE_INCREMENT, tree.length - Player.ONE_INCREMENT);
+             i > Player.ZERO_SCORE; i &= i - Player.ONE_INCREMENT) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * @param score a score
+     * @param delta the change of the number of players with the score
+     */
+    private void add(int score, int delta) {
+        count[score] += delta;
+        for (int i = score + Player.ONE_INCREMENT; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Puts a player first in the bucket of a score.
+     */
+    private void link(int index, int score) {
+        int head = first[score];
+        prev[index] = Player.NO_PLAYER;
+        next[index] = head;
+        if (head != Player.NO_PLAYER) {
+            prev[head] = index;
+        }
+        first[score] = index;
+    }
+
+    /**
+     * Takes a player out of the bucket of a score.
+     */
+    private void unlink(int index, int score) {
+        if (prev[index] == Player.NO_PLAYER) {
+            first[score] = next[index];
+        } else {
+            next[prev[index]] = next[index];
+        }
+        if (next[index] != Player.NO_PLAYER) {
+            prev[next[index]] = prev[index];
+        }
+    }
+
+    /**
+     * @param score a score that does not fit in the buckets
+     */
+    private void grow(int score) {
+        int capacity = first.length;
+        while (score >= capacity) {
+            capacity *= GROWTH_FACTOR;
+        }
+        int old = first.length;
+        first = Arrays.copyOf(first, capacity);
+        Arrays.fill(first, old, capacity, Player.NO_PLAYER);
+        count = Arrays.copyOf(count, capacity);
+        rebuildTree();
+    }
+
+    /**
+     * Builds the Fenwick tree from count in O(maxScore).
+     */
+    private void rebuildTree() {
+        tree = new int[count.length + Player.ONE_INCREMENT];
+        for (int i = Player.ONE_INCREMENT; i < tree.length; i++) {
+            tree[i] += count[i - Player.ONE_INCREMENT];
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+import java.io.PrintStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class decides how long the pauses of the console game last, so the game logic never sleeps by itself.
+ * There are three kinds of pacers:
+ *     RealTimePacer = every pause lasts as long as asked, for the interactive game.
+ *     BudgetPacer   = the pauses of one turn add up to at most a fixed budget, no matter how many rows the
+ *                     score tables have.
+ *     VirtualPacer  = nothing sleeps, a virtual clock is moved forward instead, for tests and simulations.
+ *
+ * The frames of a waiting animation are drawn by a thread of its own while the game thread waits for the
+ * end of the pause, so a shortened pause also cuts the animation short, and a game whose output is slow
+ * (e.g. a client of SkunkServer that stopped reading) only holds up its own animations, never the ones or
+ * the pacing of the other games. The frames that a slow output missed are skipped, not drawn in a burst.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public abstract class Pacer {
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final long FRAME_MILLIS    = Rounds.THREAD_SLEEP_TIME_MILLISEC;
+    public static final long NO_DELAY        = 0;
+    public static final long NANOS_PER_MILLI = 1000000;
+
+    public static final String REAL_TIME = "real";
+    public static final String BUDGET    = "budget";
+    public static final String VIRTUAL   = "virtual";
+
+    private static final ExecutorService ANIMATORS = ThreadPerTask.newExecutor(true);
+
+    /**
+     * Pauses the game.
+     *
+     * @param millis how long the game would like to pause
+     * @throws InterruptedException if the thread gets interrupted
+     */
+    public abstract void pause(long millis) throws InterruptedException;
+
+    /**
+     * @return the time of the clock of this pacer in milliseconds
+     */
+    public abstract long now();
+
+    /**
+     * Called at the start of every turn, used by pacers that limit the pauses of a turn.
+     */
+    public void startTurn() {
+    }
+
+    /**
+     * Shows a waiting animation (see ConsoleHelper) during a pause of frames * FRAME_MILLIS.
+     *
+     * @param out where the animation is printed
+     * @param message waiting message
+     * @param frames number of animated frames
+     * @throws InterruptedException if the thread gets interrupted
+     */
+    public void animate(PrintStream out, String message, int frames) throws InterruptedException {
+        ConsoleHelper helper = new ConsoleHelper(out);
+        Future<?> animation = ANIMATORS.submit(() -> drawFrames(helper, message));
+        try {
+            pause(frames * FRAME_MILLIS);
+        } finally {
+            animation.cancel(true);
+            synchronized (helper) {
+                /* waits for a frame that is being drawn right now, so it cannot mix with what comes next */
+            }
+        }
+    }
+
+    /**
+     * Draws a frame every FRAME_MILLIS until the thread gets interrupted by the end of the pause.
+     *
+     * @param helper draws the frames
+     * @param message waiting message
+     */
+    private static void drawFrames(ConsoleHelper helper, String message) {
+        long next = System.nanoTime();
+        try {
+            while (true) {
+                synchronized (helper) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        return;
+                    }
+                    helper.animate(message);
+                }
+                next = Math.max(next + FRAME_MILLIS * NANOS_PER_MILLI, System.nanoTime());
+                TimeUnit.NANOSECONDS.sleep(next - System.nanoTime());
+            }
+        } catch (InterruptedException e) {
+            /* the pause is over */
+        }
+    }
+
+    /**
+     * @param mode REAL_TIME, BUDGET or VIRTUAL
+     * @return a new pacer of that kind
+     */
+    public static Pacer forMode(String mode) {
+        if (REAL_TIME.equalsIgnoreCase(mode)) {
+            return new RealTimePacer();
+        } else if (BUDGET.equalsIgnoreCase(mode)) {
+            return new BudgetPacer(BudgetPacer.DEFAULT_TURN_BUDGET_MILLIS);
+        } else if (VIRTUAL.equalsIgnoreCase(mode)) {
+            return new VirtualPacer();
+        }
+        throw new IllegalArgumentException("Unknown pacing mode: " + mode);
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+/**
+ * This class gives every AI seat of a game its own strategy, so different strategies can play at the same
+ * table (see Tournament).
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public class PerSeatStrategy implements SitStrategy {
+    private final SitStrategy[] seats;
+
+    /**
+     * @param seats the strategy of every player, by index
+     */
+    public PerSeatStrategy(SitStrategy... seats) {
+        this.seats = seats.clone();
+    }
+
+    /**
+     * @param session the game being played
+     * @param index the index of an AI player who is standing
+     * @return whether the player keeps standing for the next roll
+     */
+    @Override
+    public boolean keepStanding(GameSession session, int index) {
+        return seats[index].keepStanding(session, index);
+    }
+}
@@ -5,10 +5,12 @@
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.util.Arrays;
 
 /**
  * This class record tracks and stores all of the players information from one play-through the skunk game.
+ * Every game session (see GameSession) has its own instance.
  * The instance variables are defined as follows:
  *     numHumans  = number of human players
  *     numAI      = number of AI (computer) players.
@@ -18,10 +20,14 @@ import java.util.Arrays;
  *                  updated throughout the course of the game as players lose and gain points. The first
  *                  consecutive entries are those scores for the human players. The remaining entries are
  *                  for the AI players.
- *     standing   = an array that stores whether or not each player is standing (both human and AI).
- *                  This array will updated throughout the course of the game as players choose to sit or
- *                  stand. The first consecutive entries are for the human players. The remaining entries
- *                  are for the AI players.
+ *     standing   = a bitset that stores whether or not each player is standing (both human and AI), bit
+ *                  index % 64 of word index / 64. It is updated throughout the course of the game as players
+ *                  choose to sit or stand. The first consecutive bits are for the human players. The
+ *                  remaining bits are for the AI players.
+ *     numStanding = the number of bits set in standing, kept up to date on every change so that whether
+ *                  everyone stands or sits is known without a scan, even for tables of millions of players.
+ *     leaderboard = the players ranked by score (see Leaderboard), built the first time it is asked for and
+ *                  then updated on every change of a score. Headless games that never ask do not pay for it.
  * AI Difficulty: 2 dice - AI sits with a percentage of 30
  *                3 dice - AI sits with a percentage of 45
  *
@@ -30,17 +36,24 @@ import java.util.Arrays;
  * @since July 9, 2019
  */
 public class Player {
-    private static int       numHuman;
-    private static int       numAI;
-    private static String[]  humanNames;
-    private static String[]  theAINames;
-    private static int[]     scores;
-    private static boolean[] standing;
+    private final int       numHuman;
+    private final int       numAI;
+    private final String[]  humanNames;
+    private final String[]  theAINames;
+    private final int[]     scores;
+    private final long[]    standing;
+    private int             numStanding;
+    private Leaderboard     leaderboard;
 
     /* Symbolic constants used to get rid of magic numbers */
     public static final int STARTING_INDEX = 0;
     public static final int ZERO_SCORE     = 0;
     public static final int ONE_INCREMENT  = 1;
+    public static final int NO_PLAYER      = -1;
+
+    public static final int WORD_SHIFT = 6;
+    public static final long ALL_BITS  = -1L;
+    public static final long ONE_BIT   = 1L;
 
     public static final int TWO_DICE_SIT_PERCENTAGE   = 30;
     public static final int THREE_DICE_SIT_PERCENTAGE = 45;
@@ -55,83 +68,180 @@ public class Player {
      * @throws IOException if something goes wrong with bufferedReader
      */
     public Player(int numHuman, int numAI, BufferedReader bf) throws IOException {
-        Player.numHuman = numHuman;
-        Player.numAI = numAI;
-        humanNames = new String[numHuman];
-        setHumanNames(bf);
+        this(numHuman, numAI, bf, System.out);
+    }
+
+    /**
+     * @param numHuman the number of human players
+     * @param numAI the number of AI players
+     * @param bf to take in user inputs
+     * @param out where the players are prompted
+     * @throws IOException if something goes wrong with bufferedReader
+     */
+    public Player(int numHuman, int numAI, BufferedReader bf, PrintStream out) throws IOException {
+        this(readHumanNames(numHuman, bf, out), numAI);
+    }
+
+    /**
+     * Used when the human names are already known, e.g. for tables with only AI players.
+     *
+     * @param humanNames the names of the human players
+     * @param numAI the number of AI players
+     */
+    public Player(String[] humanNames, int numAI) {
+        this.numHuman = humanNames.length;
+        this.numAI = numAI;
+        this.humanNames = humanNames;
         theAINames = new String[numAI];
         setTheAINames();
-        scores = new int[Player.numHuman + Player.numAI];
-        standing = new boolean[Player.numHuman + Player.numAI];
+        scores = new int[numHuman + numAI];
+        standing = new long[(numHuman + numAI + Long.SIZE - ONE_INCREMENT) >>> WORD_SHIFT];
         resetAllStanding();
     }
 
     /**
      * @return the number of human players
      */
-    public static int getNumHuman() {
+    public int getNumHuman() {
         return numHuman;
     }
 
     /**
      * @return the number of AI players
      */
-    public static int getNumAI() {
+    public int getNumAI() {
         return numAI;
     }
 
     /**
      * @return the array of scores of all the players
      */
-    public static int[] getScores() {
+    public int[] getScores() {
         return scores;
     }
 
     /**
-     * @return the array of those players who are standing
+     * @return the number of players, human and AI
+     */
+    public int getNumPlayers() {
+        return scores.length;
+    }
+
+    /**
+     * @param index the index of a player in scores
+     * @return whether the player is standing
+     */
+    public boolean isStanding(int index) {
+        return (standing[index >>> WORD_SHIFT] & (ONE_BIT << index)) != ZERO_SCORE;
+    }
+
+    /**
+     * @return the number of players who are standing
+     */
+    public int getNumStanding() {
+        return numStanding;
+    }
+
+    /**
+     * Used by GameSession to loop over the standing players 64 at a time. The array must not be modified.
+     *
+     * @return the standing bitset, bit index % 64 of word index / 64
      */
-    public static boolean[] getStanding() {
+    long[] getStandingWords() {
         return standing;
     }
 
+    /**
+     * Used to loop over the standing players only, skipping 64 sitting players at a time:
+     *     for (int i = nextStanding(0); i != NO_PLAYER; i = nextStanding(i + 1))
+     *
+     * @param from the first index to look at
+     * @return the index of the first standing player at or after from, or NO_PLAYER if there is none
+     */
+    public int nextStanding(int from) {
+        int word = from >>> WORD_SHIFT;
+        if (from >= scores.length) {
+            return NO_PLAYER;
+        }
+        long bits = standing[word] & (ALL_BITS << from);
+        while (bits == ZERO_SCORE) {
+            if (++word == standing.length) {
+                return NO_PLAYER;
+            }
+            bits = standing[word];
+        }
+        return (word << WORD_SHIFT) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * @return the players ranked by score, kept up to date from now on
+     */
+    public Leaderboard getLeaderboard() {
+        if (leaderboard == null) {
+            leaderboard = new Leaderboard(scores);
+        }
+        return leaderboard;
+    }
+
+    /**
+     * @return whether the leaderboard is kept up to date, so every change of a score must go through
+     *         setPointsForIndex
+     */
+    boolean hasLeaderboard() {
+        return leaderboard != null;
+    }
+
     /**
      * @return an array of those human player names
      */
-    public static String[] getHumanNames() {
+    public String[] getHumanNames() {
         return humanNames;
     }
 
     /**
      * @return an array of those AI player names
      */
-    public static String[] getTheAINames() {
+    public String[] getTheAINames() {
         return theAINames;
     }
 
+    /**
+     * @param index the index of a player in scores and standing
+     * @return the name of the player (can be AI or Human)
+     */
+    public String getName(int index) {
+        return (index < numHuman) ? humanNames[index] : theAINames[index - numHuman];
+    }
+
     /* The methods below are used to in the constructor or used from the Round class */
 
     /**
-     * This method prompts the player to set their (team) names and stores them in humanNames.
+     * This method prompts the player to set their (team) names.
      *
+     * @param numHuman the number of human players
      * @param bf for taking user inputs
+     * @param out where the players are prompted
+     * @return the names of the human players
      * @throws IOException if something goes wrong with buffered reader.
      */
-    private static void setHumanNames(BufferedReader bf) throws IOException {
+    private static String[] readHumanNames(int numHuman, BufferedReader bf, PrintStream out) throws IOException {
+        String[] humanNames = new String[numHuman];
         for (int index = STARTING_INDEX; index < numHuman; index++){
-            System.out.printf("Enter name for Player #%d: ", (index + ONE_INCREMENT));
+            out.printf("Enter name for Player #%d: ", (index + ONE_INCREMENT));
             /* prompts the current player for name */
-            String name = bf.readLine();
+            String name = ConsoleHelper.readLine(bf);
 
             /* stores the name in the current index */
             humanNames[index] = name;
         }
+        return humanNames;
     }
 
     /**
      * This method sets the names for the AI players. Name is of the form: AI(#number) where
      * number indexes the AI players.
      */
-    private static void setTheAINames() {
+    private void setTheAINames() {
         for (int index = STARTING_INDEX; index < numAI; index++) {
             String name = "AI(#" + (index + ONE_INCREMENT) + ")";
             theAINames[index] = name;
@@ -141,15 +251,24 @@ public class Player {
     /**
      * Resets everyone to standing position
      */
-    protected static void resetAllStanding() {
-        Arrays.fill(standing, true);
+    protected void resetAllStanding() {
+        Arrays.fill(standing, ALL_BITS);
+        /* the bits past the last player stay clear, so nextStanding never returns them */
+        int used = scores.length & (Long.SIZE - ONE_INCREMENT);
+        if (used != ZERO_SCORE) {
+            standing[standing.length - ONE_INCREMENT] = ALL_BITS >>> (Long.SIZE - used);
+        }
+        numStanding = scores.length;
     }
 
     /**
      * Resets the scores of all the players
      */
-    protected static void resetScores(){
+    protected void resetScores(){
         Arrays.fill(scores, ZERO_SCORE);
+        if (leaderboard != null) {
+            leaderboard.reset();
+        }
     }
 
     /**
@@ -158,8 +277,13 @@ public class Player {
      * @param index the index
      * @param sit the value to be set
      */
-    protected static void setStandingForIndex(int index, boolean sit) {
-        Player.standing[index] = sit;
+    protected void setStandingForIndex(int index, boolean sit) {
+        long bit = ONE_BIT << index;
+        long word = standing[index >>> WORD_SHIFT];
+        if (((word & bit) != ZERO_SCORE) != sit) {
+            standing[index >>> WORD_SHIFT] = word ^ bit;
+            numStanding += sit ? ONE_INCREMENT : -ONE_INCREMENT;
+        }
     }
 
     /**
@@ -168,7 +292,10 @@ public class Player {
      * @param index the index
      * @param score the score to be set
      */
-    protected static void setPointsForIndex(int index, int score){
-        Player.scores[index] = score;
+    protected void setPointsForIndex(int index, int score){
+        scores[index] = score;
+        if (leaderboard != null) {
+            leaderboard.update(index, score);
+        }
     }
 }
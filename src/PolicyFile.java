@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * This class saves solved policies (see PolicySolver) to files, and maps them back into memory with
+ * FileChannel.map. A mapped policy is read straight from the page cache: loading it copies nothing onto the
+ * heap, and every process of the host that maps the same file shares one copy of it.
+ *
+ * A file is a header followed by the thresholds of SitPolicy, all in big endian:
+ *     magic         = int, MAGIC.
+ *     version       = int, FORMAT_VERSION, changed whenever the format or the solver changes.
+ *     numDice       = int, the number of dice the policy was solved for.
+ *     numRounds     = int, the number of rounds of a game.
+ *     bankedSlots   = int, SitPolicy.BANKED_SLOTS.
+ *     expectedScore = double, the expected final score of the policy.
+ *     checksum      = long, the CRC32 of the thresholds.
+ *     thresholds    = numRounds * bankedSlots shorts.
+ *
+ * A file with another version, dice count, round count or size, or a wrong checksum, is rejected with an
+ * IOException, so a stale table is never played.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public final class PolicyFile {
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final int MAGIC          = 0x534B4E4B;
+    public static final int FORMAT_VERSION = 1;
+    public static final int HEADER_BYTES   = 5 * Integer.BYTES + Double.BYTES + Long.BYTES;
+    public static final String DIRECTORY_PROPERTY = "skunk.policy.dir";
+    public static final String DEFAULT_DIRECTORY  = "policies";
+    public static final String FILE_NAME_FORMAT   = "skunk-policy-%dd-%dr.bin";
+    public static final String TEMP_SUFFIX        = ".tmp";
+
+    private PolicyFile() {
+    }
+
+    /**
+     * @return the directory of the policy files, the system property skunk.policy.dir or DEFAULT_DIRECTORY
+     */
+    public static Path defaultDirectory() {
+        return Paths.get(System.getProperty(DIRECTORY_PROPERTY, DEFAULT_DIRECTORY));
+    }
+
+    /**
+     * @param directory the directory of the policy files
+     * @param numDice the number of dice
+     * @param numRounds the number of rounds of a game
+     * @return the file of the policy for that many dice and rounds
+     */
+    public static Path path(Path directory, int numDice, int numRounds) {
+        return directory.resolve(String.format(FILE_NAME_FORMAT, numDice, numRounds));
+    }
+
+    /**
+     * Writes a policy to a temporary file first and then moves it in place, so a process mapping the file
+     * at the same time never sees half of it.
+     *
+     * @param file where the policy is saved
+     * @param policy the policy to save
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, SitPolicy policy) throws IOException {
+        short[] thresholds = policy.getThresholds();
+        ByteBuffer table = ByteBuffer.allocate(thresholds.length * Short.BYTES).order(ByteOrder.BIG_ENDIAN);
+        table.asShortBuffer().put(thresholds);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(policy.getNumDice()).putInt(policy.getNumRounds())
+                .putInt(SitPolicy.BANKED_SLOTS).putDouble(policy.getExpectedScore()).putLong(checksum(table));
+        header.flip();
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = directory.resolve(file.getFileName() + "." + ProcessHandle.current().pid() + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining() || table.hasRemaining()) {
+                channel.write(new ByteBuffer[]{header, table});
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Maps a policy file into memory. The mapping stays valid after the file is closed.
+     *
+     * @param file the policy file
+     * @param numDice the number of dice the policy must be solved for
+     * @param numRounds the number of rounds the policy must be solved for
+     * @return the policy, reading its thresholds from the mapped file
+     * @throws IOException if the file cannot be read or does not hold the expected policy
+     */
+    public static SitPolicy map(Path file, int numDice, int numRounds) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, Player.STARTING_INDEX, channel.size());
+        }
+        mapped.order(ByteOrder.BIG_ENDIAN);
+
+        long tableBytes = (long) numRounds * SitPolicy.BANKED_SLOTS * Short.BYTES;
+        if (mapped.capacity() != HEADER_BYTES + tableBytes) {
+            throw new IOException(file + " has " + mapped.capacity() + " bytes instead of "
+                    + (HEADER_BYTES + tableBytes));
+        }
+        if (mapped.getInt() != MAGIC) {
+            throw new IOException(file + " is not a policy file.");
+        }
+        int version = mapped.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException(file + " has version " + version + " instead of " + FORMAT_VERSION);
+        }
+        int fileDice = mapped.getInt(), fileRounds = mapped.getInt(), fileSlots = mapped.getInt();
+        if (fileDice != numDice || fileRounds != numRounds || fileSlots != SitPolicy.BANKED_SLOTS) {
+            throw new IOException(file + " is solved for " + fileDice + " dice and " + fileRounds + " rounds.");
+        }
+        double expectedScore = mapped.getDouble();
+        long checksum = mapped.getLong();
+
+        ByteBuffer table = mapped.slice().order(ByteOrder.BIG_ENDIAN);
+        if (checksum(table) != checksum) {
+            throw new IOException(file + " is corrupted, its checksum does not match.");
+        }
+        return new SitPolicy(numDice, numRounds, table.asShortBuffer(), expectedScore);
+    }
+
+    /**
+     * @param table the thresholds, from its position to its limit
+     * @return the CRC32 of the thresholds
+     */
+    private static long checksum(ByteBuffer table) {
+        CRC32 crc = new CRC32();
+        crc.update(table.duplicate());
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ ***********************************************************
+ * RUN THIS FILE TO PRINT THE EXPECTED-SCORE SIT OR STAND POLICY
+ ***********************************************************
+ */
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * This class solves the sit or stand policy that maximizes the expected final score of one player, by
+ * dynamic programming over the rules of GameSession.updatePoints: a roll with one one clears the points of
+ * the round, a roll with two ones clears the total, three ones give DICE_ROLLS_THREE1, any other roll adds
+ * its sum, and a player who sits keeps the points of the round until the next round.
+ *
+ * The value of a state is the expected final score of the player, where a state is:
+ *     roundsLeft = the number of rounds left, the current round included.
+ *     banked     = the points banked before the current round.
+ *     roundScore = the points of the current round, so the total score is banked + roundScore.
+ *
+ *     V(roundsLeft, banked, roundScore) = max(sit, stand)
+ *     sit   = N(roundsLeft, banked + roundScore)
+ *     stand = P(one one) * N(roundsLeft, banked) + P(two ones) * N(roundsLeft, 0)
+ *             + sum over the points p of the other rolls of P(p) * V(roundsLeft, banked, roundScore + p)
+ *     N(roundsLeft, total) = the value of starting the next round with total, V(roundsLeft - 1, total, 0),
+ *                            or total once there are no rounds left.
+ *
+ * The points of a round only grow while the player stands, so every V(roundsLeft, banked, .) is solved from
+ * the highest round score down, and every roundsLeft from the last round up. Totals above
+ * SitPolicy.MAX_BANKED are assumed to sit.
+ *
+ * SitPolicy only keeps one threshold per slice V(roundsLeft, banked, .), so the solver checks that the round
+ * scores where sitting is best are exactly the ones from the threshold up, and fails otherwise.
+ *
+ * The goal is the player's own expected score, not the chance to win: the opponents' totals are not part of
+ * the state, so the policy never takes more risk when it is behind or less when it is ahead. The solver also
+ * assumes a roll with ones always ends the round, i.e. at least one other player is sitting, which is the
+ * usual case after the first roll of a round. So the policy is not the best way to win a game, and a plain
+ * threshold strategy can beat it (see Tournament).
+ *
+ * Usage: java PolicySolver [directory to save the policy files to (see PolicyFile)]
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public final class PolicySolver {
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final int[] PRINTED_BANKED   = {0, 10, 25, 50, 75, 100, 150, 200, 300};
+    public static final double NANOS_PER_MILLI = 1e6;
+    public static final int DIRECTORY_ARG      = 0;
+
+    private PolicySolver() {
+    }
+
+    /**
+     * Solves the expected-score policy for every state of a game of Rounds.NUM_SKUNK_ROUNDS rounds.
+     *
+     * @param numDice the number of dice, two or three.
+     * @return the policy
+     */
+    public static SitPolicy solve(int numDice) {
+        return solve(numDice, Rounds.NUM_SKUNK_ROUNDS);
+    }
+
+    /**
+     * Solves the expected-score policy for every state of a game.
+     *
+     * @param numDice the number of dice, two or three.
+     * @param numRounds the number of rounds of a game
+     * @return the policy
+     */
+    public static SitPolicy solve(int numDice, int numRounds) {
+        /* the distribution of the points of one roll, the positive points are kept as a short list */
+        int[] gains = RollOdds.gains(numDice);
+        double[] gainProbability = RollOdds.gainProbabilities(numDice);
+        double oneOneProbability = RollOdds.oneOneProbability(numDice);
+        double twoOnesProbability = RollOdds.twoOnesProbability(numDice);
+
+        /* next[total] = N(roundsLeft, total), the value of the following round starting with total */
+        double[] next = new double[SitPolicy.BANKED_SLOTS];
+        for (int total = Player.STARTING_INDEX; total < SitPolicy.BANKED_SLOTS; total++) {
+            next[total] = total;
+        }
+        double[] start = new double[SitPolicy.BANKED_SLOTS];
+        double[] value = new double[SitPolicy.BANKED_SLOTS];
+        short[] thresholds = new short[numRounds * SitPolicy.BANKED_SLOTS];
+
+        for (int roundsLeft = Player.ONE_INCREMENT; roundsLeft <= numRounds; roundsLeft++) {
+            int offset = (roundsLeft - Player.ONE_INCREMENT) * SitPolicy.BANKED_SLOTS;
+            for (int banked = Player.STARTING_INDEX; banked <= SitPolicy.MAX_BANKED; banked++) {
+                int maxRoundScore = SitPolicy.MAX_BANKED - banked;
+                double lose = oneOneProbability * next[banked] + twoOnesProbability * next[Player.ZERO_SCORE];
+
+                /* the threshold is the lowest round score where sitting is best, every lower one stands */
+                int threshold = maxRoundScore;
+                boolean standSeen = false;
+                for (int roundScore = maxRoundScore; roundScore >= Player.ZERO_SCORE; roundScore--) {
+                    int total = banked + roundScore;
+                    double sit = next[total];
+                    double stand = lose;
+                    for (int i = Player.STARTING_INDEX; i < gains.length; i++) {
+                        int after = roundScore + gains[i];
+                        stand += gainProbability[i] * ((after <= maxRoundScore) ? value[after] : sit + gains[i]);
+                    }
+                    if (stand > sit) {
+                        value[roundScore] = stand;
+                        standSeen = true;
+                    } else if (standSeen) {
+                        throw new IllegalStateException(String.format("With %d dice, %d rounds left and %d points "
+                                + "banked, sitting is best at %d points but standing is best above: the policy "
+                                + "is not a threshold.", numDice, roundsLeft, banked, roundScore));
+                    } else {
+                        value[roundScore] = sit;
+                        threshold = roundScore;
+                    }
+                }
+                thresholds[offset + banked] = (short) threshold;
+                start[banked] = value[Player.ZERO_SCORE];
+            }
+            double[] swap = next;
+            next = start;
+            start = swap;
+        }
+        return new SitPolicy(numDice, numRounds, thresholds, next[Player.ZERO_SCORE]);
+    }
+
+    public static void main(String[] args) throws IOException {
+        for (int numDice = Dice.TWO_DICE; numDice <= Dice.THREE_DICE; numDice++) {
+            long start = System.nanoTime();
+            SitPolicy policy = solve(numDice);
+            System.out.printf("\n%d dice: solved in %.0f ms, expected final score %.2f\n", numDice,
+                    (System.nanoTime() - start) / NANOS_PER_MILLI, policy.getExpectedScore());
+
+            System.out.print(" Keep standing while the points of the round are below:\n Rounds left |");
+            for (int banked : PRINTED_BANKED) {
+                System.out.printf(" %4d", banked);
+            }
+            System.out.print("  (points banked before the round)\n");
+            for (int roundsLeft = policy.getNumRounds(); roundsLeft >= Player.ONE_INCREMENT; roundsLeft--) {
+                System.out.printf(" %11d |", roundsLeft);
+                for (int banked : PRINTED_BANKED) {
+                    System.out.printf(" %4d", policy.getThreshold(roundsLeft, banked));
+                }
+                System.out.println();
+            }
+
+            if (args.length > DIRECTORY_ARG) {
+                Path file = PolicyFile.path(Paths.get(args[DIRECTORY_ARG]), numDice, policy.getNumRounds());
+                PolicyFile.write(file, policy);
+                System.out.printf(" Saved to %s\n", file);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * This class makes the AI follow a policy solved by PolicySolver: the AI keeps standing while its points of
+ * the round are below the threshold of its rounds left and its banked points. Every decision is one lookup
+ * in the table of the policy, nothing is searched while playing.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public class PolicyTableStrategy implements SitStrategy {
+    private final SitPolicy policy;
+
+    /**
+     * The policies are loaded the first time they are used, then shared by every game.
+     */
+    private static final class Solved {
+        static final SitPolicy TWO_DICE   = load(Dice.TWO_DICE);
+        static final SitPolicy THREE_DICE = load(Dice.THREE_DICE);
+    }
+
+    /**
+     * @param policy the policy to follow
+     */
+    public PolicyTableStrategy(SitPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Maps the policy file of the default directory (see PolicyFile), or solves the policy when there is no
+     * file or the file is stale.
+     *
+     * @param numDice the number of dice, two or three.
+     * @return the expected-score policy for that many dice
+     */
+    private static SitPolicy load(int numDice) {
+        Path file = PolicyFile.path(PolicyFile.defaultDirectory(), numDice, Rounds.NUM_SKUNK_ROUNDS);
+        if (Files.exists(file)) {
+            try {
+                return PolicyFile.map(file, numDice, Rounds.NUM_SKUNK_ROUNDS);
+            } catch (IOException e) {
+                System.err.println("Solving the policy again: " + e.getMessage());
+            }
+        }
+        return PolicySolver.solve(numDice);
+    }
+
+    /**
+     * @param numDice the number of dice, two or three.
+     * @return a strategy following the expected-score policy for that many dice
+     */
+    public static PolicyTableStrategy forDice(int numDice) {
+        if (numDice == Dice.TWO_DICE) {
+            return new PolicyTableStrategy(Solved.TWO_DICE);
+        } else if (numDice == Dice.THREE_DICE) {
+            return new PolicyTableStrategy(Solved.THREE_DICE);
+        }
+        throw new IllegalArgumentException("Invalid number of dice.");
+    }
+
+    /**
+     * @return the policy followed
+     */
+    public SitPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * @param session the game being played
+     * @param index the index of an AI player who is standing
+     * @return whether the player keeps standing for the next roll
+     */
+    @Override
+    public boolean keepStanding(GameSession session, int index) {
+        return policy.stands(policy.getNumRounds() - session.getRound(), session.getScoresCurrentRound()[index],
+                session.getPlayers().getScores()[index]);
+    }
+
+    @Override
+    public String toString() {
+        return "policy table";
+    }
+}
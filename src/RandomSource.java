@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+/**
+ * This interface is the source of every random number of the game: the dice rolls and the AI decisions.
+ * Unlike java.util.Random, the generators do not lock or compare-and-set on a shared seed, so an instance
+ * must only be used by one thread at a time. Use one instance per game (newSource) or per thread
+ * (forCurrentThread), or split an existing one.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public interface RandomSource {
+
+    /* Symbolic constants used to get rid of magic numbers */
+    int INT_BITS       = 32;
+    long INT_MASK      = 0xFFFFFFFFL;
+    int FACES_PER_LONG = 8;
+    long GOLDEN_GAMMA  = 0x9E3779B97F4A7C15L;
+
+    /**
+     * @return 64 random bits
+     */
+    long nextLong();
+
+    /**
+     * @return a new generator that is statistically independent of this one
+     */
+    RandomSource split();
+
+    /**
+     * Used to checkpoint a game (see GameCheckpoint): the generator continues from the same numbers once
+     * the state is given back to setState.
+     *
+     * @return a copy of the full state of the generator
+     */
+    long[] getState();
+
+    /**
+     * @param state a state returned by getState of a generator of the same class
+     */
+    void setState(long[] state);
+
+    /**
+     * Uses the multiply-shift method of Lemire, which only retries in the rare case that the low half of
+     * the product falls in the biased zone.
+     *
+     * @param bound the upper bound (exclusive), must be positive
+     * @return a random integer between 0 (inclusive) and bound (exclusive)
+     */
+    default int nextInt(int bound) {
+        if (bound <= Player.ZERO_SCORE) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        long m = (nextLong() >>> INT_BITS) * bound;
+        long low = m & INT_MASK;
+        if (low < bound) {
+            long threshold = (INT_MASK + Player.ONE_INCREMENT - bound) % bound;
+            while (low < threshold) {
+                m = (nextLong() >>> INT_BITS) * bound;
+                low = m & INT_MASK;
+            }
+        }
+        return (int) (m >>> INT_BITS);
+    }
+
+    /**
+     * Fills a buffer with rolls of dice. Up to FACES_PER_LONG faces are taken out of each 64 random bits by
+     * repeatedly multiplying the bits (seen as a fraction between 0 and 1) by the number of faces and keeping
+     * the integer part, so there is no modulo and no retry loop. The bias left is below 2^-43 per face for
+     * six sided dice, and below 2^-32 for dice with up to 16 faces.
+     *
+     * @param faces where the faces are stored, each one between 1 and numFaces
+     * @param offset the index of the first face to fill
+     * @param length the number of faces to fill
+     * @param numFaces the number of faces of each die (between 2 and 16)
+     */
+    default void fillFaces(int[] faces, int offset, int length, int numFaces) {
+        int end = offset + length;
+        int index = offset;
+        while (index < end) {
+            long bits = nextLong();
+            int stop = Math.min(end, index + FACES_PER_LONG);
+            for (; index < stop; index++) {
+                /* high and low 64 bits of the unsigned product bits * numFaces */
+                long high = Math.multiplyHigh(bits, numFaces) + ((bits >> (Long.SIZE - 1)) & numFaces);
+                bits *= numFaces;
+                faces[index] = (int) high + Dice.RAND_START;
+            }
+        }
+    }
+
+    /**
+     * @return a new xoshiro generator with a seed that differs for every call
+     */
+    static RandomSource newSource() {
+        return new XoshiroRandomSource(XoshiroRandomSource.nextSeed());
+    }
+
+    /**
+     * @return the generator owned by the calling thread
+     */
+    static RandomSource forCurrentThread() {
+        return XoshiroRandomSource.PER_THREAD.get();
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+/**
+ * Pauses the game for as long as it asks, like the original console game.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public class RealTimePacer extends Pacer {
+
+    @Override
+    public void pause(long millis) throws InterruptedException {
+        Thread.sleep(millis);
+    }
+
+    @Override
+    public long now() {
+        return System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+/**
+ * This class gives the exact odds of the rules of a roll, for two and three dice: the probability of every
+ * outcome of RollScorer (DICE_ROLLS_ONE1, DICE_ROLLS_TWO1, DICE_ROLLS_THREE1 or a sum), the expected length
+ * of a round for a player who keeps standing, and the expected change of the score from standing one more
+ * roll. Every roll code of RollScorer is equally likely, so the odds are counts of codes: they are counted
+ * once at class init into primitive tables, and every method is a lookup or a few multiplications.
+ *
+ * The rules assumed are those of GameSession.updatePoints when at least one player sits, i.e. a roll with
+ * one one clears the points of the round of the standing players, a roll with two ones clears their total,
+ * and both end the round. (While every player stands, a roll with ones changes nothing.)
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public final class RollOdds {
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final int POINTS_OFFSET = -Rounds.DICE_ROLLS_ONE1;
+    public static final int POINT_SLOTS   = Rounds.DICE_ROLLS_THREE1 + POINTS_OFFSET + Player.ONE_INCREMENT;
+
+    private static final Table TWO_DICE_TABLE   = new Table(Dice.TWO_DICE, RollScorer.TWO_DICE_CODES);
+    private static final Table THREE_DICE_TABLE = new Table(Dice.THREE_DICE, RollScorer.THREE_DICE_CODES);
+
+    /**
+     * The odds of one number of dice.
+     */
+    private static final class Table {
+        final int numCodes;
+        final int[] counts;
+        final double[] probabilities;
+        final int[] gains;
+        final double[] gainProbabilities;
+        final double oneOne, twoOnes, expectedGain;
+
+        /**
+         * @param numDice the number of dice
+         * @param numCodes the number of roll codes for that many dice
+         */
+        Table(int numDice, int numCodes) {
+            this.numCodes = numCodes;
+            counts = new int[POINT_SLOTS];
+            int numGains = Player.ZERO_SCORE;
+            for (int code = Player.STARTING_INDEX; code < numCodes; code++) {
+                int points = RollScorer.scoreCode(numDice, code);
+                if (counts[points + POINTS_OFFSET]++ == Player.ZERO_SCORE && points > Rounds.DICE_ROLLS_TWO1) {
+                    numGains++;
+                }
+            }
+
+            probabilities = new double[POINT_SLOTS];
+            gains = new int[numGains];
+            gainProbabilities = new double[numGains];
+            double gain = Player.ZERO_SCORE;
+            for (int slot = Player.STARTING_INDEX, i = Player.STARTING_INDEX; slot < POINT_SLOTS; slot++) {
+                probabilities[slot] = (double) counts[slot] / numCodes;
+                int points = slot - POINTS_OFFSET;
+                if (points > Rounds.DICE_ROLLS_TWO1 && counts[slot] > Player.ZERO_SCORE) {
+                    gains[i] = points;
+                    gainProbabilities[i++] = probabilities[slot];
+                    gain += probabilities[slot] * points;
+                }
+            }
+            oneOne = probabilities[Rounds.DICE_ROLLS_ONE1 + POINTS_OFFSET];
+            twoOnes = probabilities[Rounds.DICE_ROLLS_TWO1 + POINTS_OFFSET];
+            expectedGain = gain;
+        }
+    }
+
+    private RollOdds() {
+    }
+
+    /**
+     * @param numDice the number of dice, two or three.
+     * @return the number of equally likely rolls
+     */
+    public static int numOutcomes(int numDice) {
+        return table(numDice).numCodes;
+    }
+
+    /**
+     * @param numDice the number of dice, two or three.
+     * @param points an outcome of RollScorer
+     * @return the number of rolls out of numOutcomes(numDice) with that outcome
+     */
+    public static int count(int numDice, int points) {
+        return (points < Rounds.DICE_ROLLS_ONE1 || points > Rounds.DICE_ROLLS_THREE1) ? Player.ZERO_SCORE
+                : table(numDice).counts[points + POINTS_OFFSET];
+    }
+
+    /**
+     * @param numDice the number of dice, two or three.
+     * @param points an outcome of RollScorer
+     * @return the probability of the outcome
+     */
+    public static double probability(int numDice, int points) {
+        return (points < Rounds.DICE_ROLLS_ONE1 || points > Rounds.DICE_ROLLS_THREE1) ? Player.ZERO_SCORE
+                : table(numDice).probabilities[points + POINTS_OFFSET];
+    }
+
+    /**
+     * @param numDice the number of dice, two or three.
+     * @return the probability that a roll clears the points of the round (one one)
+     */
+    public static double oneOneProbability(int numDice) {
+        return table(numDice).oneOne;
+    }
+
+    /**
+     * @param numDice the number of dice, two or three.
+     * @return the probability that a roll clears the total score (two ones)
+     */
+    public static double twoOnesProbability(int numDice) {
+        return table(numDice).twoOnes;
+    }
+
+    /**
+     * @param numDice the number of dice, two or three.
+     * @return the outcomes that add points, in increasing order (the sums, then DICE_ROLLS_THREE1)
+     */
+    public static int[] gains(int numDice) {
+        return table(numDice).gains.clone();
+    }
+
+    /**
+     * @param numDice the number of dice, two or three.
+     * @return the probability of each outcome of gains(numDice)
+     */
+    public static double[] gainProbabilities(int numDice) {
+        return table(numDice).gainProbabilities.clone();
+    }
+
+    /**
+     * @param numDice the number of dice, two or three.
+     * @return the points added by one roll on average, counting the rolls with ones as no points
+     */
+    public static double expectedGain(int numDice) {
+        return table(numDice).expectedGain;
+    }
+
+    /**
+     * The number of rolls is geometric, the round ending on the first roll with one or two ones.
+     *
+     * @param numDice the number of dice, two or three.
+     * @return the expected number of rolls of a round for a player who keeps standing, the last roll included
+     */
+    public static double expectedRollsUntilOnes(int numDice) {
+        Table table = table(numDice);
+        return Player.ONE_INCREMENT / (table.oneOne + table.twoOnes);
+    }
+
+    /**
+     * @param numDice the number of dice, two or three.
+     * @param roundScore the points of the player in the current round
+     * @param total the total score of the player, the points of the current round included
+     * @return the expected change of the total score from standing one more roll
+     */
+    public static double expectedChange(int numDice, int roundScore, int total) {
+        Table table = table(numDice);
+        return table.expectedGain - table.oneOne * roundScore - table.twoOnes * total;
+    }
+
+    /**
+     * @param numDice the number of dice, two or three.
+     * @param roundScore the points of the player in the current round, with nothing banked before the round
+     * @return the expected change of the total score from standing one more roll
+     */
+    public static double expectedChange(int numDice, int roundScore) {
+        return expectedChange(numDice, roundScore, roundScore);
+    }
+
+    /**
+     * @param numDice the number of dice, two or three.
+     * @return the odds for that many dice
+     */
+    private static Table table(int numDice) {
+        if (numDice == Dice.TWO_DICE) {
+            return TWO_DICE_TABLE;
+        } else if (numDice == Dice.THREE_DICE) {
+            return THREE_DICE_TABLE;
+        }
+        throw new IllegalArgumentException("Invalid number of dice.");
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+/**
+ * This class translates rolls of dice to points with precomputed tables instead of comparing every die.
+ * A roll is packed into a single integer code: each die is one base six digit (the face minus one), the
+ * first die being the most significant. So there are 36 codes for two dice and 216 codes for three dice.
+ *
+ * The points of a roll are the same as described in Rounds.getCurrentPoint:
+ *     DICE_ROLLS_ONE1   = exactly one one is rolled.
+ *     DICE_ROLLS_TWO1   = exactly two ones are rolled.
+ *     DICE_ROLLS_THREE1 = three ones are rolled (three dice only).
+ *     otherwise the sum of the dice.
+ *
+ * None of the scoring methods allocate, and they are safe to use from any thread.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public final class RollScorer {
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final int TWO_DICE_CODES   = Dice.DICE_FACES * Dice.DICE_FACES;
+    public static final int THREE_DICE_CODES = TWO_DICE_CODES * Dice.DICE_FACES;
+
+    private static final int[] TWO_DICE_POINTS   = buildTable(Dice.TWO_DICE, TWO_DICE_CODES);
+    private static final int[] THREE_DICE_POINTS = buildTable(Dice.THREE_DICE, THREE_DICE_CODES);
+
+    private RollScorer() {
+    }
+
+    /**
+     * Computes the points of every packed roll code by counting the ones of the roll.
+     *
+     * @param numDice the number of dice
+     * @param numCodes the number of packed codes for that many dice
+     * @return the points of each code
+     */
+    private static int[] buildTable(int numDice, int numCodes) {
+        int[] points = new int[numCodes];
+        for (int code = Player.STARTING_INDEX; code < numCodes; code++) {
+            int ones = Player.ZERO_SCORE;
+            int sum = Player.ZERO_SCORE;
+            int rest = code;
+            for (int die = Dice.BEGIN_INDEX; die < numDice; die++) {
+                int face = rest % Dice.DICE_FACES + Dice.RAND_START;
+                rest /= Dice.DICE_FACES;
+                sum += face;
+                if (face == Dice.ROLLED_ONE) {
+                    ones++;
+                }
+            }
+
+            if (ones == Dice.THREE_DICE) {
+                points[code] = Rounds.DICE_ROLLS_THREE1;
+            } else if (ones == Dice.TWO_DICE) {
+                points[code] = Rounds.DICE_ROLLS_TWO1;
+            } else if (ones == Dice.ROLLED_ONE) {
+                points[code] = Rounds.DICE_ROLLS_ONE1;
+            } else {
+                points[code] = sum;
+            }
+        }
+        return points;
+    }
+
+    /**
+     * @param first the face of the first die
+     * @param second the face of the second die
+     * @return the packed code of a two dice roll
+     */
+    public static int pack(int first, int second) {
+        return (first - Dice.RAND_START) * Dice.DICE_FACES + (second - Dice.RAND_START);
+    }
+
+    /**
+     * @param first the face of the first die
+     * @param second the face of the second die
+     * @param third the face of the third die
+     * @return the packed code of a three dice roll
+     */
+    public static int pack(int first, int second, int third) {
+        return pack(first, second) * Dice.DICE_FACES + (third - Dice.RAND_START);
+    }
+
+    /**
+     * @param roll array containing the values of the dice rolls (two or three dice)
+     * @return the packed code of the roll
+     */
+    public static int pack(int[] roll) {
+        int code = Player.ZERO_SCORE;
+        for (int die : roll) {
+            code = code * Dice.DICE_FACES + (die - Dice.RAND_START);
+        }
+        return code;
+    }
+
+    /**
+     * @param first the face of the first die
+     * @param second the face of the second die
+     * @return the points of a two dice roll
+     */
+    public static int score(int first, int second) {
+        return TWO_DICE_POINTS[pack(first, second)];
+    }
+
+    /**
+     * @param first the face of the first die
+     * @param second the face of the second die
+     * @param third the face of the third die
+     * @return the points of a three dice roll
+     */
+    public static int score(int first, int second, int third) {
+        return THREE_DICE_POINTS[pack(first, second, third)];
+    }
+
+    /**
+     * @param roll array containing the values of the dice rolls (two or three dice)
+     * @return the points of the roll
+     */
+    public static int score(int[] roll) {
+        return scoreCode(roll.length, pack(roll));
+    }
+
+    /**
+     * @param numDice the number of dice, two or three.
+     * @param code a packed roll code
+     * @return the points of the roll
+     */
+    public static int scoreCode(int numDice, int code) {
+        return table(numDice)[code];
+    }
+
+    /**
+     * Translates many packed rolls to points in one call.
+     *
+     * @param numDice the number of dice of every roll, two or three.
+     * @param codes the packed roll codes
+     * @param points where the points of codes[i] are stored at points[i]
+     * @param length the number of codes to score
+     */
+    public static void scoreAll(int numDice, int[] codes, int[] points, int length) {
+        int[] table = table(numDice);
+        for (int i = Player.STARTING_INDEX; i < length; i++) {
+            points[i] = table[codes[i]];
+        }
+    }
+
+    /**
+     * @param numDice the number of dice, two or three.
+     * @return the table of points for that many dice
+     */
+    private static int[] table(int numDice) {
+        if (numDice == Dice.TWO_DICE) {
+            return TWO_DICE_POINTS;
+        } else if (numDice == Dice.THREE_DICE) {
+            return THREE_DICE_POINTS;
+        }
+        throw new IllegalArgumentException("Invalid number of dice.");
+    }
+}
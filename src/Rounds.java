@@ -4,9 +4,9 @@
  */
 
 import java.io.BufferedReader;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.PrintStream;
 import java.util.Arrays;
-import java.util.Random;
 
 /**
  * This class takes the players through the rounds of skunk. The heart of the program.
@@ -17,9 +17,17 @@ import java.util.Random;
  */
 public class Rounds {
 
-    private boolean allStanding, allSitting, roundEnded;
-    private Random r;
-    private int[] scoresCurrentRound;
+    private final GameSession session;
+    private final Player players;
+    private final PrintStream out;
+    private final Pacer pacer;
+    private final FrameRenderer renderer;
+    private final StringBuilder row;
+    private final Leaderboard leaderboard;
+    private final int[] topRows;
+    private final TurnMetrics.Recorder metrics;
+    private final SpectatorServer.Table spectators;
+    private int[] finalScores;
 
     /* Symbolic constants used to get rid of magic numbers */
     public static final int NUM_SKUNK_ROUNDS = 5;
@@ -38,6 +46,8 @@ public class Rounds {
     public static final int DICE_ROLLS_TWO1   = 0;
     public static final int DICE_ROLLS_THREE1 = 100;
 
+    public static final int SUMMARY_ROWS = 10;
+
     public static final int ASTERIX_STRING_LENGTH = 32;
     public static final int PARITY_CHECKER        = 2;
     public static final int PARITY_MOD_CHECKER    = 0;
@@ -49,19 +59,19 @@ public class Rounds {
      *
      * Summary of actions:
      *
-     * 1. initializes the random instance variables used to roll dice.
+     * 1. takes the players, dice and random source from the game session.
      * 2. prints the initialization screen of the game
      *
      * For each round iteration:
      *
-     *      1. set turn to STARTING_TURN;
-     *      2. resets player standing and set starting score for new round
-     *      3. set starting score for current round
-     *      4. initialize allStanding to true, allSitting to true, and roundEnded to false
+     *      1. starts the round in the game session, which:
+     *      2. sets turn to STARTING_TURN and resets player standing
+     *      3. sets starting score for current round
+     *      4. initializes allStanding to true, allSitting to true, and roundEnded to false
      *
      *      For each turn iteration:
      *
-     *          1. ask all human players if they want to sit and record
+     *          1. ask all human players if they want to sit and record (see SitPrompter)
      *          2. generates sitting decisions for all AI players
      *          3. print those players (AI and Human) who are standing
      *          4. update allSitting and allStanding variables
@@ -77,76 +87,214 @@ public class Rounds {
      * 3. prints the winner in console
      * 4. resets player scores
      *
+     * @param session the game to play, it holds the players, the dice and the state of the rounds.
+     * @param bf buffered reader to read the user input.
+     * @throws InterruptedException if the thread gets interrupted
+     * @throws IOException if something goes wrong with the bufferedReader
+     */
+    public Rounds(GameSession session, BufferedReader bf) throws InterruptedException, IOException {
+        this(session, bf, null);
+    }
+
+    /**
+     * Plays a game like Rounds(session, bf), saving a checkpoint after every turn. A session restored from a
+     * checkpoint (see GameSession.resume) goes on from the turn it was saved at instead of starting over.
+     * The checkpoint is discarded once the game is over.
+     *
+     * @param session the game to play, new or restored from a checkpoint.
      * @param bf buffered reader to read the user input.
+     * @param checkpoints where the checkpoints are saved, or null to save none
+     * @throws InterruptedException if the thread gets interrupted
+     * @throws IOException if something goes wrong with the bufferedReader
      */
-    public Rounds(BufferedReader bf) throws InterruptedException{
-        r = new Random();
+    public Rounds(GameSession session, BufferedReader bf, CheckpointWriter checkpoints)
+            throws InterruptedException, IOException {
+        this(session, new SitPrompter(session, bf), checkpoints);
+    }
+
+    /**
+     * Plays a game like Rounds(session, bf, checkpoints), asking the human players through a prompter, e.g. one
+     * with an input for every human or a deadline for the answers.
+     *
+     * @param session the game to play, new or restored from a checkpoint.
+     * @param prompter asks the human players whether they want to sit, every turn.
+     * @param checkpoints where the checkpoints are saved, or null to save none
+     * @throws InterruptedException if the thread gets interrupted
+     * @throws IOException if something goes wrong with the input of a human player
+     */
+    public Rounds(GameSession session, SitPrompter prompter, CheckpointWriter checkpoints)
+            throws InterruptedException, IOException {
+        this.session = session;
+        players = session.getPlayers();
+        out = session.getOut();
+        pacer = session.getPacer();
+        renderer = new FrameRenderer(out);
+        row = new StringBuilder();
+        leaderboard = players.getLeaderboard();
+        topRows = new int[SUMMARY_ROWS];
+        metrics = TurnMetrics.newRecorder();
+        spectators = SpectatorServer.newTable();
+        try {
+            play(prompter, checkpoints);
+        } finally {
+            spectators.close();
+            metrics.close();
+        }
+    }
+
+    /**
+     * Plays the game, see the constructors. Every phase of a turn is timed by metrics, the pauses of the
+     * pacer between the phases left out, and the table is published to the spectators after every turn.
+     *
+     * @param prompter asks the human players whether they want to sit.
+     * @param checkpoints where the checkpoints are saved, or null to save none
+     * @throws InterruptedException if the thread gets interrupted
+     * @throws IOException if something goes wrong with the input of a human player
+     */
+    private void play(SitPrompter prompter, CheckpointWriter checkpoints) throws InterruptedException, IOException {
+        /* a restored game is in the middle of a round, a new one has not rolled yet */
+        boolean resumed = !session.isFirstTurnOfGame();
 
         /* Prints the starting initialization menu */
         startSummary();
+        if (resumed) {
+            session.resumeGame();
+        } else {
+            session.startGame();
+        }
+        GameEvents.GameStart gameStart = new GameEvents.GameStart();
+        if (gameStart.shouldCommit()) {
+            gameStart.numDice = session.getDice().getNumOfDice();
+            gameStart.numHuman = players.getNumHuman();
+            gameStart.numAI = players.getNumAI();
+            gameStart.resumed = resumed;
+            gameStart.commit();
+        }
+        spectators.publish(session, null, Player.ZERO_SCORE);
 
-        for (int round = STARTING_ROUND; round < NUM_SKUNK_ROUNDS; round++) {
+        for (int round = session.getRound(); round < NUM_SKUNK_ROUNDS; round++) {
 
-            roundStart(round);
+            if (resumed) {
+                out.printf("\nRESUMING ROUND %s AFTER TURN %d.\n", ROUNDS[round], session.getTurn());
+                resumed = false;
+            } else {
+                roundStart(round);
 
-            /* Initializes the variables for each round */
-            int turn = STARTING_TURN;
-            setStartingScoreForCurrentRound();
-            Player.resetAllStanding();
-            roundEnded = false;
-            allStanding = true;
-            allSitting = true;
+                /* Initializes the variables for each round */
+                session.startRound(round);
+            }
+            GameEvents.RoundStart roundStart = new GameEvents.RoundStart();
+            if (roundStart.shouldCommit()) {
+                roundStart.round = ROUNDS[round];
+                roundStart.commit();
+            }
 
-            while (!roundEnded) {
-                doYouWantToSit(bf);
+            while (!session.isRoundEnded()) {
+                GameEvents.Turn turnEvent = new GameEvents.Turn();
+                turnEvent.begin();
+                pacer.startTurn();
+                long time = metrics.startTurn();
+                prompter.collect();
+                metrics.record(TurnMetrics.PROMPT, time);
 
                 // updates AI and Human Player's decisions as well as allStanding/allSitting variables.
-                waiting("Waiting for AI to make decisions", WAITING_TIME_SEC);
-                if (!(turn == STARTING_TURN && round == STARTING_ROUND)) {
-                    AISitDecision();
+                pacer.animate(out, "Waiting for AI to make decisions", WAITING_TIME_SEC);
+                time = metrics.start();
+                if (!session.isFirstTurnOfGame()) {
+                    session.AISitDecision();
                 }
+                metrics.record(TurnMetrics.AI_DECISION, time);
                 printStanding();
-                updateAllSitAndStand();
+                session.updateAllSitAndStand();
+                int numStanding = players.getNumStanding();
 
                 /* rolls the dice */
-                int[] curRoll = Dice.rollDice();
-                int curPoints = getCurrentPoint(curRoll);
-
-                /* updates the points for the standing players */
-                updatePoints(curPoints);
-
-                /* increments turn */
-                turn++;
-
-                /* prints the summary results for the current turn*/
-                turnSummaryTable(turn);
+                time = metrics.start();
+                int[] curRoll = session.getDice().rollDice(out, pacer);
+                time = metrics.record(TurnMetrics.ROLL, time);
+
+                /* updates the points for the standing players, then increments turn */
+                int code = RollScorer.pack(curRoll);
+                session.applyRoll(code);
+                int points = RollScorer.scoreCode(curRoll.length, code);
+                metrics.countRoll(points);
+                session.endTurn();
+                metrics.count(TurnMetrics.TURNS);
+                if (checkpoints != null) {
+                    checkpoints.save(session.checkpoint());
+                }
+                time = metrics.record(TurnMetrics.SCORING, time);
+
+                /* shows the table to the spectators and prints the summary results for the current turn */
+                spectators.publish(session, curRoll, points);
+                turnSummaryTable(session.getTurn());
+                metrics.record(TurnMetrics.RENDERING, time);
+
+                turnEvent.end();
+                if (turnEvent.shouldCommit()) {
+                    turnEvent.round = ROUNDS[round];
+                    turnEvent.turn = session.getTurn();
+                    turnEvent.numStanding = numStanding;
+                    turnEvent.points = points;
+                    turnEvent.commit();
+                }
 
                 /* breaks out of the while loop if roundEnded is true*/
-                if (roundEnded) {
-                    System.out.print("\nROUND " + ROUNDS[round] + " ENDED.\n\n\n");
+                if (session.isRoundEnded()) {
+                    out.print("\nROUND " + ROUNDS[round] + " ENDED.\n\n\n");
                 }
             }
 
             //Round summary:
-            System.out.printf("\nSUMMARY OF ROUND %s:\n", ROUNDS[round]);
+            out.printf("\nSUMMARY OF ROUND %s:\n", ROUNDS[round]);
             roundSummaryTable(round);
+            metrics.count(TurnMetrics.ROUNDS);
+            GameEvents.RoundEnd roundEnd = new GameEvents.RoundEnd();
+            if (roundEnd.shouldCommit()) {
+                roundEnd.round = ROUNDS[round];
+                roundEnd.turns = session.getTurn();
+                roundEnd.topScore = leaderboard.getTopScore();
+                roundEnd.commit();
+            }
         }
         /* calculates and prints the winner */
         printWinner();
+        finalScores = players.getScores().clone();
+        session.endGame();
+        metrics.count(TurnMetrics.GAMES);
+        GameEvents.GameEnd gameEnd = new GameEvents.GameEnd();
+        if (gameEnd.shouldCommit()) {
+            gameEnd.numPlayers = players.getNumPlayers();
+            gameEnd.topScore = leaderboard.getTopScore();
+            gameEnd.numWinners = leaderboard.countTied(gameEnd.topScore);
+            gameEnd.commit();
+        }
+        if (checkpoints != null) {
+            checkpoints.discard();
+        }
 
         /* reset the score for next round */
-        Player.resetScores();
+        session.resetScores();
+    }
+
+    /**
+     * @return the scores of the players at the end of the game, since they are reset for the next game
+     */
+    public int[] getFinalScores() {
+        return finalScores.clone();
     }
 
     /**
      * Prints the starting game summary
+     *
+     * @throws InterruptedException if the thread gets interrupted
      */
-    private void startSummary() {
-        System.out.print("\n\n--------------------------------------------------------------\n" +
+    private void startSummary() throws InterruptedException {
+        out.print("\n\n--------------------------------------------------------------\n" +
                 "\t\t\t\tSTARTING SKUNK GAME:\n" +
                 "--------------------------------------------------------------\n\n");
         /* creates a pause in game with animation and a message */
-        waiting("Initializing interface...", WAITING_TIME_SEC);
+        pacer.animate(out, "Initializing interface...", WAITING_TIME_SEC);
     }
 
     /**
@@ -155,7 +303,7 @@ public class Rounds {
      * @param round the current round
      */
     private void roundStart(int round) {
-        System.out.printf("\n\n--------------------------------------------------------------\n" +
+        out.printf("\n\n--------------------------------------------------------------\n" +
                 "\t\t\t\tStarting Round %s\n" +
                 "--------------------------------------------------------------\n\n", ROUNDS[round]);
     }
@@ -176,189 +324,132 @@ public class Rounds {
     }
 
     /**
-     * generates the rows given String to match the column size. We fill the col string with spaces so it is
-     * the same length as the String ent.
+     * appends one column of a table row: ent is written in a column as wide as the title col, and cut if it
+     * is longer than col.
      *
+     * @param row the row of the table
      * @param ent a string
-     * @param col a string to be compared to
-     * @return a string of length col, that has ent right in the middle and left right side populated with spaces.
+     * @param col the title of the column
      */
-    private String generateColumn(String ent, String col) {
-        String ret = EMPTY_STRING;
+    private void appendColumn(StringBuilder row, String ent, String col) {
+        row.append(EMPTY_CHAR);
         if (ent.length() < col.length()) {
-            ret += fillString(FILL_ONE_EMPTY_SPACE, EMPTY_CHAR) + ent +
-                    fillString(col.length() - ent.length() + Player.ONE_INCREMENT, EMPTY_CHAR) + VERTICAL_CHAR;
+            row.append(ent);
+            for (int curChar = ent.length(); curChar <= col.length(); curChar++) {
+                row.append(EMPTY_CHAR);
+            }
         } else {
-            ret += fillString(FILL_ONE_EMPTY_SPACE, EMPTY_CHAR) + ent.substring(Player.STARTING_INDEX, col.length()) +
-                    fillString(FILL_ONE_EMPTY_SPACE, EMPTY_CHAR) + VERTICAL_CHAR;
+            row.append(ent, Player.STARTING_INDEX, col.length()).append(EMPTY_CHAR);
         }
-        return ret;
+        row.append(VERTICAL_CHAR);
     }
 
     /**
-     * prints a table summary of the current turn
+     * prints a table summary of the current turn. The table is drawn as one frame, one row more at a time.
      *
      * @param turn the current turn
      * @throws InterruptedException if the thread gets interrupted
      */
     private void turnSummaryTable(int turn) throws InterruptedException{
-        System.out.printf("\n--------------------------------------------------------------\n" +
+        renderer.addLines(String.format("\n--------------------------------------------------------------\n" +
                 "\t\t\t\tTURN %d SUMMARY:\n" +
-                "--------------------------------------------------------------\n\n", turn);
+                "--------------------------------------------------------------\n\n", turn));
 
         /* column titles */
         String c1 = "Name of Player Team", c2 = "Score this Round", c3 = "Total Score", c4 = "Standing?";
-        System.out.printf("\n %s | %s | %s | %s \n", c1, c2, c3, c4);
+        renderer.addLines(String.format("\n %s | %s | %s | %s \n", c1, c2, c3, c4));
+        renderer.render();
 
         /* gets the number of players */
-        int numRows = Player.getNumHuman() + Player.getNumAI();
+        int numRows = players.getNumHuman() + players.getNumAI();
 
-        String[] rowsString = new String[numRows];
-        Arrays.fill(rowsString, EMPTY_STRING);
-
-        Thread.sleep(THREAD_SLEEP_TIME_MILLISEC);
+        pacer.pause(THREAD_SLEEP_TIME_MILLISEC);
 
         /* displays the player stats one at a time with delay */
         for (int index = Player.STARTING_INDEX; index < numRows; index ++) {
+            row.setLength(Player.STARTING_INDEX);
 
             //gets the name
-            String name = (index < Player.getNumHuman()) ? Player.getHumanNames()[index] :
-                    Player.getTheAINames()[index - Player.getNumHuman()];
-            rowsString[index] += generateColumn(name, c1);
+            appendColumn(row, players.getName(index), c1);
 
             //gets the score this round
-            String scoreRound = Integer.toString(scoresCurrentRound[index]);
-            rowsString[index] += generateColumn(scoreRound, c2);
+            appendColumn(row, Integer.toString(session.getScoresCurrentRound()[index]), c2);
 
             //gets the total score
-            String totalScore = Integer.toString(Player.getScores()[index]);
-            rowsString[index] += generateColumn(totalScore, c3);
+            appendColumn(row, Integer.toString(players.getScores()[index]), c3);
 
             //gets if the current player is standing
-            String standing = Player.getStanding()[index] ? "Yes" : "No";
-            rowsString[index] += generateColumn(standing, c4);
+            appendColumn(row, players.isStanding(index) ? "Yes" : "No", c4);
 
-            System.out.print("---------------------+------------------+-------------+-----------\n");
-            System.out.print(rowsString[index] + "\n");
+            renderer.addLine("---------------------+------------------+-------------+-----------");
+            renderer.addLine(row);
+            renderer.render();
 
-            Thread.sleep(THREAD_SLEEP_TIME_MILLISEC);
+            pacer.pause(THREAD_SLEEP_TIME_MILLISEC);
         }
 
-        Thread.sleep(THREAD_SLEEP_TIME_MILLISEC);
-        System.out.printf("\nEND OF TURN %d\n\n", turn);
+        pacer.pause(THREAD_SLEEP_TIME_MILLISEC);
+        renderer.addLines(String.format("\nEND OF TURN %d\n\n", turn));
+        renderer.render();
     }
 
     /**
-     * prints the stats summary for the end of a round
+     * prints the stats summary for the end of a round. The table is drawn as one frame, one row more at a time.
+     * Only the first SUMMARY_ROWS places are listed, taken from the leaderboard, so big tables print as fast
+     * as small ones.
      *
      * @param round the current round
      * @throws InterruptedException if the thread gets interrupted
      */
     private void roundSummaryTable(int round) throws InterruptedException {
-        System.out.printf("\n--------------------------------------------------------------\n" +
+        renderer.addLines(String.format("\n--------------------------------------------------------------\n" +
                 "\t\t\t\tROUND %d SUMMARY:\n" +
-                "--------------------------------------------------------------\n\n", round + Player.ONE_INCREMENT);
+                "--------------------------------------------------------------\n\n", round + Player.ONE_INCREMENT));
 
         /* column titles */
         String c1 = "Name of Player Team", c2 = "Total Score so Far";
-        System.out.printf("\n %s | %s \n", c1, c2);
-
-        Thread.sleep(THREAD_SLEEP_TIME_MILLISEC);
+        renderer.addLines(String.format("\n %s | %s \n", c1, c2));
+        renderer.render();
 
-        int numRows = Player.getNumHuman() + Player.getNumAI();
+        pacer.pause(THREAD_SLEEP_TIME_MILLISEC);
 
-        String[] rowsString = new String[numRows];
-        Arrays.fill(rowsString, EMPTY_STRING);
+        /* the first SUMMARY_ROWS places only, whatever the number of players */
+        int numRows = leaderboard.top(topRows);
 
-        /* displays the player stats one at a time with delay */
-        for (int index = Player.STARTING_INDEX; index < numRows; index ++) {
-            String name = (index < Player.getNumHuman()) ? Player.getHumanNames()[index] :
-                    Player.getTheAINames()[index - Player.getNumHuman()];
-            rowsString[index] += generateColumn(name, c1);
+        /* displays the player stats one at a time with delay, the highest score first */
+        for (int rank = Player.STARTING_INDEX; rank < numRows; rank++) {
+            int index = topRows[rank];
+            row.setLength(Player.STARTING_INDEX);
+            appendColumn(row, players.getName(index), c1);
+            appendColumn(row, Integer.toString(players.getScores()[index]), c2);
 
-            String totalScore = Integer.toString(Player.getScores()[index]);
-            rowsString[index] += generateColumn(totalScore, c2);
-
-            System.out.print("---------------------+--------------------\n");
-            System.out.print(rowsString[index] + "\n");
-
-            Thread.sleep(THREAD_SLEEP_TIME_MILLISEC);
-        }
-        Thread.sleep(THREAD_SLEEP_TIME_MILLISEC);
-    }
-
-    /**
-     * prints those that are still standing separated by a space.
-     */
-    private void printStanding() {
-        System.out.print("\n\nAfter deciding, these are the players still standing:\n");
-        for (int index = Player.STARTING_INDEX; index < Player.getScores().length; index++){
-            if (Player.getStanding()[index]) {
-                String player = (index < Player.getNumHuman()) ? Player.getHumanNames()[index] :
-                        Player.getTheAINames()[index - Player.getNumHuman()];
-                System.out.print( player + " ");
-            }
-        }
-        System.out.println("\n");
-    }
-
-    /**
-     * initializes the starting score to scoresCurrentRound array for current round
-     */
-    private void setStartingScoreForCurrentRound() {
-        scoresCurrentRound = new int[Player.getNumHuman() + Player.getNumAI()];
-    }
+            renderer.addLine("---------------------+--------------------");
+            renderer.addLine(row);
+            renderer.render();
 
-    /**
-     * prompts the current human player if he/she wants to sit and records it. Player must enter yes
-     * or no (ignoring case). Helper function.
-     *
-     * @param bf to read the current player inputs
-     * @param index the current index of the human player
-     */
-    private void promptUserToSit(BufferedReader bf, int index) {
-        System.out.printf("\nDo you Player %s (# %d) want to sit? ", Player.getHumanNames()[index], (index + 1));
-        while (true) {
-            try {
-                String ans = bf.readLine();
-                if (!ans.equalsIgnoreCase("yes") && !ans.equalsIgnoreCase("No")) {
-                    throw new Exception("Please enter yes or no");
-                }
-                Player.setStandingForIndex(index, !ans.equalsIgnoreCase("yes"));
-                break;
-            } catch (Exception e) {
-                System.out.println(e.getMessage());
-            }
+            pacer.pause(THREAD_SLEEP_TIME_MILLISEC);
         }
-    }
-
-    /**
-     * loops through all the human users and asks if they want to sit.
-     *
-     * @param bf to read the target input
-     */
-    private void doYouWantToSit(BufferedReader bf) {
-        boolean[] standing = Player.getStanding();
-        for (int index = Player.STARTING_INDEX; index < Player.getNumHuman(); index++) {
-            boolean curPlayerStand = standing[index];
-            if (curPlayerStand) {
-                promptUserToSit(bf, index);
-            }
+        if (numRows < players.getNumPlayers()) {
+            renderer.addLine(String.format("... and %d more players", players.getNumPlayers() - numRows));
+            renderer.render();
         }
+        pacer.pause(THREAD_SLEEP_TIME_MILLISEC);
     }
 
     /**
-     * decides whether the computer sits or stand based on random
+     * prints those that are still standing separated by a space, as one frame.
      */
-    private void AISitDecision() {
-        for (int index = Player.getNumHuman(); index < Player.getScores().length; index++) {
-            if (Player.getStanding()[index]) {
-                int percentage = (Dice.getNumOfDice() == Dice.TWO_DICE) ?
-                                  Player.TWO_DICE_SIT_PERCENTAGE : Player.THREE_DICE_SIT_PERCENTAGE;
-                boolean decision = r.nextInt(Player.ONE_HUNDRED_PERCENT) > percentage;
-                Player.setStandingForIndex(index, decision);
+    private void printStanding() {
+        renderer.addLines("\n\nAfter deciding, these are the players still standing:\n");
+        row.setLength(Player.STARTING_INDEX);
+        for (int index = Player.STARTING_INDEX; index < players.getScores().length; index++){
+            if (players.isStanding(index)) {
+                row.append(players.getName(index)).append(EMPTY_CHAR);
             }
         }
+        renderer.addLine(row);
+        renderer.addLine(EMPTY_STRING);
+        renderer.render();
     }
 
     /**
@@ -366,170 +457,42 @@ public class Rounds {
      *    0 means two ones are rolled. So all the total score gets set to 0 for standing players.
      *    -1 means one one is rolled. So the score for the current round is set to 0 for standing players.
      *
+     * The points are looked up in the precomputed tables of RollScorer.
+     *
      * @param roll array containing the values of the dice rolls
      * @return an integer -1, 0 or a positive integer.
      */
-    private int getCurrentPoint(int[] roll) {
-        if (roll.length == Dice.TWO_DICE) {
-            return (roll[Dice.FIRST_DICE_INDEX] == Dice.ROLLED_ONE ||
-                    roll[Dice.SECOND_DICE_INDEX] == Dice.ROLLED_ONE) ?
-                    ( (roll[Dice.FIRST_DICE_INDEX] == Dice.ROLLED_ONE &&
-                            roll[Dice.SECOND_DICE_INDEX] == Dice.ROLLED_ONE) ? DICE_ROLLS_TWO1 : DICE_ROLLS_ONE1) :
-                      (roll[Dice.FIRST_DICE_INDEX] + roll[Dice.SECOND_DICE_INDEX]);
-        } else {
-            if (roll[Dice.FIRST_DICE_INDEX] == Dice.ROLLED_ONE && roll[Dice.SECOND_DICE_INDEX] == Dice.ROLLED_ONE &&
-                    roll[Dice.THIRD_DICE_INDEX] == Dice.ROLLED_ONE) {
-                return DICE_ROLLS_THREE1;
-            } else if (roll[Dice.FIRST_DICE_INDEX] == Dice.ROLLED_ONE ?
-                       (roll[Dice.SECOND_DICE_INDEX] == Dice.ROLLED_ONE ||
-                               roll[Dice.THIRD_DICE_INDEX] == Dice.ROLLED_ONE) :
-                       (roll[Dice.SECOND_DICE_INDEX] == Dice.ROLLED_ONE &&
-                               roll[Dice.THIRD_DICE_INDEX] == Dice.ROLLED_ONE)) {
-                return DICE_ROLLS_TWO1;
-            } else if (roll[Dice.FIRST_DICE_INDEX] == Dice.ROLLED_ONE ||
-                       roll[Dice.SECOND_DICE_INDEX] == Dice.ROLLED_ONE ||
-                       roll[Dice.THIRD_DICE_INDEX] == Dice.ROLLED_ONE) {
-                return DICE_ROLLS_ONE1;
-            } else {
-                return roll[Dice.FIRST_DICE_INDEX] + roll[Dice.SECOND_DICE_INDEX] + roll[Dice.THIRD_DICE_INDEX];
-            }
-        }
-    }
-
-    /**
-     * updates if all players are standing (allStanding = True) and if all players are sitting (allSitting = True).
-     */
-    private void updateAllSitAndStand() {
-        allSitting = true;
-        allStanding = true;
-        for (int index = Player.STARTING_INDEX; index < Player.getStanding().length; index++) {
-            allStanding = allStanding && Player.getStanding()[index];
-            allSitting = allSitting && !Player.getStanding()[index];
-        }
-    }
-
-    /**
-     * update points for standing players when a positive point (input) is rolled. Adds
-     * the points gained to all score record keepers. Used as a helper function for updatePoints
-     *
-     * @param points must be positive
-     */
-    private void gainedInCurRound(int points) {
-        for (int index = Player.STARTING_INDEX; index < scoresCurrentRound.length; index++){
-            if (Player.getStanding()[index]) {
-                scoresCurrentRound[index] += points;
-                Player.setPointsForIndex(index, Player.getScores()[index] + points);
-            }
-        }
-    }
-
-    /**
-     * update points for standing players when -1 (one one) is rolled. Used as a helper function
-     * for updatePoints method.
-     */
-    private void lostInCurRound(){
-        for (int index = Player.STARTING_INDEX; index < scoresCurrentRound.length; index++){
-            if (Player.getStanding()[index]) {
-                Player.setPointsForIndex(index, Player.getScores()[index] - scoresCurrentRound[index]);
-                scoresCurrentRound[index] = Player.ZERO_SCORE;
-            }
-        }
-    }
-
-    /**
-     * updates points for standing players when 0 (two ones) is rolled. Used as a helper function
-     * for updatePoints method.
-     */
-    private void loseAllPoints() {
-        for (int index = Player.STARTING_INDEX; index < scoresCurrentRound.length; index++){
-            if (Player.getStanding()[index]) {
-                Player.setPointsForIndex(index, Player.ZERO_SCORE);
-                scoresCurrentRound[index] = Player.ZERO_SCORE;
-            }
-        }
+    static int getCurrentPoint(int[] roll) {
+        return RollScorer.score(roll);
     }
 
     /**
-     * updates the scores for all players given the current roll of the dice. The scores are updated
-     * also depending on the allSitting or allStanding variables. Here we also set the roundEnded
-     * depending on the points and allSitting variable.
-     *
-     * @param points the translated points from a roll of dice
-     */
-    private void updatePoints(int points) {
-        if (points < DICE_ROLLS_ONE1) {
-            throw new IllegalArgumentException("Error points cannot be lower than -1");
-        }
-
-        if (points == DICE_ROLLS_TWO1 && !allStanding) {
-            loseAllPoints();
-            roundEnded = true;
-        } else if (points == DICE_ROLLS_ONE1 && !allStanding) {
-            lostInCurRound();
-            roundEnded = true;
-        } else if (allSitting) {
-            roundEnded = true;
-        } else if (points > DICE_ROLLS_TWO1) {
-            gainedInCurRound(points);
-        }
-    }
-
-    /**
-     * For waiting animation effects. Calls upon the ConsoleHelper class for animation effects.
-     *
-     * @param message waiting message
-     * @param iterations number of animated frames.
-     */
-    protected static void waiting(String message, int iterations){
-        ConsoleHelper helper = new ConsoleHelper();
-
-        for (int iter = Player.STARTING_INDEX; iter < iterations; iter++) {
-            helper.animate(message);
-
-            /* pause between each frame */
-            try {
-                Thread.sleep(THREAD_SLEEP_TIME_MILLISEC);
-            } catch (Exception e){
-                System.out.println("Error");
-            }
-        }
-    }
-
-    /**
-     * Prints the winner
+     * Prints the winner, as one frame
      */
     private void printWinner() {
-        /* determines the index of the winning player in scores */
-        int maxScore = Integer.MIN_VALUE;
-        ArrayList<Integer> maxScoreIndices = new ArrayList<>();
-        for (int index = Player.STARTING_INDEX; index < Player.getScores().length; index++) {
-            if (maxScore < Player.getScores()[index]) {
-                maxScore = Player.getScores()[index];
-            }
-        }
-
-        /* adds all indices where the score is maximum score */
-        for (int index = Player.STARTING_INDEX; index < Player.getScores().length; index++) {
-            if (maxScore == Player.getScores()[index]) {
-                maxScoreIndices.add(index);
-            }
+        /* the winners are the tie group of the highest score, in the order of the players */
+        int maxScore = leaderboard.getTopScore();
+        int[] maxScoreIndices = new int[leaderboard.countTied(maxScore)];
+        int numWinners = Player.ZERO_SCORE;
+        for (int index = leaderboard.firstWithScore(maxScore); index != Player.NO_PLAYER;
+             index = leaderboard.nextTied(index)) {
+            maxScoreIndices[numWinners++] = index;
         }
+        Arrays.sort(maxScoreIndices);
 
         /* extracts the name of the winner (can be AI or Human) */
-        String[] winners = new String[maxScoreIndices.size()];
+        String[] winners = new String[maxScoreIndices.length];
 
-        for (int index = Player.STARTING_INDEX; index < maxScoreIndices.size(); index++) {
-            int curMaxInd = maxScoreIndices.get(index);
-            winners[index] = (curMaxInd < Player.getNumHuman()) ? Player.getHumanNames()[curMaxInd] :
-                    Player.getTheAINames()[curMaxInd - Player.getNumHuman()];
+        for (int index = Player.STARTING_INDEX; index < maxScoreIndices.length; index++) {
+            winners[index] = players.getName(maxScoreIndices[index]);
         }
 
         /* formats the winner string so that it fits into the ASCII art below */
-        System.out.print("\n\n\n******************************************************************\n" +
+        renderer.addLines("\n\n\n******************************************************************\n" +
                 "                         CONGRATULATIONS!\n" +
                 "*******************************************************************\n" +
                 "        *                                                 *\n");
-        for (int index = Player.STARTING_INDEX; index < maxScoreIndices.size(); index++) {
+        for (int index = Player.STARTING_INDEX; index < maxScoreIndices.length; index++) {
             String winner = winners[index];
             int strLength = winner.length();
             int front = (ASTERIX_STRING_LENGTH - strLength) / PARITY_CHECKER;
@@ -538,15 +501,16 @@ public class Rounds {
 
             /* prints the ASCII art displaying the winning player */
 
-            System.out.printf("                         *--------------*\n" +
+            renderer.addLines(String.format("                         *--------------*\n" +
                     "                         |  WINNER IS:  |\n" +
                     "                **********************************\n" +
                     "                |%s|\n" +
                     "                **********************************\n" +
-                    "        *                                                 *\n", winner);
+                    "        *                                                 *\n", winner));
         }
-        System.out.print("*******************************************************************\n" +
+        renderer.addLines("*******************************************************************\n" +
                 "                         END OF THE GAME.\n" +
                 "*******************************************************************\n\n\n");
+        renderer.render();
     }
 }
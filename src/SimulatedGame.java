@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+/**
+ * This class plays complete skunk games between AI players without any console output, pauses or prompts.
+ * The rules are applied by a GameSession, the same way as in the console game (see Rounds), only the
+ * printing and the human prompts are left out.
+ *
+ * The standard dice are rolled as RollScorer codes, any other variant (see DiceVariant) as packed face counts,
+ * so the house variants are played by the same loop at the same speed.
+ *
+ * One instance should only be used by one thread. It can play any number of games one after the other.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public class SimulatedGame {
+    private final GameSession session;
+    private final boolean standard;
+
+    /**
+     * @param numDice the number of dice, two or three.
+     * @param numSeats the number of AI players at the table
+     * @param sitPercentage the percentage used by the AI to decide if it sits (between 0 and 99)
+     * @param r the random generator used for the dice and the AI decisions
+     */
+    public SimulatedGame(int numDice, int numSeats, int sitPercentage, RandomSource r) {
+        this(DiceVariant.standard(numDice), numSeats, sitPercentage, r);
+    }
+
+    /**
+     * @param variant the number of dice, their number of faces and the points of the ones
+     * @param numSeats the number of AI players at the table
+     * @param sitPercentage the percentage used by the AI to decide if it sits (between 0 and 99)
+     * @param r the random generator used for the dice and the AI decisions
+     */
+    public SimulatedGame(DiceVariant variant, int numSeats, int sitPercentage, RandomSource r) {
+        if (numSeats <= Player.ZERO_SCORE) {
+            throw new IllegalArgumentException("There must be at least ONE player.");
+        }
+        session = new GameSession(variant, new Player(new String[Player.ZERO_SCORE], numSeats), r);
+        session.setSitPercentage(sitPercentage);
+        standard = variant.isStandard();
+    }
+
+    /**
+     * @return the game session that is played
+     */
+    public GameSession getSession() {
+        return session;
+    }
+
+    /**
+     * Plays one complete game of NUM_SKUNK_ROUNDS rounds and records it.
+     *
+     * @param result where the round lengths and the final scores are recorded
+     */
+    public void play(SimulationResult result) {
+        session.resetScores();
+        session.startGame();
+
+        for (int round = Rounds.STARTING_ROUND; round < Rounds.NUM_SKUNK_ROUNDS; round++) {
+            result.recordRound(playRound(round));
+        }
+        session.endGame();
+        result.recordGame(session.getPlayers().getScores());
+    }
+
+    /**
+     * Plays one round, keeping the total scores of the previous rounds.
+     *
+     * @param round the current round
+     * @return the number of turns the round lasted
+     */
+    int playRound(int round) {
+        session.startRound(round);
+
+        while (!session.isRoundEnded()) {
+            /* the AI does not decide before the very first roll of the game */
+            if (!session.isFirstTurnOfGame()) {
+                session.AISitDecision();
+            }
+            session.updateAllSitAndStand();
+            if (standard) {
+                session.applyRoll(session.getDice().rollCode());
+            } else {
+                session.applyPackedRoll(session.getDice().rollPacked());
+            }
+            session.endTurn();
+        }
+        return session.getTurn();
+    }
+}
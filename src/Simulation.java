@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ ***********************************************************
+ * RUN THIS FILE TO SIMULATE GAMES WITHOUT THE CONSOLE
+ ***********************************************************
+ */
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class plays a large number of headless skunk games (see SimulatedGame) spread across every core with
+ * fork/join. The games are split in halves until each task has at most GAMES_PER_TASK games, and the results
+ * of the halves are merged on the way back.
+ *
+ * Every task seeds its own random generator from the simulation seed and the index of its first game, so a
+ * simulation with the same seed always gives the same result no matter how the work gets split.
+ *
+ * The standard game is simulated with two and with three dice, followed by every variant given after the sit
+ * percentages (see DiceVariant), e.g. 5d8 or 4d10:-1,0,0,500. The variants use the two dice sit percentage
+ * with fewer than three dice and the three dice sit percentage otherwise.
+ *
+ * Usage: java Simulation [games] [seats] [seed] [two dice sit percentage] [three dice sit percentage]
+ *                        [variants...]
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public class Simulation extends RecursiveTask<SimulationResult> {
+    private static final long serialVersionUID = 1L;
+
+    private final DiceVariant variant;
+    private final int numSeats;
+    private final int sitPercentage;
+    private final long firstGame;
+    private final long numGames;
+    private final long seed;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final long GAMES_PER_TASK = 4096;
+    public static final long SEED_SPACING   = 0x9E3779B97F4A7C15L;
+    public static final long HALF           = 2;
+
+    public static final long DEFAULT_GAMES = 1000000;
+    public static final int DEFAULT_SEATS  = 4;
+    public static final long DEFAULT_SEED  = 2019;
+
+    public static final int GAMES_ARG         = 0;
+    public static final int SEATS_ARG         = 1;
+    public static final int SEED_ARG          = 2;
+    public static final int TWO_DICE_PCT_ARG   = 3;
+    public static final int THREE_DICE_PCT_ARG = 4;
+    public static final int FIRST_VARIANT_ARG  = 5;
+
+    public static final double NANOS_PER_SEC = 1e9;
+
+    /**
+     * @param numDice the number of dice, two or three.
+     * @param numSeats the number of AI players at the table
+     * @param sitPercentage the percentage used by the AI to decide if it sits
+     * @param numGames the number of games to play
+     * @param seed the seed of the simulation
+     */
+    public Simulation(int numDice, int numSeats, int sitPercentage, long numGames, long seed) {
+        this(DiceVariant.standard(numDice), numSeats, sitPercentage, Player.STARTING_INDEX, numGames, seed);
+    }
+
+    /**
+     * @param variant the dice of the games
+     * @param numSeats the number of AI players at the table
+     * @param sitPercentage the percentage used by the AI to decide if it sits
+     * @param numGames the number of games to play
+     * @param seed the seed of the simulation
+     */
+    public Simulation(DiceVariant variant, int numSeats, int sitPercentage, long numGames, long seed) {
+        this(variant, numSeats, sitPercentage, Player.STARTING_INDEX, numGames, seed);
+    }
+
+    /**
+     * Used to split a simulation into smaller tasks.
+     */
+    private Simulation(DiceVariant variant, int numSeats, int sitPercentage, long firstGame, long numGames,
+                       long seed) {
+        this.variant = variant;
+        this.numSeats = numSeats;
+        this.sitPercentage = sitPercentage;
+        this.firstGame = firstGame;
+        this.numGames = numGames;
+        this.seed = seed;
+    }
+
+    /**
+     * Plays the games directly when there are few enough of them, otherwise splits them in two halves.
+     *
+     * @return the merged results of all of the games of this task
+     */
+    @Override
+    protected SimulationResult compute() {
+        if (numGames <= GAMES_PER_TASK) {
+            SimulationResult result = new SimulationResult(variant, numSeats);
+            SimulatedGame game = new SimulatedGame(variant, numSeats, sitPercentage,
+                    new XoshiroRandomSource(seed + firstGame * SEED_SPACING));
+            /* only the standard dice can be replayed from the journal */
+            if (GameJournal.processJournal() != null && variant.isStandard()) {
+                game.getSession().setListener(GameJournal.processJournal().recorder());
+            }
+            for (long g = Player.STARTING_INDEX; g < numGames; g++) {
+                game.play(result);
+            }
+            return result;
+        }
+
+        long half = numGames / HALF;
+        Simulation left = new Simulation(variant, numSeats, sitPercentage, firstGame, half, seed);
+        Simulation right = new Simulation(variant, numSeats, sitPercentage, firstGame + half, numGames - half, seed);
+        left.fork();
+        return right.compute().merge(left.join());
+    }
+
+    /**
+     * Plays the games on the common fork/join pool.
+     *
+     * @param numDice the number of dice, two or three.
+     * @param numSeats the number of AI players at the table
+     * @param sitPercentage the percentage used by the AI to decide if it sits
+     * @param numGames the number of games to play
+     * @param seed the seed of the simulation
+     * @return the results of all of the games
+     */
+    public static SimulationResult run(int numDice, int numSeats, int sitPercentage, long numGames, long seed) {
+        return run(DiceVariant.standard(numDice), numSeats, sitPercentage, numGames, seed);
+    }
+
+    /**
+     * Plays the games on the common fork/join pool.
+     *
+     * @param variant the dice of the games
+     * @param numSeats the number of AI players at the table
+     * @param sitPercentage the percentage used by the AI to decide if it sits
+     * @param numGames the number of games to play
+     * @param seed the seed of the simulation
+     * @return the results of all of the games
+     */
+    public static SimulationResult run(DiceVariant variant, int numSeats, int sitPercentage, long numGames,
+                                       long seed) {
+        return ForkJoinPool.commonPool().invoke(new Simulation(variant, numSeats, sitPercentage, numGames, seed));
+    }
+
+    /**
+     * Plays a part of a simulation on the common fork/join pool, e.g. a unit of a distributed simulation (see
+     * SimulationCoordinator). The parts of a simulation can be played anywhere and merged in any order: the
+     * games of a part only depend on the seed and its first game.
+     *
+     * @param variant the dice of the games
+     * @param numSeats the number of AI players at the table
+     * @param sitPercentage the percentage used by the AI to decide if it sits
+     * @param firstGame the index of the first game of the part in the simulation
+     * @param numGames the number of games to play
+     * @param seed the seed of the simulation
+     * @return the results of the games of the part
+     */
+    public static SimulationResult run(DiceVariant variant, int numSeats, int sitPercentage, long firstGame,
+                                       long numGames, long seed) {
+        return ForkJoinPool.commonPool().invoke(new Simulation(variant, numSeats, sitPercentage, firstGame,
+                numGames, seed));
+    }
+
+    public static void main(String[] args) {
+        long games = (args.length > GAMES_ARG) ? Long.parseLong(args[GAMES_ARG]) : DEFAULT_GAMES;
+        int seats = (args.length > SEATS_ARG) ? Integer.parseInt(args[SEATS_ARG]) : DEFAULT_SEATS;
+        long seed = (args.length > SEED_ARG) ? Long.parseLong(args[SEED_ARG]) : DEFAULT_SEED;
+        int twoDicePct = (args.length > TWO_DICE_PCT_ARG) ?
+                Integer.parseInt(args[TWO_DICE_PCT_ARG]) : Player.TWO_DICE_SIT_PERCENTAGE;
+        int threeDicePct = (args.length > THREE_DICE_PCT_ARG) ?
+                Integer.parseInt(args[THREE_DICE_PCT_ARG]) : Player.THREE_DICE_SIT_PERCENTAGE;
+
+        System.out.printf("Simulating %d games with %d seats on %d threads (seed %d)\n",
+                games, seats, ForkJoinPool.commonPool().getParallelism(), seed);
+
+        DiceVariant[] variants = new DiceVariant[Dice.TWO_DICE + Math.max(args.length - FIRST_VARIANT_ARG,
+                Player.ZERO_SCORE)];
+        variants[Player.STARTING_INDEX] = DiceVariant.standard(Dice.TWO_DICE);
+        variants[Player.ONE_INCREMENT] = DiceVariant.standard(Dice.THREE_DICE);
+        for (int arg = FIRST_VARIANT_ARG; arg < args.length; arg++) {
+            variants[Dice.TWO_DICE + arg - FIRST_VARIANT_ARG] = DiceVariant.parse(args[arg]);
+        }
+
+        for (DiceVariant variant : variants) {
+            int sitPercentage = (variant.getNumDice() <= Dice.TWO_DICE) ? twoDicePct : threeDicePct;
+            long start = System.nanoTime();
+            SimulationResult result = run(variant, seats, sitPercentage, games, seed);
+            double seconds = (System.nanoTime() - start) / NANOS_PER_SEC;
+
+            System.out.print(result);
+            System.out.printf("Sit percentage %d, %.2f seconds (%.0f games/sec)\n",
+                    sitPercentage, seconds, games / seconds);
+        }
+    }
+}
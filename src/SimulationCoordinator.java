@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ ***********************************************************
+ * RUN THIS FILE TO SPREAD A SIMULATION OVER WORKER PROCESSES
+ ***********************************************************
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class spreads a sweep of simulations (see Simulation) over SimulationWorker processes on this host,
+ * e.g. to tune the sit percentage of the AI overnight: every sit percentage of the sweep plays the same
+ * seeded games, cut into units of a fixed number of games. The coordinator listens on the loopback address,
+ * starts the workers, hands out one unit at a time to every worker and merges the results of a unit as soon
+ * as it comes back. A worker that dies, or whose connection breaks, has its unit handed out again to another
+ * worker, so a crash only costs the unit in flight.
+ *
+ * The games of a unit only depend on the seed and the first game of the unit, and the results are sums, so
+ * the same seed and unit size always give the same results, no matter how many workers play them, in which
+ * order they come back or which workers die.
+ *
+ * Every worker gets an equal share of the cores for its fork/join pool. More workers can join a running
+ * sweep with "java SimulationWorker <port>", the port being printed at the start.
+ *
+ * Usage: java SimulationCoordinator [games] [seats] [seed] [sit percentages, e.g. 20,30,40] [variant]
+ *                                   [workers] [games per unit]
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public class SimulationCoordinator implements AutoCloseable {
+    private final DiceVariant variant;
+    private final int numSeats;
+    private final int[] sitPercentages;
+    private final long seed;
+    private final SimulationResult[] results;
+    private final BlockingQueue<Unit> pending;
+    private final CountDownLatch remaining;
+    private final AtomicInteger activeWorkers;
+    private final AtomicLong gamesPlayed;
+    private final List<Process> processes;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final int BACKLOG            = 64;
+    public static final long POLL_MILLIS       = 100;
+    public static final long PROGRESS_SECONDS  = 5;
+    public static final long SHUTDOWN_MILLIS   = 1000;
+    public static final double NANOS_PER_SEC   = 1e9;
+    public static final String PARALLELISM_PROPERTY = "java.util.concurrent.ForkJoinPool.common.parallelism";
+
+    public static final long DEFAULT_GAMES_PER_UNIT = 100000;
+    public static final String DEFAULT_VARIANT      = "2d6";
+
+    public static final int GAMES_ARG    = 0;
+    public static final int SEATS_ARG    = 1;
+    public static final int SEED_ARG     = 2;
+    public static final int SIT_PCT_ARG  = 3;
+    public static final int VARIANT_ARG  = 4;
+    public static final int WORKERS_ARG  = 5;
+    public static final int UNIT_ARG     = 6;
+
+    public static final double[] PERCENTILES = {10, 50, 90};
+
+    /**
+     * @param variant the dice of the games
+     * @param numSeats the number of AI players at the table
+     * @param sitPercentages the sit percentages of the sweep, every one playing the same games
+     * @param numGames the number of games of every sit percentage
+     * @param gamesPerUnit the number of games of a unit handed to a worker
+     * @param seed the seed of the simulations
+     * @throws IOException if the coordinator cannot listen on the loopback address
+     */
+    public SimulationCoordinator(DiceVariant variant, int numSeats, int[] sitPercentages, long numGames,
+                                 long gamesPerUnit, long seed) throws IOException {
+        if (gamesPerUnit <= Player.ZERO_SCORE) {
+            throw new IllegalArgumentException("A unit must have at least one game.");
+        }
+        this.variant = variant;
+        this.numSeats = numSeats;
+        this.sitPercentages = sitPercentages.clone();
+        this.seed = seed;
+        results = new SimulationResult[sitPercentages.length];
+        pending = new LinkedBlockingQueue<>();
+        for (int point = Player.STARTING_INDEX; point < sitPercentages.length; point++) {
+            results[point] = new SimulationResult(variant, numSeats);
+            for (long first = Player.STARTING_INDEX; first < numGames; first += gamesPerUnit) {
+                pending.add(new Unit(pending.size(), point, first, Math.min(gamesPerUnit, numGames - first)));
+            }
+        }
+        remaining = new CountDownLatch(pending.size());
+        activeWorkers = new AtomicInteger();
+        gamesPlayed = new AtomicLong();
+        processes = new ArrayList<>();
+        serverSocket = new ServerSocket(Player.ZERO_SCORE, BACKLOG, InetAddress.getLoopbackAddress());
+        connections = ThreadPerTask.newExecutor(true);
+    }
+
+    /**
+     * @return the port the coordinator listens on
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Starts worker processes with the same java and class path as this one, sharing the cores between them.
+     *
+     * @param numWorkers the number of workers to start
+     * @throws IOException if a worker cannot be started
+     */
+    public void startWorkers(int numWorkers) throws IOException {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        int parallelism = Math.max(Runtime.getRuntime().availableProcessors() / Math.max(numWorkers,
+                Player.ONE_INCREMENT), Player.ONE_INCREMENT);
+        for (int worker = Player.STARTING_INDEX; worker < numWorkers; worker++) {
+            processes.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    "-D" + PARALLELISM_PROPERTY + "=" + parallelism, SimulationWorker.class.getName(),
+                    String.valueOf(getPort())).inheritIO().start());
+        }
+    }
+
+    /**
+     * Hands out every unit and waits for all of them to come back, printing the progress every
+     * PROGRESS_SECONDS.
+     *
+     * @return the results of every sit percentage, in the order of the sweep
+     * @throws IOException if every worker started by the coordinator died with units left
+     * @throws InterruptedException if the thread gets interrupted
+     */
+    public SimulationResult[] run() throws IOException, InterruptedException {
+        Thread acceptor = new Thread(this::accept, "simulation-coordinator");
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        long units = remaining.getCount();
+        long start = System.nanoTime();
+        while (!remaining.await(PROGRESS_SECONDS, TimeUnit.SECONDS)) {
+            double seconds = (System.nanoTime() - start) / NANOS_PER_SEC;
+            System.out.printf("%d/%d units, %d workers, %.0f games/sec\n", units - remaining.getCount(), units,
+                    activeWorkers.get(), gamesPlayed.get() / seconds);
+            if (activeWorkers.get() == Player.ZERO_SCORE && !processes.isEmpty()
+                    && processes.stream().noneMatch(Process::isAlive)) {
+                throw new IOException("Every worker died with " + remaining.getCount() + " units left.");
+            }
+        }
+
+        SimulationResult[] merged = new SimulationResult[results.length];
+        for (int point = Player.STARTING_INDEX; point < results.length; point++) {
+            synchronized (results[point]) {
+                merged[point] = new SimulationResult(variant, numSeats).merge(results[point]);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Accepts workers until the coordinator is closed.
+     */
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                /* the server socket was closed */
+                break;
+            }
+            connections.execute(() -> handle(socket));
+        }
+    }
+
+    /**
+     * Hands out units to one worker until none is left, then tells it to STOP. If the connection breaks, the
+     * unit in flight goes back to the pending units.
+     *
+     * @param socket the connection of the worker
+     */
+    private void handle(Socket socket) {
+        Unit unit = null;
+        try (Socket s = socket) {
+            s.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+            if (in.readInt() != SimulationWorker.MAGIC || in.readInt() != SimulationWorker.FORMAT_VERSION) {
+                System.err.println("Not a simulation worker of version " + SimulationWorker.FORMAT_VERSION
+                        + ": " + s.getRemoteSocketAddress());
+                return;
+            }
+            activeWorkers.incrementAndGet();
+            try {
+                for (unit = nextUnit(); unit != null; unit = nextUnit()) {
+                    out.writeInt(unit.index);
+                    out.writeUTF(variant.toString());
+                    out.writeInt(numSeats);
+                    out.writeInt(sitPercentages[unit.point]);
+                    out.writeLong(unit.firstGame);
+                    out.writeLong(unit.numGames);
+                    out.writeLong(seed);
+                    out.flush();
+
+                    int index = in.readInt();
+                    SimulationResult partial = SimulationResult.readFrom(in, variant);
+                    if (index != unit.index || partial.getGames() != unit.numGames) {
+                        throw new IOException("The worker answered unit " + index + " with " + partial.getGames()
+                                + " games instead of unit " + unit.index + " with " + unit.numGames);
+                    }
+                    synchronized (results[unit.point]) {
+                        results[unit.point].merge(partial);
+                    }
+                    gamesPlayed.addAndGet(unit.numGames);
+                    unit = null;
+                    remaining.countDown();
+                }
+                out.writeInt(SimulationWorker.STOP);
+                out.flush();
+            } finally {
+                activeWorkers.decrementAndGet();
+            }
+        } catch (IOException e) {
+            if (unit != null) {
+                System.err.println("Lost a worker, handing out unit " + unit.index + " again: " + e);
+                pending.add(unit);
+            }
+        } catch (InterruptedException e) {
+            if (unit != null) {
+                pending.add(unit);
+            }
+        }
+    }
+
+    /**
+     * @return the next pending unit, or null once every unit has come back
+     * @throws InterruptedException if the thread gets interrupted
+     */
+    private Unit nextUnit() throws InterruptedException {
+        while (remaining.getCount() > Player.ZERO_SCORE) {
+            Unit unit = pending.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (unit != null) {
+                return unit;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stops listening, gives the workers SHUTDOWN_MILLIS to read STOP and exit, then kills the ones still
+     * running.
+     *
+     * @throws IOException if something goes wrong with the server socket
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdown();
+        try {
+            connections.awaitTermination(SHUTDOWN_MILLIS, TimeUnit.MILLISECONDS);
+            for (Process process : processes) {
+                process.waitFor(SHUTDOWN_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        connections.shutdownNow();
+        for (Process process : processes) {
+            process.destroy();
+        }
+    }
+
+    /**
+     * A part of the games of one sit percentage of the sweep.
+     */
+    private static final class Unit {
+        final int index;
+        final int point;
+        final long firstGame;
+        final long numGames;
+
+        Unit(int index, int point, long firstGame, long numGames) {
+            this.index = index;
+            this.point = point;
+            this.firstGame = firstGame;
+            this.numGames = numGames;
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        long games = (args.length > GAMES_ARG) ? Long.parseLong(args[GAMES_ARG]) : Simulation.DEFAULT_GAMES;
+        int seats = (args.length > SEATS_ARG) ? Integer.parseInt(args[SEATS_ARG]) : Simulation.DEFAULT_SEATS;
+        long seed = (args.length > SEED_ARG) ? Long.parseLong(args[SEED_ARG]) : Simulation.DEFAULT_SEED;
+        String[] sweep = ((args.length > SIT_PCT_ARG) ? args[SIT_PCT_ARG]
+                : String.valueOf(Player.TWO_DICE_SIT_PERCENTAGE)).split(DiceVariant.LIST_SEPARATOR);
+        int[] sitPercentages = new int[sweep.length];
+        for (int point = Player.STARTING_INDEX; point < sweep.length; point++) {
+            sitPercentages[point] = Integer.parseInt(sweep[point].trim());
+        }
+        DiceVariant variant = DiceVariant.parse((args.length > VARIANT_ARG) ? args[VARIANT_ARG] : DEFAULT_VARIANT);
+        int workers = (args.length > WORKERS_ARG) ? Integer.parseInt(args[WORKERS_ARG])
+                : Runtime.getRuntime().availableProcessors();
+        long gamesPerUnit = (args.length > UNIT_ARG) ? Long.parseLong(args[UNIT_ARG]) : DEFAULT_GAMES_PER_UNIT;
+
+        try (SimulationCoordinator coordinator = new SimulationCoordinator(variant, seats, sitPercentages, games,
+                gamesPerUnit, seed)) {
+            System.out.printf("Simulating %d games of %s with %d seats for each of %d sit percentages on %d "
+                    + "workers, %d games per unit (seed %d, port %d)\n", games, variant, seats,
+                    sitPercentages.length, workers, gamesPerUnit, seed, coordinator.getPort());
+            long start = System.nanoTime();
+            coordinator.startWorkers(workers);
+            SimulationResult[] results = coordinator.run();
+            double seconds = (System.nanoTime() - start) / NANOS_PER_SEC;
+
+            for (int point = Player.STARTING_INDEX; point < results.length; point++) {
+                System.out.print(results[point]);
+                System.out.printf("Sit percentage %d, final scores:", sitPercentages[point]);
+                for (double percentile : PERCENTILES) {
+                    System.out.printf(" p%.0f %d", percentile, results[point].getScorePercentile(percentile));
+                }
+                System.out.println();
+            }
+            System.out.printf("%.2f seconds (%.0f games/sec)\n", seconds, games * results.length / seconds);
+        }
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * This class accumulates the statistics of many headless skunk games played with the same dice and the same
+ * number of seats. The instance variables are defined as follows:
+ *     variant     = the dice used in every game, the standard two or three dice or a DiceVariant.
+ *     games       = the number of complete games recorded.
+ *     wins        = an array that stores, for each seat, the number of games that seat won outright.
+ *     ties        = an array that stores, for each seat, the number of games that seat shared the top score.
+ *     scoreTotals = an array that stores, for each seat, the sum of its final scores over all games.
+ *     scoreCounts = a histogram of the final scores of every seat, SCORE_BUCKET_WIDTH points per bucket, the
+ *                   last bucket holding every higher score.
+ *     rounds      = the number of rounds recorded (NUM_SKUNK_ROUNDS per game).
+ *     turns       = the number of turns recorded over all of those rounds.
+ *
+ * Results from different workers are combined with merge, so one instance should only be used by one thread.
+ * A result is sent between processes with writeTo and readFrom (see SimulationCoordinator).
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public class SimulationResult {
+    private final DiceVariant variant;
+    private final long[] wins;
+    private final long[] ties;
+    private final long[] scoreTotals;
+    private final long[] scoreCounts;
+    private long games;
+    private long rounds;
+    private long turns;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final double TO_PERCENT      = 100.0;
+    public static final int SCORE_BUCKET_WIDTH = 10;
+    public static final int NUM_SCORE_BUCKETS  = 101;
+
+    /**
+     * @param numDice the number of dice used in the games
+     * @param numSeats the number of seats at the table
+     */
+    public SimulationResult(int numDice, int numSeats) {
+        this(DiceVariant.standard(numDice), numSeats);
+    }
+
+    /**
+     * @param variant the dice used in the games
+     * @param numSeats the number of seats at the table
+     */
+    public SimulationResult(DiceVariant variant, int numSeats) {
+        this.variant = variant;
+        wins = new long[numSeats];
+        ties = new long[numSeats];
+        scoreTotals = new long[numSeats];
+        scoreCounts = new long[NUM_SCORE_BUCKETS];
+    }
+
+    /**
+     * Records the final scores of one complete game.
+     *
+     * @param scores the final score of each seat
+     */
+    public void recordGame(int[] scores) {
+        int maxScore = Integer.MIN_VALUE;
+        int numWinners = Player.STARTING_INDEX;
+        for (int seat = Player.STARTING_INDEX; seat < scores.length; seat++) {
+            scoreTotals[seat] += scores[seat];
+            scoreCounts[Math.min(Math.max(scores[seat], Player.ZERO_SCORE) / SCORE_BUCKET_WIDTH,
+                    NUM_SCORE_BUCKETS - Player.ONE_INCREMENT)]++;
+            if (scores[seat] > maxScore) {
+                maxScore = scores[seat];
+                numWinners = Player.ONE_INCREMENT;
+            } else if (scores[seat] == maxScore) {
+                numWinners++;
+            }
+        }
+
+        /* credits the winner, or every seat sharing the top score */
+        for (int seat = Player.STARTING_INDEX; seat < scores.length; seat++) {
+            if (scores[seat] == maxScore) {
+                if (numWinners == Player.ONE_INCREMENT) {
+                    wins[seat]++;
+                } else {
+                    ties[seat]++;
+                }
+            }
+        }
+        games++;
+    }
+
+    /**
+     * Records the length of one round.
+     *
+     * @param numTurns the number of turns the round lasted
+     */
+    public void recordRound(int numTurns) {
+        rounds++;
+        turns += numTurns;
+    }
+
+    /**
+     * Adds all of the statistics of other to this result.
+     *
+     * @param other a result for the same dice and seats
+     * @return this result
+     */
+    public SimulationResult merge(SimulationResult other) {
+        if (!other.variant.equals(variant) || other.wins.length != wins.length) {
+            throw new IllegalArgumentException("Cannot merge results of different game settings.");
+        }
+        for (int seat = Player.STARTING_INDEX; seat < wins.length; seat++) {
+            wins[seat] += other.wins[seat];
+            ties[seat] += other.ties[seat];
+            scoreTotals[seat] += other.scoreTotals[seat];
+        }
+        for (int bucket = Player.STARTING_INDEX; bucket < NUM_SCORE_BUCKETS; bucket++) {
+            scoreCounts[bucket] += other.scoreCounts[bucket];
+        }
+        games += other.games;
+        rounds += other.rounds;
+        turns += other.turns;
+        return this;
+    }
+
+    /**
+     * Swaps the statistics of two seats, e.g. when the players changed seats for these games.
+     *
+     * @param seat one seat
+     * @param other the other seat
+     * @return this result
+     */
+    public SimulationResult swapSeats(int seat, int other) {
+        swap(wins, seat, other);
+        swap(ties, seat, other);
+        swap(scoreTotals, seat, other);
+        return this;
+    }
+
+    /**
+     * @param values the statistics of every seat
+     * @param seat one seat
+     * @param other the other seat
+     */
+    private static void swap(long[] values, int seat, int other) {
+        long value = values[seat];
+        values[seat] = values[other];
+        values[other] = value;
+    }
+
+    /**
+     * @return the number of dice used in the games
+     */
+    public int getNumDice() {
+        return variant.getNumDice();
+    }
+
+    /**
+     * @return the dice used in the games
+     */
+    public DiceVariant getVariant() {
+        return variant;
+    }
+
+    /**
+     * @return the number of seats at the table
+     */
+    public int getNumSeats() {
+        return wins.length;
+    }
+
+    /**
+     * @return the number of complete games recorded
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * @param seat the index of the seat
+     * @return the number of games the seat won outright
+     */
+    public long getWins(int seat) {
+        return wins[seat];
+    }
+
+    /**
+     * @param seat the index of the seat
+     * @return the number of games the seat shared the top score
+     */
+    public long getTies(int seat) {
+        return ties[seat];
+    }
+
+    /**
+     * @param seat the index of the seat
+     * @return the fraction of games the seat won outright
+     */
+    public double getWinRate(int seat) {
+        return games == Player.ZERO_SCORE ? Player.ZERO_SCORE : (double) wins[seat] / games;
+    }
+
+    /**
+     * @param seat the index of the seat
+     * @return the fraction of games the seat shared the top score
+     */
+    public double getTieRate(int seat) {
+        return games == Player.ZERO_SCORE ? Player.ZERO_SCORE : (double) ties[seat] / games;
+    }
+
+    /**
+     * @param seat the index of the seat
+     * @return the average final score of the seat
+     */
+    public double getAverageScore(int seat) {
+        return games == Player.ZERO_SCORE ? Player.ZERO_SCORE : (double) scoreTotals[seat] / games;
+    }
+
+    /**
+     * @param percentile a percentile between 0 and 100
+     * @return the lowest score of the bucket of the histogram holding that percentile of the final scores of
+     *         every seat
+     */
+    public int getScorePercentile(double percentile) {
+        long total = games * wins.length;
+        long rank = (long) Math.ceil(total * percentile / TO_PERCENT);
+        long count = Player.ZERO_SCORE;
+        for (int bucket = Player.STARTING_INDEX; bucket < NUM_SCORE_BUCKETS; bucket++) {
+            count += scoreCounts[bucket];
+            if (count >= rank && count > Player.ZERO_SCORE) {
+                return bucket * SCORE_BUCKET_WIDTH;
+            }
+        }
+        return Player.ZERO_SCORE;
+    }
+
+    /**
+     * @param bucket the index of a bucket, the scores from bucket * SCORE_BUCKET_WIDTH
+     * @return the number of final scores of every seat in the bucket
+     */
+    public long getScoreCount(int bucket) {
+        return scoreCounts[bucket];
+    }
+
+    /**
+     * Writes the statistics, without the dice which the reader must already know.
+     *
+     * @param out where the statistics are written
+     * @throws IOException if something goes wrong with out
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(wins.length);
+        out.writeLong(games);
+        out.writeLong(rounds);
+        out.writeLong(turns);
+        for (int seat = Player.STARTING_INDEX; seat < wins.length; seat++) {
+            out.writeLong(wins[seat]);
+            out.writeLong(ties[seat]);
+            out.writeLong(scoreTotals[seat]);
+        }
+        for (int bucket = Player.STARTING_INDEX; bucket < NUM_SCORE_BUCKETS; bucket++) {
+            out.writeLong(scoreCounts[bucket]);
+        }
+    }
+
+    /**
+     * Reads the statistics written by writeTo.
+     *
+     * @param in where the statistics are read
+     * @param variant the dice used in the games
+     * @return the statistics
+     * @throws IOException if something goes wrong with in
+     */
+    public static SimulationResult readFrom(DataInput in, DiceVariant variant) throws IOException {
+        int numSeats = in.readInt();
+        if (numSeats < Player.ZERO_SCORE) {
+            throw new IOException("A result cannot have " + numSeats + " seats.");
+        }
+        SimulationResult result = new SimulationResult(variant, numSeats);
+        result.games = in.readLong();
+        result.rounds = in.readLong();
+        result.turns = in.readLong();
+        for (int seat = Player.STARTING_INDEX; seat < numSeats; seat++) {
+            result.wins[seat] = in.readLong();
+            result.ties[seat] = in.readLong();
+            result.scoreTotals[seat] = in.readLong();
+        }
+        for (int bucket = Player.STARTING_INDEX; bucket < NUM_SCORE_BUCKETS; bucket++) {
+            result.scoreCounts[bucket] = in.readLong();
+        }
+        return result;
+    }
+
+    /**
+     * @return the average number of turns in a round
+     */
+    public double getAverageRoundLength() {
+        return rounds == Player.ZERO_SCORE ? Player.ZERO_SCORE : (double) turns / rounds;
+    }
+
+    /**
+     * @return a table summary of the recorded games
+     */
+    @Override
+    public String toString() {
+        StringBuilder s = new StringBuilder();
+        s.append(String.format("\n%s DICE, %d SEATS, %d GAMES (average round length: %.3f turns)\n",
+                variant.isStandard() ? String.valueOf(variant.getNumDice()) : variant.toString(), wins.length,
+                games, getAverageRoundLength()));
+        s.append(String.format(" %-8s | %-10s | %-10s | %-13s\n", "Seat", "Win %", "Tie %", "Average Score"));
+        s.append("----------+------------+------------+---------------\n");
+        for (int seat = Player.STARTING_INDEX; seat < wins.length; seat++) {
+            s.append(String.format(" %-8d | %10.3f | %10.3f | %13.3f\n", seat + Player.ONE_INCREMENT,
+                    getWinRate(seat) * TO_PERCENT, getTieRate(seat) * TO_PERCENT, getAverageScore(seat)));
+        }
+        return s.toString();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ ***********************************************************
+ * RUN THIS FILE TO LEND A PROCESS TO A SIMULATION COORDINATOR
+ ***********************************************************
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class plays the work units of a SimulationCoordinator in its own JVM, every unit on the common
+ * fork/join pool (see Simulation.run). The coordinator usually starts the workers itself, but more can join
+ * a running simulation from another terminal of the same host.
+ *
+ * The worker connects to the coordinator and writes MAGIC and FORMAT_VERSION, then reads units until it
+ * reads STOP or the coordinator goes away:
+ *     unit      = int, the index of the unit, or STOP.
+ *     variant   = UTF, the dice written NdM (see DiceVariant).
+ *     seats     = int, the number of AI players at the table.
+ *     sit       = int, the sit percentage of the AI.
+ *     firstGame = long, the index of the first game of the unit in the simulation.
+ *     games     = long, the number of games of the unit.
+ *     seed      = long, the seed of the simulation.
+ * and answers every unit with its index followed by its results (see SimulationResult.writeTo).
+ *
+ * Usage: java SimulationWorker [host] port
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public class SimulationWorker {
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final int MAGIC          = 0x534B5344;
+    public static final int FORMAT_VERSION = 1;
+    public static final int STOP           = -1;
+
+    public static final int HOST_ARG = 0;
+    public static final int PORT_ARG = 1;
+
+    private SimulationWorker() {
+    }
+
+    /**
+     * Plays the units of a coordinator until it says STOP.
+     *
+     * @param socket the connection to the coordinator
+     * @return the number of units played
+     * @throws IOException if something goes wrong with the connection or the coordinator went away
+     */
+    public static long work(Socket socket) throws IOException {
+        socket.setTcpNoDelay(true);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.flush();
+
+        long unitsPlayed = Player.ZERO_SCORE;
+        for (int unit = in.readInt(); unit != STOP; unit = in.readInt()) {
+            DiceVariant variant = DiceVariant.parse(in.readUTF());
+            int numSeats = in.readInt();
+            int sitPercentage = in.readInt();
+            long firstGame = in.readLong();
+            long numGames = in.readLong();
+            long seed = in.readLong();
+
+            SimulationResult result = Simulation.run(variant, numSeats, sitPercentage, firstGame, numGames, seed);
+            out.writeInt(unit);
+            result.writeTo(out);
+            out.flush();
+            unitsPlayed++;
+        }
+        return unitsPlayed;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == Player.ZERO_SCORE) {
+            System.err.println("Usage: java SimulationWorker [host] port");
+            System.exit(Player.ONE_INCREMENT);
+        }
+        String host = (args.length > PORT_ARG) ? args[HOST_ARG] : InetAddress.getLoopbackAddress().getHostAddress();
+        int port = Integer.parseInt(args[args.length - Player.ONE_INCREMENT]);
+
+        try (Socket socket = new Socket(host, port)) {
+            System.err.printf("Worker %d: connected to %s:%d with %d threads\n", ProcessHandle.current().pid(),
+                    host, port, ForkJoinPool.commonPool().getParallelism());
+            long units = work(socket);
+            System.err.printf("Worker %d: played %d units\n", ProcessHandle.current().pid(), units);
+        } catch (EOFException e) {
+            System.err.printf("Worker %d: the coordinator went away\n", ProcessHandle.current().pid());
+        }
+    }
+}
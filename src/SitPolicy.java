@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+import java.nio.ShortBuffer;
+
+/**
+ * This class holds a sit or stand policy solved by PolicySolver for one number of dice. The solved decision
+ * only depends on the rounds left, the points banked before the current round and the points of the current
+ * round, and it is always a threshold: keep standing while the points of the round are below the threshold
+ * of (rounds left, banked points), sit as soon as they reach it. So the whole policy is one small table of
+ * thresholds, and every decision is a single array lookup.
+ *
+ * Banked totals above MAX_BANKED use the threshold of MAX_BANKED, which is always to sit right away.
+ *
+ * The thresholds are read through a ShortBuffer, either wrapping an array fresh from the solver or mapped
+ * from a policy file (see PolicyFile) without copying it onto the heap.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public final class SitPolicy {
+    private final int numDice;
+    private final int numRounds;
+    private final ShortBuffer thresholds;
+    private final double expectedScore;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final int MAX_BANKED   = 1023;
+    public static final int BANKED_SLOTS = MAX_BANKED + 1;
+
+    /**
+     * @param numDice the number of dice the policy was solved for
+     * @param numRounds the number of rounds of a game
+     * @param thresholds the thresholds, at (rounds left - 1) * BANKED_SLOTS + banked points
+     * @param expectedScore the expected final score of a player following the policy
+     */
+    SitPolicy(int numDice, int numRounds, short[] thresholds, double expectedScore) {
+        this(numDice, numRounds, ShortBuffer.wrap(thresholds), expectedScore);
+    }
+
+    /**
+     * @param numDice the number of dice the policy was solved for
+     * @param numRounds the number of rounds of a game
+     * @param thresholds the thresholds, at (rounds left - 1) * BANKED_SLOTS + banked points
+     * @param expectedScore the expected final score of a player following the policy
+     */
+    SitPolicy(int numDice, int numRounds, ShortBuffer thresholds, double expectedScore) {
+        if (thresholds.capacity() != numRounds * BANKED_SLOTS) {
+            throw new IllegalArgumentException("Expected " + numRounds * BANKED_SLOTS + " thresholds.");
+        }
+        this.numDice = numDice;
+        this.numRounds = numRounds;
+        this.thresholds = thresholds;
+        this.expectedScore = expectedScore;
+    }
+
+    /**
+     * @return the number of dice the policy was solved for
+     */
+    public int getNumDice() {
+        return numDice;
+    }
+
+    /**
+     * @return the number of rounds of a game
+     */
+    public int getNumRounds() {
+        return numRounds;
+    }
+
+    /**
+     * @return the expected final score of a player following the policy from the start of a game
+     */
+    public double getExpectedScore() {
+        return expectedScore;
+    }
+
+    /**
+     * @param roundsLeft the number of rounds left, the current round included (between 1 and getNumRounds())
+     * @param banked the points banked before the current round
+     * @return the player keeps standing while the points of the current round are below this threshold
+     */
+    public int getThreshold(int roundsLeft, int banked) {
+        return thresholds.get((roundsLeft - Player.ONE_INCREMENT) * BANKED_SLOTS + Math.min(banked, MAX_BANKED));
+    }
+
+    /**
+     * @param roundsLeft the number of rounds left, the current round included (between 1 and getNumRounds())
+     * @param roundScore the points of the player in the current round
+     * @param total the total score of the player, the points of the current round included
+     * @return whether the player should keep standing for the next roll
+     */
+    public boolean stands(int roundsLeft, int roundScore, int total) {
+        return roundScore < getThreshold(roundsLeft, total - roundScore);
+    }
+
+    /**
+     * @return a copy of the thresholds, at (rounds left - 1) * BANKED_SLOTS + banked points
+     */
+    short[] getThresholds() {
+        short[] copy = new short[thresholds.capacity()];
+        thresholds.get(Player.STARTING_INDEX, copy);
+        return copy;
+    }
+}
@@ -0,0 +1,416 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * This class asks the standing human players whether they want to sit, once per turn (see Rounds). Every
+ * human has an input and an output, by default the ones of the game for all of them. The humans on
+ * different inputs are asked at once and their answers are read as they come, so a turn waits for the
+ * slowest of them instead of all of them one after the other; the humans sharing an input (e.g. the same
+ * keyboard) are asked one after the other on it, in the order of the players.
+ *
+ * A turn can be given a deadline: the humans who have not answered by then get the default action, to sit
+ * unless set otherwise, so a player who is away cannot stall the table. Whatever is typed on the input of a
+ * human who ran out of time, up to the next question, is thrown away, so a late answer is never taken as the
+ * answer to a question the player has not seen yet. The deadline is checked before every line read, so a
+ * client that keeps sending lines cannot hold the turn past it either, and a human who gives
+ * MAX_INVALID_ANSWERS answers that are neither yes nor no in one turn gets the default action at once, with
+ * or without a deadline.
+ *
+ * With a deadline, or with several inputs, the inputs are polled every POLL_MILLIS with
+ * BufferedReader.ready, from the thread of the game, and only the characters already there are read: a line
+ * is kept aside until its end arrives, so a half typed answer cannot hold the game past the deadline, and no
+ * thread is ever left blocked on an input, so the inputs can still be read directly once the game is over.
+ * Without a deadline and with one input, the answers are read the usual blocking way.
+ *
+ * The deadline and the default action are taken from -Dskunk.prompt.timeout=<seconds> (0 for none, the
+ * default) and -Dskunk.prompt.default=sit or stand, or set per game.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public class SitPrompter {
+    private final GameSession session;
+    private final Player players;
+    private final BufferedReader[] inputs;
+    private final PrintStream[] outputs;
+    private final int[] leaders;
+    private final int[] asking;
+    private final StringBuilder[] partialLines;
+    private final boolean[] timedOut;
+    private final int[] invalidAnswers;
+    private final GameEvents.PromptWait[] events;
+    private long timeoutMillis;
+    private boolean defaultSits;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final String TIMEOUT_PROPERTY = "skunk.prompt.timeout";
+    public static final String DEFAULT_PROPERTY = "skunk.prompt.default";
+    public static final String SIT              = "sit";
+    public static final String STAND            = "stand";
+
+    public static final long NO_TIMEOUT         = 0;
+    public static final int MAX_INVALID_ANSWERS = 5;
+    public static final long POLL_MILLIS        = 10;
+    public static final double MILLIS_PER_SEC   = 1000.0;
+    public static final long NANOS_PER_MILLI    = 1000000;
+    public static final char NEW_LINE           = '\n';
+    public static final char CARRIAGE_RETURN    = '\r';
+
+    public static final long CONFIGURED_TIMEOUT_MILLIS = configuredTimeoutMillis();
+    public static final boolean CONFIGURED_DEFAULT_SITS = !STAND.equalsIgnoreCase(System.getProperty(DEFAULT_PROPERTY));
+
+    /**
+     * Every human answers on the input of the game and is asked on the output of the game.
+     *
+     * @param session the game
+     * @param bf to read the answers of the humans
+     */
+    public SitPrompter(GameSession session, BufferedReader bf) {
+        this(session, sameForAll(new BufferedReader[session.getPlayers().getNumHuman()], bf),
+                sameForAll(new PrintStream[session.getPlayers().getNumHuman()], session.getOut()));
+    }
+
+    /**
+     * For the prompters that answer for the human players instead of asking them (see BatchGames), so they
+     * have no input nor output and override collect.
+     *
+     * @param session the game
+     */
+    protected SitPrompter(GameSession session) {
+        this(session, new BufferedReader[session.getPlayers().getNumHuman()],
+                new PrintStream[session.getPlayers().getNumHuman()]);
+    }
+
+    /**
+     * @param session the game
+     * @param inputs the input of every human player, the same reader for the humans who share one
+     * @param outputs the output of every human player
+     */
+    public SitPrompter(GameSession session, BufferedReader[] inputs, PrintStream[] outputs) {
+        this.session = session;
+        players = session.getPlayers();
+        if (inputs.length != players.getNumHuman() || outputs.length != players.getNumHuman()) {
+            throw new IllegalArgumentException("There must be one input and one output for every human player.");
+        }
+        this.inputs = inputs.clone();
+        this.outputs = outputs.clone();
+
+        /* the first human of every input leads the humans on that input */
+        int[] firsts = new int[inputs.length];
+        int numLeaders = Player.ZERO_SCORE;
+        for (int index = Player.STARTING_INDEX; index < inputs.length; index++) {
+            if (leaderOf(index) == index) {
+                firsts[numLeaders++] = index;
+            }
+        }
+        leaders = Arrays.copyOf(firsts, numLeaders);
+        asking = new int[numLeaders];
+        partialLines = new StringBuilder[numLeaders];
+        for (int group = Player.STARTING_INDEX; group < numLeaders; group++) {
+            partialLines[group] = new StringBuilder();
+        }
+        timedOut = new boolean[numLeaders];
+        invalidAnswers = new int[inputs.length];
+        events = new GameEvents.PromptWait[inputs.length];
+        timeoutMillis = CONFIGURED_TIMEOUT_MILLIS;
+        defaultSits = CONFIGURED_DEFAULT_SITS;
+    }
+
+    /**
+     * @param array an array to fill
+     * @param value the value of every element
+     * @return the array
+     */
+    private static <T> T[] sameForAll(T[] array, T value) {
+        Arrays.fill(array, value);
+        return array;
+    }
+
+    /**
+     * @return the deadline of a turn from TIMEOUT_PROPERTY, in milliseconds, NO_TIMEOUT if it is not set
+     */
+    private static long configuredTimeoutMillis() {
+        String seconds = System.getProperty(TIMEOUT_PROPERTY);
+        if (seconds == null) {
+            return NO_TIMEOUT;
+        }
+        try {
+            return Math.max(Math.round(Double.parseDouble(seconds) * MILLIS_PER_SEC), NO_TIMEOUT);
+        } catch (NumberFormatException e) {
+            System.err.println("The prompts have no deadline, " + TIMEOUT_PROPERTY + " must be a number of "
+                    + "seconds: " + seconds);
+            return NO_TIMEOUT;
+        }
+    }
+
+    /**
+     * @return how long the humans have to answer in a turn, in milliseconds, NO_TIMEOUT for no deadline
+     */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * @param timeoutMillis how long the humans have to answer in a turn, in milliseconds, NO_TIMEOUT for no
+     *                      deadline
+     */
+    public void setTimeoutMillis(long timeoutMillis) {
+        if (timeoutMillis < NO_TIMEOUT) {
+            throw new IllegalArgumentException("The timeout cannot be negative.");
+        }
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * @return whether a human who does not answer in time sits, otherwise the human keeps standing
+     */
+    public boolean isDefaultSits() {
+        return defaultSits;
+    }
+
+    /**
+     * @param defaultSits whether a human who does not answer in time sits, otherwise the human keeps standing
+     */
+    public void setDefaultSits(boolean defaultSits) {
+        this.defaultSits = defaultSits;
+    }
+
+    /**
+     * Asks every standing human whether to sit and records the answers, the default action for the humans
+     * who did not answer by the deadline.
+     *
+     * @throws IOException if something goes wrong with an input or an input was closed
+     * @throws InterruptedException if the thread gets interrupted while waiting for the answers
+     */
+    public void collect() throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + timeoutMillis * NANOS_PER_MILLI;
+        boolean blocking = leaders.length == Player.ONE_INCREMENT && timeoutMillis == NO_TIMEOUT;
+
+        int pending = Player.ZERO_SCORE;
+        for (int group = Player.STARTING_INDEX; group < leaders.length; group++) {
+            if (timedOut[group]) {
+                discardInput(group);
+                timedOut[group] = false;
+            }
+            asking[group] = nextToAsk(leaders[group], leaders[group]);
+            if (asking[group] != Player.NO_PLAYER) {
+                ask(asking[group]);
+                pending++;
+            }
+        }
+
+        while (pending > Player.ZERO_SCORE) {
+            boolean answered = false;
+            for (int group = Player.STARTING_INDEX; group < leaders.length; group++) {
+                while (asking[group] != Player.NO_PLAYER) {
+                    if (timeoutMillis != NO_TIMEOUT && System.nanoTime() - deadline >= Player.ZERO_SCORE) {
+                        timeOut();
+                        return;
+                    }
+                    String line = blocking ? readLine(group) : pollLine(group);
+                    if (line == null) {
+                        break;
+                    }
+                    answered = true;
+                    int index = asking[group];
+                    if (answer(index, line)) {
+                        asking[group] = nextToAsk(leaders[group], index + Player.ONE_INCREMENT);
+                        if (asking[group] == Player.NO_PLAYER) {
+                            pending--;
+                        } else {
+                            ask(asking[group]);
+                        }
+                    }
+                }
+            }
+
+            if (pending > Player.ZERO_SCORE && !answered) {
+                if (timeoutMillis != NO_TIMEOUT && System.nanoTime() - deadline >= Player.ZERO_SCORE) {
+                    timeOut();
+                    return;
+                }
+                Thread.sleep(POLL_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Waits for the next line of an input.
+     *
+     * @param group the index of the input in leaders
+     * @return the next line, with the characters kept aside by pollLine in front
+     * @throws IOException if something goes wrong with the input or the input was closed
+     */
+    private String readLine(int group) throws IOException {
+        String line = ConsoleHelper.readLine(inputs[leaders[group]]);
+        StringBuilder partial = partialLines[group];
+        if (partial.length() == Player.ZERO_SCORE) {
+            return line;
+        }
+        line = partial.append(line).toString();
+        partial.setLength(Player.ZERO_SCORE);
+        return line;
+    }
+
+    /**
+     * Reads the characters of an input that are already there, without ever waiting for more.
+     *
+     * @param group the index of the input in leaders
+     * @return the next line if its end has arrived, otherwise null, its start being kept aside
+     * @throws IOException if something goes wrong with the input or the input was closed
+     */
+    private String pollLine(int group) throws IOException {
+        BufferedReader in = inputs[leaders[group]];
+        StringBuilder partial = partialLines[group];
+        while (in.ready()) {
+            int c = in.read();
+            if (c < Player.ZERO_SCORE) {
+                throw new EOFException("The input was closed.");
+            }
+            if (c == NEW_LINE) {
+                int end = partial.length();
+                if (end > Player.ZERO_SCORE && partial.charAt(end - Player.ONE_INCREMENT) == CARRIAGE_RETURN) {
+                    end--;
+                }
+                String line = partial.substring(Player.STARTING_INDEX, end);
+                partial.setLength(Player.ZERO_SCORE);
+                return line;
+            }
+            partial.append((char) c);
+        }
+        return null;
+    }
+
+    /**
+     * Throws away whatever was typed on an input and not read yet.
+     *
+     * @param group the index of the input in leaders
+     * @throws IOException if something goes wrong with the input
+     */
+    private void discardInput(int group) throws IOException {
+        BufferedReader in = inputs[leaders[group]];
+        partialLines[group].setLength(Player.ZERO_SCORE);
+        while (in.ready()) {
+            if (in.read() < Player.ZERO_SCORE) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param index the index of a human player
+     * @return the first human with the same input
+     */
+    private int leaderOf(int index) {
+        for (int other = Player.STARTING_INDEX; other < index; other++) {
+            if (inputs[other] == inputs[index]) {
+                return other;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @param leader the first human of an input
+     * @param from the index of the human to start from
+     * @return the next standing human on the input of leader from the index from, or NO_PLAYER if there is none
+     */
+    private int nextToAsk(int leader, int from) {
+        for (int index = from; index < inputs.length; index++) {
+            if (inputs[index] == inputs[leader] && players.isStanding(index)) {
+                return index;
+            }
+        }
+        return Player.NO_PLAYER;
+    }
+
+    /**
+     * Prints the question to a human, with the exact worth of one more roll (see RollOdds).
+     *
+     * @param index the index of the human player
+     */
+    private void ask(int index) {
+        PrintStream out = outputs[index];
+        int roundScore = session.getScoresCurrentRound()[index];
+        out.printf("\n(Standing one more roll is worth %+.1f points on average with %d points this round.)",
+                RollOdds.expectedChange(session.getDice().getNumOfDice(), roundScore, players.getScores()[index]),
+                roundScore);
+        out.printf("\nDo you Player %s (# %d) want to sit? ", players.getHumanNames()[index], (index + 1));
+        invalidAnswers[index] = Player.ZERO_SCORE;
+        events[index] = new GameEvents.PromptWait();
+        events[index].begin();
+    }
+
+    /**
+     * Records the answer of a human, who must enter yes or no (ignoring case), or asks again. After
+     * MAX_INVALID_ANSWERS answers that are neither, the human gets the default action instead.
+     *
+     * @param index the index of the human player
+     * @param ans the line typed by the human
+     * @return whether the human is done for this turn
+     */
+    private boolean answer(int index, String ans) {
+        int yesOrNo = ConsoleHelper.yesOrNo(ans);
+        if (yesOrNo == ConsoleHelper.NOT_YES_OR_NO) {
+            invalidAnswers[index]++;
+            if (invalidAnswers[index] >= MAX_INVALID_ANSWERS) {
+                session.setStanding(index, !defaultSits);
+                outputs[index].printf("\nToo many answers that are not yes or no from Player %s, %s.\n",
+                        players.getHumanNames()[index], defaultSits ? "sitting down" : "standing");
+                commitEvent(index, false);
+                return true;
+            }
+            outputs[index].println("Please enter yes or no");
+            return false;
+        }
+        session.setStanding(index, yesOrNo != ConsoleHelper.ANSWER_YES);
+        commitEvent(index, false);
+        return true;
+    }
+
+    /**
+     * Gives the default action to every human still to answer, once the deadline has passed. Their inputs
+     * are discarded up to the next question (see collect).
+     */
+    private void timeOut() {
+        for (int group = Player.STARTING_INDEX; group < leaders.length; group++) {
+            timedOut[group] = asking[group] != Player.NO_PLAYER;
+            for (int index = asking[group]; index != Player.NO_PLAYER;
+                 index = nextToAsk(leaders[group], index + Player.ONE_INCREMENT)) {
+                session.setStanding(index, !defaultSits);
+                outputs[index].printf("\nNo answer from Player %s in time, %s.\n", players.getHumanNames()[index],
+                        defaultSits ? "sitting down" : "standing");
+                commitEvent(index, true);
+            }
+        }
+    }
+
+    /**
+     * @param index the index of a human player who answered or ran out of time
+     * @param timedOut whether the human ran out of time
+     */
+    private void commitEvent(int index, boolean timedOut) {
+        GameEvents.PromptWait event = events[index];
+        events[index] = null;
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.player = players.getHumanNames()[index];
+            event.sits = !players.isStanding(index);
+            event.invalidAnswers = invalidAnswers[index];
+            event.timedOut = timedOut;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+/**
+ * This interface decides whether an AI player keeps standing for the next roll. The strategies are:
+ *     CoinFlipStrategy    = the AI sits at random, with the sit percentage of the game session.
+ *     ThresholdStrategy   = the AI keeps standing until its points of the round reach a fixed threshold.
+ *     PolicyTableStrategy = the AI follows the best policy solved by PolicySolver.
+ *     PerSeatStrategy     = every AI seat plays its own strategy, used to pit strategies against each other.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public interface SitStrategy {
+
+    /**
+     * @param session the game being played
+     * @param index the index of an AI player who is standing
+     * @return whether the player keeps standing for the next roll
+     */
+    boolean keepStanding(GameSession session, int index);
+}
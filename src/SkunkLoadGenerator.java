@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ ***********************************************************
+ * RUN THIS FILE TO LOAD TEST A SKUNK SERVER
+ ***********************************************************
+ */
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class opens many connections to a SkunkServer at once, and plays every connection with a bot that
+ * answers the prompts of the game: it skips the instructions, picks the settings, names its player and
+ * randomly sits or stands. It reports how many connections were open at the same time and how many games
+ * were completed.
+ *
+ * Usage: java SkunkLoadGenerator [host] [port] [connections] [games per connection] [AI players]
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public class SkunkLoadGenerator {
+    private final String host;
+    private final int port;
+    private final int gamesPerConnection;
+    private final int numAI;
+    private final AtomicInteger connected, peakConnected;
+    private final LongAdder gamesCompleted, failures;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final String DEFAULT_HOST  = "localhost";
+    public static final int DEFAULT_CONNECTIONS = 1000;
+    public static final int DEFAULT_GAMES       = 1;
+    public static final int DEFAULT_AI          = 3;
+    public static final int BOT_SIT_PERCENTAGE  = 30;
+    public static final int HUMANS_PER_BOT      = 1;
+
+    public static final int HOST_ARG        = 0;
+    public static final int PORT_ARG        = 1;
+    public static final int CONNECTIONS_ARG = 2;
+    public static final int GAMES_ARG       = 3;
+    public static final int AI_ARG          = 4;
+
+    public static final long REPORT_SECONDS = 10;
+    public static final double MILLIS_PER_SEC = 1000.0;
+
+    /**
+     * @param host the host of the server
+     * @param port the port of the server
+     * @param gamesPerConnection the number of games each bot plays before it says no to "PLAY AGAIN"
+     * @param numAI the number of AI players at each table
+     */
+    public SkunkLoadGenerator(String host, int port, int gamesPerConnection, int numAI) {
+        this.host = host;
+        this.port = port;
+        this.gamesPerConnection = gamesPerConnection;
+        this.numAI = numAI;
+        connected = new AtomicInteger();
+        peakConnected = new AtomicInteger();
+        gamesCompleted = new LongAdder();
+        failures = new LongAdder();
+    }
+
+    /**
+     * Plays one connection until the bot says no to "PLAY AGAIN" or the server closes the connection.
+     * The prompts of the game do not end with a new line, so the output is read one character at a time
+     * and the current line is compared with the prompts after every character.
+     *
+     * @param id the number of the bot, used for its name and its random seed
+     */
+    private void playBot(int id) {
+        RandomSource random = new XoshiroRandomSource(id);
+        try (Socket socket = new Socket(host, port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintStream out = new PrintStream(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            peakConnected.accumulateAndGet(connected.incrementAndGet(), Math::max);
+
+            StringBuilder line = new StringBuilder();
+            int gamesLeft = gamesPerConnection;
+            int c;
+            while ((c = in.read()) != -1) {
+                if (c == '\n') {
+                    if (line.toString().startsWith("PLAY AGAIN?")) {
+                        gamesCompleted.increment();
+                        gamesLeft--;
+                        out.println(gamesLeft > Player.ZERO_SCORE ? "yes" : "no");
+                    }
+                    line.setLength(Player.ZERO_SCORE);
+                    continue;
+                }
+                line.append((char) c);
+
+                String answer = answer(line, id, random);
+                if (answer != null) {
+                    out.println(answer);
+                    line.setLength(Player.ZERO_SCORE);
+                }
+            }
+        } catch (IOException e) {
+            failures.increment();
+        } finally {
+            connected.decrementAndGet();
+        }
+    }
+
+    /**
+     * @param line the current line printed by the server
+     * @param id the number of the bot
+     * @param random to decide if the bot sits
+     * @return the answer to the prompt at the end of line, or null if line does not end with a prompt
+     */
+    private String answer(StringBuilder line, int id, RandomSource random) {
+        if (line.length() < Dice.TWO_DICE || line.charAt(line.length() - Player.ONE_INCREMENT) != Rounds.EMPTY_CHAR) {
+            return null;
+        }
+        String prompt = line.toString();
+        if (prompt.endsWith("(yes or no)? ")) {
+            return "no";
+        } else if (prompt.endsWith("(2 or 3): ")) {
+            return Integer.toString(Dice.TWO_DICE + id % Dice.TWO_DICE);
+        } else if (prompt.endsWith("human players: ")) {
+            return Integer.toString(HUMANS_PER_BOT);
+        } else if (prompt.endsWith("AI players: ")) {
+            return Integer.toString(numAI);
+        } else if (prompt.contains("Enter name for Player #") && prompt.endsWith(": ")) {
+            return "bot" + id;
+        } else if (prompt.endsWith("want to sit? ")) {
+            return random.nextInt(Player.ONE_HUNDRED_PERCENT) < BOT_SIT_PERCENTAGE ? "yes" : "no";
+        }
+        return null;
+    }
+
+    /**
+     * Starts every bot at once and waits until all of them are done, printing the progress periodically.
+     *
+     * @param connections the number of bots
+     * @throws InterruptedException if the thread gets interrupted
+     */
+    public void run(int connections) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        ExecutorService bots = ThreadPerTask.newExecutor();
+        for (int id = Player.STARTING_INDEX; id < connections; id++) {
+            int botId = id;
+            bots.execute(() -> playBot(botId));
+        }
+        bots.shutdown();
+        while (!bots.awaitTermination(REPORT_SECONDS, TimeUnit.SECONDS)) {
+            printReport(start);
+        }
+        printReport(start);
+    }
+
+    /**
+     * @param start when the bots were started
+     */
+    private void printReport(long start) {
+        System.out.printf("%.1fs: %d connected (peak %d), %d games completed, %d failed connections\n",
+                (System.currentTimeMillis() - start) / MILLIS_PER_SEC, connected.get(), peakConnected.get(),
+                gamesCompleted.sum(), failures.sum());
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String host = (args.length > HOST_ARG) ? args[HOST_ARG] : DEFAULT_HOST;
+        int port = (args.length > PORT_ARG) ? Integer.parseInt(args[PORT_ARG]) : SkunkServer.DEFAULT_PORT;
+        int connections = (args.length > CONNECTIONS_ARG) ?
+                Integer.parseInt(args[CONNECTIONS_ARG]) : DEFAULT_CONNECTIONS;
+        int games = (args.length > GAMES_ARG) ? Integer.parseInt(args[GAMES_ARG]) : DEFAULT_GAMES;
+        int numAI = (args.length > AI_ARG) ? Integer.parseInt(args[AI_ARG]) : DEFAULT_AI;
+
+        new SkunkLoadGenerator(host, port, games, numAI).run(connections);
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ ***********************************************************
+ * RUN THIS FILE TO HOST GAMES OVER TCP
+ ***********************************************************
+ */
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class hosts skunk tables over a plain TCP line protocol: every connection plays the same games as
+ * the console (see GameLauncher.play), with the socket in place of System.in and System.out. Connect with
+ * any line based client, e.g. "nc localhost 4000".
+ *
+ * Every connection is served by its own thread (see ThreadPerTask), a virtual thread when the JVM has them
+ * (Java 21 and up), so the blocking prompts and pauses of the game keep their simple style and thousands of
+ * connections only cost a few kilobytes each. Older JVMs fall back to one platform thread per connection.
+ *
+ * With more than one human per table, the connections are seated together instead: every connection gives
+ * the name of its player, waits for the table to fill, then the table plays one game with its AI players.
+ * Every human answers on their own connection (see SitPrompter), so the humans are asked at once and a turn
+ * only waits for the slowest of them, and the game is printed to every connection. A table that has no
+ * deadline from -Dskunk.prompt.timeout gets TABLE_TIMEOUT_MILLIS, so a player who leaves cannot stall the
+ * others.
+ *
+ * Usage: java SkunkServer [port] [real, budget or virtual pacing] [humans per table] [AI players] [dice]
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public class SkunkServer implements AutoCloseable {
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections;
+    private final AtomicInteger activeConnections;
+    private final String pacingMode;
+    private final int humansPerTable;
+    private final int numAI;
+    private final int numDice;
+    private final List<Seat> waiting;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final int DEFAULT_PORT          = 4000;
+    public static final int BACKLOG               = 4096;
+    public static final int PORT_ARG              = 0;
+    public static final int PACING_ARG            = 1;
+    public static final int HUMANS_ARG            = 2;
+    public static final int AI_ARG                = 3;
+    public static final int DICE_ARG              = 4;
+    public static final int ONE_HUMAN             = 1;
+    public static final long TABLE_TIMEOUT_MILLIS = 30000;
+
+    /**
+     * A connection seated at a table that is not full yet.
+     */
+    private static final class Seat {
+        final Socket socket;
+        final BufferedReader in;
+        final PrintStream out;
+        final String name;
+
+        Seat(Socket socket, BufferedReader in, PrintStream out, String name) {
+            this.socket = socket;
+            this.in = in;
+            this.out = out;
+            this.name = name;
+        }
+    }
+
+    /**
+     * Prints the game of a table to every connection at the table. A connection that went away is skipped
+     * by its PrintStream, so it does not stop the game for the others.
+     */
+    private static final class TableOutput extends OutputStream {
+        private final PrintStream[] outputs;
+
+        TableOutput(PrintStream[] outputs) {
+            this.outputs = outputs;
+        }
+
+        @Override
+        public void write(int b) {
+            for (PrintStream out : outputs) {
+                out.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (PrintStream out : outputs) {
+                out.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() {
+            for (PrintStream out : outputs) {
+                out.flush();
+            }
+        }
+    }
+
+    /**
+     * Every connection plays its own games, like the console.
+     *
+     * @param port the port to listen on, 0 for any free port
+     * @param pacingMode the pacing of the games of every connection (see Pacer.forMode)
+     * @throws IOException if the port cannot be opened
+     */
+    public SkunkServer(int port, String pacingMode) throws IOException {
+        this(port, pacingMode, ONE_HUMAN, Player.ZERO_SCORE, Dice.THREE_DICE);
+    }
+
+    /**
+     * @param port the port to listen on, 0 for any free port
+     * @param pacingMode the pacing of the games of every connection (see Pacer.forMode)
+     * @param humansPerTable the number of connections seated at each table, ONE_HUMAN for a console game per
+     *                       connection
+     * @param numAI the number of AI players of each table, unused with ONE_HUMAN
+     * @param numDice the number of dice of each table, two or three, unused with ONE_HUMAN
+     * @throws IOException if the port cannot be opened
+     */
+    public SkunkServer(int port, String pacingMode, int humansPerTable, int numAI, int numDice)
+            throws IOException {
+        /* fails early on an unknown pacing mode */
+        Pacer.forMode(pacingMode);
+        if (humansPerTable < ONE_HUMAN || numAI < Player.ZERO_SCORE
+                || (numDice != Dice.TWO_DICE && numDice != Dice.THREE_DICE)) {
+            throw new IllegalArgumentException("A table needs at least one human, no negative number of AI "
+                    + "players and 2 or 3 dice.");
+        }
+        this.pacingMode = pacingMode;
+        this.humansPerTable = humansPerTable;
+        this.numAI = numAI;
+        this.numDice = numDice;
+        waiting = new ArrayList<>();
+        serverSocket = new ServerSocket(port, BACKLOG);
+        connections = ThreadPerTask.newExecutor();
+        activeConnections = new AtomicInteger();
+    }
+
+    /**
+     * @return the port the server listens on
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return the number of players connected right now
+     */
+    public int getActiveConnections() {
+        return activeConnections.get();
+    }
+
+    /**
+     * Accepts connections until the server is closed.
+     *
+     * @throws IOException if something goes wrong with the server socket
+     */
+    public void serve() throws IOException {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (SocketException e) {
+                /* the server socket was closed */
+                break;
+            }
+            activeConnections.incrementAndGet();
+            if (humansPerTable == ONE_HUMAN) {
+                connections.execute(() -> handle(socket));
+            } else {
+                connections.execute(() -> join(socket));
+            }
+        }
+    }
+
+    /**
+     * Plays games with one connected player until the player says no to "PLAY AGAIN" or disconnects.
+     *
+     * @param socket the connection of the player
+     */
+    private void handle(Socket socket) {
+        try (Socket s = socket;
+             BufferedReader bf = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+             PrintStream out = new PrintStream(s.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            socket.setTcpNoDelay(true);
+            GameLauncher.play(bf, out, Pacer.forMode(pacingMode));
+        } catch (EOFException | SocketException e) {
+            /* the player disconnected in the middle of a game */
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("Connection ended with an error: " + e);
+        } finally {
+            activeConnections.decrementAndGet();
+        }
+    }
+
+    /**
+     * Seats a connection at the table being filled, and plays the game of the table on the thread of the
+     * connection that fills it. The other connections of the table are idle until then.
+     *
+     * @param socket the connection of the player
+     */
+    private void join(Socket socket) {
+        boolean seated = false;
+        Seat[] table = null;
+        try {
+            socket.setTcpNoDelay(true);
+            BufferedReader bf = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                    StandardCharsets.UTF_8));
+            PrintStream out = new PrintStream(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            out.print("Enter your name: ");
+            String name = ConsoleHelper.readLine(bf);
+            synchronized (waiting) {
+                waiting.add(new Seat(socket, bf, out, name));
+                seated = true;
+                if (waiting.size() < humansPerTable) {
+                    out.printf("Waiting for %d more players...\n", humansPerTable - waiting.size());
+                    return;
+                }
+                table = waiting.toArray(new Seat[humansPerTable]);
+                waiting.clear();
+            }
+            playTable(table);
+        } catch (EOFException | SocketException e) {
+            /* the player disconnected before the table was full */
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("Table ended with an error: " + e);
+        } finally {
+            if (!seated) {
+                leave(socket);
+            }
+            if (table != null) {
+                for (Seat seat : table) {
+                    leave(seat.socket);
+                }
+            }
+        }
+    }
+
+    /**
+     * Plays one game between the humans of a full table and the AI players.
+     *
+     * @param table the connections of the humans, in the order they joined
+     * @throws Exception if something goes wrong with an input or the thread gets interrupted
+     */
+    private void playTable(Seat[] table) throws Exception {
+        String[] names = new String[table.length];
+        BufferedReader[] inputs = new BufferedReader[table.length];
+        PrintStream[] outputs = new PrintStream[table.length];
+        for (int index = Player.STARTING_INDEX; index < table.length; index++) {
+            names[index] = table[index].name;
+            inputs[index] = table[index].in;
+            outputs[index] = table[index].out;
+        }
+
+        PrintStream all = new PrintStream(new TableOutput(outputs), true, StandardCharsets.UTF_8);
+        GameSession session = new GameSession(numDice, new Player(names, numAI), RandomSource.newSource());
+        session.setOut(all);
+        session.setPacer(Pacer.forMode(pacingMode));
+        if (GameJournal.processJournal() != null) {
+            session.setListener(GameJournal.processJournal().recorder());
+        }
+
+        SitPrompter prompter = new SitPrompter(session, inputs, outputs);
+        if (prompter.getTimeoutMillis() == SitPrompter.NO_TIMEOUT) {
+            prompter.setTimeoutMillis(TABLE_TIMEOUT_MILLIS);
+        }
+        all.printf("The table is full: %s and %d AI players, with %d dice.\n", String.join(", ", names), numAI,
+                numDice);
+        new Rounds(session, prompter, null);
+        all.println("Thanks for playing!");
+    }
+
+    /**
+     * Closes a connection whose games are over.
+     *
+     * @param socket the connection
+     */
+    private void leave(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            /* the connection is gone either way */
+        }
+        activeConnections.decrementAndGet();
+    }
+
+    /**
+     * Stops accepting connections and interrupts the games in progress.
+     *
+     * @throws IOException if something goes wrong with the server socket
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = (args.length > PORT_ARG) ? Integer.parseInt(args[PORT_ARG]) : DEFAULT_PORT;
+        String pacingMode = (args.length > PACING_ARG) ? args[PACING_ARG] : Pacer.REAL_TIME;
+        int humansPerTable = (args.length > HUMANS_ARG) ? Integer.parseInt(args[HUMANS_ARG]) : ONE_HUMAN;
+        int numAI = (args.length > AI_ARG) ? Integer.parseInt(args[AI_ARG]) : Player.ZERO_SCORE;
+        int numDice = (args.length > DICE_ARG) ? Integer.parseInt(args[DICE_ARG]) : Dice.THREE_DICE;
+        try (SkunkServer server = new SkunkServer(port, pacingMode, humansPerTable, numAI, numDice)) {
+            System.out.printf("SKUNK server listening on port %d\n", server.getPort());
+            server.serve();
+        }
+    }
+}
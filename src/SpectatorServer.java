@@ -0,0 +1,553 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class serves the tables of the console games in progress (see Rounds) as JSON over HTTP, so spectators
+ * can watch a game without sharing the terminal of its players. It is turned on with
+ * -Dskunk.spectator.port=<port> (0 for any free port, printed to System.err):
+ *     GET /tables              the ids of the tables in progress, e.g. {"tables":[1,2]}
+ *     GET /tables/<id>         the table: round, turn, last roll and points, then every player with whether
+ *                              the player stands, the total score and the score of the round
+ *     GET /tables/<id>/events  a stream of server-sent events: a snapshot event with the table, then a turn
+ *                              event after every turn with the roll, its class (see POINTS_CLASSES), the
+ *                              players who sat and the change of every score, and an end event after the game
+ *
+ * Every game publishes its table into its own Table once per turn: the game thread writes the JSON into a
+ * reused StringBuilder, encodes it once, and swaps the bytes in with a volatile write. A spectator request
+ * only reads that reference and sends the bytes, so any number of spectators never read the arrays of Player
+ * nor wait on the game, and the game never waits on them. The HTTP exchanges run on a thread each (see
+ * ThreadPerTask.newExecutor).
+ *
+ * The events of a turn are encoded once and the same bytes are queued for every subscriber of the table. The
+ * queue of a subscriber holds at most QUEUE_CAPACITY events and is written to the socket by the thread of its
+ * exchange; when it is full, the subscriber is behind, so its queue is dropped for one snapshot event with the
+ * latest table. A slow spectator thus skips turns instead of slowing the game or the other spectators. The ids
+ * of the events of a table are given and queued under the lock of its subscribers, which the game only holds
+ * to offer the events of a turn and a new spectator only holds to queue its first snapshot, so every
+ * spectator gets its events in the order of their ids, and a snapshot always holds every turn before it.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public final class SpectatorServer {
+    private final HttpServer server;
+    private final Map<Long, Table> tables;
+    private final AtomicLong nextId;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final String PORT_PROPERTY = "skunk.spectator.port";
+    public static final String TABLES_PATH   = "/tables";
+    public static final String EVENTS_PATH   = "/events";
+    public static final String JSON_TYPE     = "application/json; charset=utf-8";
+    public static final String EVENTS_TYPE   = "text/event-stream; charset=utf-8";
+    public static final String GET           = "GET";
+    public static final int BACKLOG          = 1024;
+    public static final int HTTP_OK          = 200;
+    public static final int HTTP_NOT_FOUND   = 404;
+    public static final int HTTP_BAD_METHOD  = 405;
+    public static final long NO_BODY         = -1;
+    public static final long CHUNKED_BODY    = 0;
+    public static final int STOP_DELAY_SEC   = 0;
+    public static final int HEX_DIGITS       = 4;
+    public static final char FIRST_PRINTABLE = ' ';
+
+    public static final int QUEUE_CAPACITY      = 64;
+    public static final long KEEP_ALIVE_SEC     = 15;
+    public static final String SNAPSHOT_EVENT   = "snapshot";
+    public static final String TURN_EVENT       = "turn";
+    public static final String END_EVENT        = "end";
+    public static final String POINTS_CLASS     = "points";
+    public static final String[] POINTS_CLASSES = {"oneOne", "twoOnes", "threeOnes"};
+    public static final byte[] KEEP_ALIVE       = ": keep-alive\n\n".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * What every game publishes into when the spectators are off: it builds nothing.
+     */
+    public static final Table DISABLED = new Table(null, Player.ZERO_SCORE);
+
+    /**
+     * The table of one game, published by the thread of the game only. Its events get their ids under the
+     * lock of its subscribers, so the ids in the queue of a spectator only grow.
+     */
+    public static final class Table implements AutoCloseable {
+        private final SpectatorServer spectators;
+        private final long id;
+        private final StringBuilder json;
+        private final List<BlockingDeque<byte[]>> subscribers;
+        private final AtomicLong eventIds;
+        private volatile byte[] snapshot;
+        private volatile String snapshotJson;
+        private volatile byte[] endEvent;
+        private byte[] snapshotEvent;
+        private int[] lastScores;
+        private boolean[] lastStanding;
+
+        /**
+         * @param spectators the server of the process, or null for DISABLED
+         * @param id the id of the table
+         */
+        private Table(SpectatorServer spectators, long id) {
+            this.spectators = spectators;
+            this.id = id;
+            json = new StringBuilder();
+            subscribers = new CopyOnWriteArrayList<>();
+            eventIds = new AtomicLong();
+        }
+
+        /**
+         * @return the id of the table, in the paths of the server
+         */
+        public long getId() {
+            return id;
+        }
+
+        /**
+         * @return the last table published, encoded in UTF-8 JSON, or null if none was published yet
+         */
+        public byte[] getSnapshot() {
+            return snapshot;
+        }
+
+        /**
+         * @return the number of spectators streaming the events of the table
+         */
+        public int getSubscribers() {
+            return subscribers.size();
+        }
+
+        /**
+         * Publishes the table of a game, and the events of its last turn to the subscribers, e.g. once per turn.
+         *
+         * @param session the game
+         * @param lastRoll the faces of the last roll, or null before the first roll
+         * @param points the points of the last roll, as given by RollScorer
+         */
+        public void publish(GameSession session, int[] lastRoll, int points) {
+            if (spectators == null) {
+                return;
+            }
+            Player players = session.getPlayers();
+            int[] scores = players.getScores();
+            int[] roundScores = session.getScoresCurrentRound();
+            json.setLength(Player.ZERO_SCORE);
+            json.append("{\"table\":").append(id);
+            json.append(",\"round\":\"").append(Rounds.ROUNDS[session.getRound()]).append('"');
+            json.append(",\"turn\":").append(session.getTurn());
+            json.append(",\"roundEnded\":").append(session.isRoundEnded());
+            json.append(",\"lastRoll\":");
+            appendRoll(json, lastRoll);
+            json.append(",\"points\":").append((lastRoll == null) ? Player.ZERO_SCORE : points);
+            json.append(",\"players\":[");
+            for (int index = Player.STARTING_INDEX; index < players.getNumPlayers(); index++) {
+                json.append((index == Player.STARTING_INDEX) ? "{" : ",{").append("\"name\":");
+                appendString(json, nameOf(players, index));
+                json.append(",\"ai\":").append(index >= players.getNumHuman());
+                json.append(",\"standing\":").append(players.isStanding(index));
+                json.append(",\"score\":").append(scores[index]);
+                json.append(",\"roundScore\":").append(roundScores[index]).append('}');
+            }
+            json.append("]}");
+            String text = json.toString();
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            synchronized (subscribers) {
+                snapshotJson = text;
+                snapshot = bytes;
+                snapshotEvent = null;
+
+                /* the spectators see the table once it has something to show */
+                if (lastScores == null) {
+                    spectators.tables.put(id, this);
+                    lastScores = new int[players.getNumPlayers()];
+                    lastStanding = new boolean[players.getNumPlayers()];
+                } else if (lastRoll != null && !subscribers.isEmpty()) {
+                    byte[] turnEvent = turnEvent(session, lastRoll, points);
+                    for (BlockingDeque<byte[]> queue : subscribers) {
+                        offer(queue, turnEvent);
+                    }
+                }
+            }
+
+            /* the standing of the first turn of a round is decided from everyone standing */
+            boolean roundStart = session.getTurn() == Rounds.STARTING_TURN;
+            for (int index = Player.STARTING_INDEX; index < lastScores.length; index++) {
+                lastScores[index] = scores[index];
+                lastStanding[index] = roundStart || players.isStanding(index);
+            }
+        }
+
+        /**
+         * @return the event of the turn just played, encoded once for every subscriber
+         */
+        private byte[] turnEvent(GameSession session, int[] lastRoll, int points) {
+            Player players = session.getPlayers();
+            boolean firstTurn = session.getTurn() == Rounds.STARTING_TURN + Player.ONE_INCREMENT;
+            json.setLength(Player.ZERO_SCORE);
+            appendEventHeader(json, TURN_EVENT);
+            json.append("{\"table\":").append(id);
+            json.append(",\"round\":\"").append(Rounds.ROUNDS[session.getRound()]).append('"');
+            json.append(",\"turn\":").append(session.getTurn());
+            json.append(",\"roll\":");
+            appendRoll(json, lastRoll);
+            json.append(",\"points\":").append(points);
+            json.append(",\"class\":\"").append(pointsClass(points)).append('"');
+            json.append(",\"sat\":[");
+            boolean first = true;
+            for (int index = Player.STARTING_INDEX; index < lastScores.length; index++) {
+                if ((firstTurn || lastStanding[index]) && !players.isStanding(index)) {
+                    json.append(first ? "" : ",");
+                    appendString(json, nameOf(players, index));
+                    first = false;
+                }
+            }
+            json.append("],\"deltas\":[");
+            int[] scores = players.getScores();
+            for (int index = Player.STARTING_INDEX; index < lastScores.length; index++) {
+                json.append((index == Player.STARTING_INDEX) ? "" : ",").append(scores[index] - lastScores[index]);
+            }
+            json.append("],\"roundEnded\":").append(session.isRoundEnded()).append("}\n\n");
+            return json.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Queues an event for a subscriber, or drops the events it is behind on for the latest table.
+         *
+         * @param queue the events of the subscriber not sent yet
+         * @param event the event
+         */
+        private void offer(BlockingDeque<byte[]> queue, byte[] event) {
+            if (!queue.offerLast(event)) {
+                queue.clear();
+                queue.offerLast(snapshotEvent());
+            }
+        }
+
+        /**
+         * @return the snapshot event of the latest table, encoded once per turn at most
+         */
+        private byte[] snapshotEvent() {
+            byte[] event = snapshotEvent;
+            if (event == null) {
+                event = event(SNAPSHOT_EVENT, snapshotJson);
+                snapshotEvent = event;
+            }
+            return event;
+        }
+
+        /**
+         * @param name the name of the event
+         * @param data the data of the event, on one line
+         * @return the event, encoded
+         */
+        private byte[] event(String name, String data) {
+            StringBuilder s = new StringBuilder();
+            appendEventHeader(s, name);
+            return s.append(data).append("\n\n").toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        /**
+         * @param s where the id and the name of the next event are appended, up to its data
+         * @param name the name of the event
+         */
+        private void appendEventHeader(StringBuilder s, String name) {
+            s.append("id: ").append(eventIds.incrementAndGet()).append("\nevent: ").append(name).append("\ndata: ");
+        }
+
+        /**
+         * @return the events of a new subscriber, the first one the current table, then every later event
+         */
+        private BlockingDeque<byte[]> subscribe() {
+            BlockingDeque<byte[]> queue = new LinkedBlockingDeque<>(QUEUE_CAPACITY);
+            synchronized (subscribers) {
+                if (snapshotJson != null) {
+                    queue.offerLast(snapshotEvent());
+                }
+                if (endEvent != null) {
+                    queue.offerLast(endEvent);
+                }
+                subscribers.add(queue);
+            }
+            return queue;
+        }
+
+        /**
+         * Takes the table off the server once its game is over, and ends the events of its subscribers.
+         */
+        @Override
+        public void close() {
+            if (spectators == null) {
+                return;
+            }
+            spectators.tables.remove(id);
+            synchronized (subscribers) {
+                byte[] end = event(END_EVENT, snapshotJson);
+                endEvent = end;
+                for (BlockingDeque<byte[]> queue : subscribers) {
+                    if (!queue.offerLast(end)) {
+                        queue.clear();
+                        queue.offerLast(end);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The server of the process, started on first use from the system property PORT_PROPERTY.
+     */
+    private static final class ProcessSpectators {
+        static final SpectatorServer SPECTATORS = open();
+
+        /**
+         * @return the server, or null when it is off or cannot be started
+         */
+        private static SpectatorServer open() {
+            String port = System.getProperty(PORT_PROPERTY);
+            if (port == null) {
+                return null;
+            }
+            try {
+                SpectatorServer spectators = new SpectatorServer(Integer.parseInt(port));
+                System.err.printf("Spectators can watch at http://localhost:%d%s\n", spectators.getPort(),
+                        TABLES_PATH);
+                return spectators;
+            } catch (NumberFormatException | IOException e) {
+                System.err.println("The spectators cannot watch, " + PORT_PROPERTY + " must be a free port: " + e);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Starts serving the tables.
+     *
+     * @param port the port to listen on, 0 for any free port
+     * @throws IOException if the port cannot be opened
+     */
+    public SpectatorServer(int port) throws IOException {
+        tables = new ConcurrentHashMap<>();
+        nextId = new AtomicLong();
+        server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        server.createContext(TABLES_PATH, this::handle);
+        server.setExecutor(ThreadPerTask.newExecutor(true));
+
+        /* the dispatcher thread takes the daemon flag of the thread starting it, so it never keeps a finished
+           console game alive */
+        Thread starter = new Thread(server::start, "skunk-spectator-start");
+        starter.setDaemon(true);
+        starter.start();
+        try {
+            starter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the server of the process, or null if PORT_PROPERTY is not set
+     */
+    public static SpectatorServer processSpectators() {
+        return ProcessSpectators.SPECTATORS;
+    }
+
+    /**
+     * @return a table for one game: a new one on the server of the process, or DISABLED if it is off
+     */
+    public static Table newTable() {
+        SpectatorServer spectators = processSpectators();
+        return (spectators == null) ? DISABLED : spectators.table();
+    }
+
+    /**
+     * @return a table for one game, served from its first publish until it is closed when the game is over
+     */
+    public Table table() {
+        return new Table(this, nextId.incrementAndGet());
+    }
+
+    /**
+     * @return the port the server listens on
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops serving the tables.
+     */
+    public void close() {
+        server.stop(STOP_DELAY_SEC);
+    }
+
+    /**
+     * Answers GET /tables, GET /tables/<id> and GET /tables/<id>/events.
+     *
+     * @param exchange the request and its response
+     * @throws IOException if the spectator disconnected
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!GET.equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(HTTP_BAD_METHOD, NO_BODY);
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            if (path.equals(TABLES_PATH) || path.equals(TABLES_PATH + "/")) {
+                send(exchange, listTables());
+                return;
+            }
+            String rest = path.substring(TABLES_PATH.length() + Player.ONE_INCREMENT);
+            boolean events = rest.endsWith(EVENTS_PATH);
+            if (events) {
+                rest = rest.substring(Player.STARTING_INDEX, rest.length() - EVENTS_PATH.length());
+            }
+            long id = ConsoleHelper.parseInt(rest);
+            Table table = (id == ConsoleHelper.NOT_AN_INTEGER) ? null : tables.get(id);
+            if (table == null || table.getSnapshot() == null) {
+                exchange.sendResponseHeaders(HTTP_NOT_FOUND, NO_BODY);
+            } else if (events) {
+                stream(exchange, table);
+            } else {
+                send(exchange, table.getSnapshot());
+            }
+        }
+    }
+
+    /**
+     * @param exchange the request and its response
+     * @param body the JSON to answer
+     * @throws IOException if the spectator disconnected
+     */
+    private static void send(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", JSON_TYPE);
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(HTTP_OK, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    /**
+     * Writes the events of a table to a spectator until the game is over or the spectator disconnects, with a
+     * comment every KEEP_ALIVE_SEC seconds without events so the connection is not timed out.
+     *
+     * @param exchange the request and its response
+     * @param table the table
+     * @throws IOException if the response cannot be started
+     */
+    private static void stream(HttpExchange exchange, Table table) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", EVENTS_TYPE);
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(HTTP_OK, CHUNKED_BODY);
+        BlockingDeque<byte[]> queue = table.subscribe();
+        try (OutputStream os = exchange.getResponseBody()) {
+            while (true) {
+                byte[] event = queue.pollFirst(KEEP_ALIVE_SEC, TimeUnit.SECONDS);
+                os.write((event == null) ? KEEP_ALIVE : event);
+                os.flush();
+                if (event != null && event == table.endEvent) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            /* the spectator disconnected */
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            table.subscribers.remove(queue);
+        }
+    }
+
+    /**
+     * @return the ids of the tables in progress, in UTF-8 JSON
+     */
+    private byte[] listTables() {
+        StringBuilder json = new StringBuilder("{\"tables\":[");
+        for (Long id : tables.keySet()) {
+            json.append((json.charAt(json.length() - Player.ONE_INCREMENT) == '[') ? "" : ",").append(id);
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param players the players of a game
+     * @param index the index of a player
+     * @return the name of the player
+     */
+    private static String nameOf(Player players, int index) {
+        return (index < players.getNumHuman()) ? players.getHumanNames()[index]
+                : players.getTheAINames()[index - players.getNumHuman()];
+    }
+
+    /**
+     * @param points the points of a roll, as given by RollScorer
+     * @return the class of the roll: one of POINTS_CLASSES for the rolls with ones, else POINTS_CLASS
+     */
+    static String pointsClass(int points) {
+        if (points == Rounds.DICE_ROLLS_ONE1) {
+            return POINTS_CLASSES[Player.STARTING_INDEX];
+        } else if (points == Rounds.DICE_ROLLS_TWO1) {
+            return POINTS_CLASSES[Player.ONE_INCREMENT];
+        } else if (points == Rounds.DICE_ROLLS_THREE1) {
+            return POINTS_CLASSES[Dice.TWO_DICE];
+        }
+        return POINTS_CLASS;
+    }
+
+    /**
+     * @param json where the faces are appended, as a JSON array
+     * @param roll the faces of a roll, or null for none
+     */
+    private static void appendRoll(StringBuilder json, int[] roll) {
+        json.append('[');
+        if (roll != null) {
+            for (int die = Player.STARTING_INDEX; die < roll.length; die++) {
+                json.append((die == Player.STARTING_INDEX) ? "" : ",").append(roll[die]);
+            }
+        }
+        json.append(']');
+    }
+
+    /**
+     * Appends a JSON string, e.g. the name a player typed.
+     *
+     * @param json where the string is appended
+     * @param s the string
+     */
+    static void appendString(StringBuilder json, String s) {
+        json.append('"');
+        for (int i = Player.STARTING_INDEX; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < FIRST_PRINTABLE) {
+                String hex = Integer.toHexString(c);
+                json.append("\\u");
+                for (int pad = hex.length(); pad < HEX_DIGITS; pad++) {
+                    json.append('0');
+                }
+                json.append(hex);
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
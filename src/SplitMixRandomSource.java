@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+/**
+ * The SplitMix64 generator, the same algorithm as java.util.SplittableRandom: a counter advanced by an odd
+ * gamma and scrambled by a mixing function. It is also used to seed the state of XoshiroRandomSource.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public class SplitMixRandomSource implements RandomSource {
+    private long seed;
+    private long gamma;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final long MIX_MULTIPLIER_1 = 0xBF58476D1CE4E5B9L;
+    public static final long MIX_MULTIPLIER_2 = 0x94D049BB133111EBL;
+    public static final int MIX_SHIFT_1      = 30;
+    public static final int MIX_SHIFT_2      = 27;
+    public static final int MIX_SHIFT_3      = 31;
+    public static final long ODD_BIT         = 1L;
+    public static final int STATE_LONGS     = 2;
+
+    /**
+     * @param seed the initial seed
+     */
+    public SplitMixRandomSource(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    private SplitMixRandomSource(long seed, long gamma) {
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    /**
+     * @param z any value
+     * @return z scrambled so that nearby inputs give unrelated outputs
+     */
+    public static long mix64(long z) {
+        z = (z ^ (z >>> MIX_SHIFT_1)) * MIX_MULTIPLIER_1;
+        z = (z ^ (z >>> MIX_SHIFT_2)) * MIX_MULTIPLIER_2;
+        return z ^ (z >>> MIX_SHIFT_3);
+    }
+
+    @Override
+    public long nextLong() {
+        seed += gamma;
+        return mix64(seed);
+    }
+
+    @Override
+    public RandomSource split() {
+        /* the gamma of the new generator must be odd */
+        return new SplitMixRandomSource(nextLong(), mix64(nextLong()) | ODD_BIT);
+    }
+
+    @Override
+    public long[] getState() {
+        return new long[]{seed, gamma};
+    }
+
+    @Override
+    public void setState(long[] state) {
+        if (state.length != STATE_LONGS) {
+            throw new IllegalArgumentException("A SplitMix state has " + STATE_LONGS + " longs.");
+        }
+        seed = state[0];
+        gamma = state[1];
+    }
+}
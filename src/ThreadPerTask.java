@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This class makes the executors that start a new thread for every task, used wherever a task spends most
+ * of its time blocked: the connections of SkunkServer, SpectatorServer and SimulationCoordinator, the bots
+ * of SkunkLoadGenerator and the waiting animations of Pacer. The threads are virtual threads when the JVM
+ * has them (Java 21 and up), so thousands of them only cost a few kilobytes each. Older JVMs fall back to a
+ * cached pool of platform threads.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public final class ThreadPerTask {
+
+    private ThreadPerTask() {
+    }
+
+    /**
+     * @return an executor that starts a new virtual thread for every task, or a platform thread before Java 21
+     */
+    public static ExecutorService newExecutor() {
+        return newExecutor(false);
+    }
+
+    /**
+     * @param daemon whether the platform threads, before Java 21, must not keep the process alive, as virtual
+     *               threads never do
+     * @return an executor that starts a new virtual thread for every task, or a platform thread before Java 21
+     */
+    public static ExecutorService newExecutor(boolean daemon) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task);
+                thread.setDaemon(daemon);
+                return thread;
+            });
+        }
+    }
+}
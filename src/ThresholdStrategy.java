@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+/**
+ * This class makes the AI keep standing until its points of the current round reach a fixed threshold,
+ * whatever its total score and the rounds left.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public class ThresholdStrategy implements SitStrategy {
+    private final int threshold;
+
+    /**
+     * @param threshold the AI sits once its points of the round reach this value
+     */
+    public ThresholdStrategy(int threshold) {
+        if (threshold < Player.ZERO_SCORE) {
+            throw new IllegalArgumentException("Threshold cannot be negative.");
+        }
+        this.threshold = threshold;
+    }
+
+    /**
+     * @param session the game being played
+     * @param index the index of an AI player who is standing
+     * @return whether the player keeps standing for the next roll
+     */
+    @Override
+    public boolean keepStanding(GameSession session, int index) {
+        return session.getScoresCurrentRound()[index] < threshold;
+    }
+
+    @Override
+    public String toString() {
+        return "threshold " + threshold;
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ ***********************************************************
+ * RUN THIS FILE TO PIT AI STRATEGIES AGAINST EACH OTHER
+ ***********************************************************
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * This class plays a round-robin tournament between AI sit strategies: every pair of strategies plays
+ * heads-up headless games (see SimulatedGame), the two strategies swapping seats from one batch of games to
+ * the next. The batches of all of the pairings still being played are spread across every core.
+ *
+ * Each pairing stops as soon as it is settled by a sequential probability ratio test on the games that were
+ * not tied: the test decides between "the first strategy wins a share 0.5 + SPRT_DELTA of them" and "it
+ * wins a share 0.5 - SPRT_DELTA", with error rates SPRT_ALPHA and SPRT_BETA. A pairing that is not settled
+ * after maxGames is reported as undecided. The score share of a strategy (wins plus half the ties) is
+ * reported with a 95% Wilson confidence interval.
+ *
+ * The results do not depend on the number of cores: batch b of pairing p always uses the same seed, and the
+ * test runs after every batch in the order of the batches, the batches played past the end of a pairing
+ * being dropped.
+ *
+ * Usage: java Tournament [dice] [max games per pairing] [seed]
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public class Tournament {
+    private final int numDice;
+    private final SitStrategy[] strategies;
+    private final long maxGames;
+    private final long seed;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final int BATCH_GAMES        = 2048;
+    public static final int BATCHES_PER_CORE   = 2;
+    public static final long DEFAULT_MAX_GAMES = 1 << 20;
+    public static final long DEFAULT_SEED      = 2019;
+    public static final int SEATS              = 2;
+    public static final int FIRST_SEAT         = 0;
+    public static final int SECOND_SEAT        = 1;
+
+    public static final double EVEN         = 0.5;
+    public static final double SPRT_DELTA   = 0.02;
+    public static final double SPRT_ALPHA   = 0.05;
+    public static final double SPRT_BETA    = 0.05;
+    public static final double Z_95         = 1.959963984540054;
+    public static final double NANOS_PER_SEC = 1e9;
+
+    public static final int[] COIN_FLIP_PERCENTAGES = {15, 60};
+    public static final int[] THRESHOLDS            = {10, 20, 30};
+
+    public static final int DICE_ARG      = 0;
+    public static final int MAX_GAMES_ARG = 1;
+    public static final int SEED_ARG      = 2;
+
+    public static final int UNDECIDED     = 0;
+    public static final int FIRST_BETTER  = 1;
+    public static final int SECOND_BETTER = 2;
+    public static final String[] VERDICTS = {"undecided", "first is better", "second is better"};
+
+    /**
+     * The games played so far between two strategies.
+     */
+    static final class Pairing {
+        final int index, first, second;
+        long games, firstWins, secondWins, ties;
+        int batches;
+        int verdict;
+
+        Pairing(int index, int first, int second) {
+            this.index = index;
+            this.first = first;
+            this.second = second;
+        }
+
+        /**
+         * @param result the results of a batch, seat FIRST_SEAT being the first strategy
+         */
+        void record(SimulationResult result) {
+            games += result.getGames();
+            firstWins += result.getWins(FIRST_SEAT);
+            secondWins += result.getWins(SECOND_SEAT);
+            ties += result.getTies(FIRST_SEAT);
+        }
+
+        /**
+         * @return the share of the games scored by the first strategy, a tie counting as half a win
+         */
+        double getScoreShare() {
+            return (firstWins + ties * EVEN) / games;
+        }
+
+        /**
+         * @return the log likelihood ratio of "the first strategy is better" over "the second is better"
+         */
+        double getLogLikelihoodRatio() {
+            return (firstWins - secondWins) * Math.log((EVEN + SPRT_DELTA) / (EVEN - SPRT_DELTA));
+        }
+    }
+
+    /**
+     * @param numDice the number of dice, two or three.
+     * @param strategies the strategies of the tournament
+     * @param maxGames the most games played by one pairing
+     * @param seed the seed of the tournament
+     */
+    public Tournament(int numDice, SitStrategy[] strategies, long maxGames, long seed) {
+        this.numDice = numDice;
+        this.strategies = strategies.clone();
+        this.maxGames = maxGames;
+        this.seed = seed;
+    }
+
+    /**
+     * @param numDice the number of dice, two or three.
+     * @return the coin flips with the default sit percentage and with COIN_FLIP_PERCENTAGES, the strategies
+     *         with THRESHOLDS, and the policy table
+     */
+    public static SitStrategy[] defaultStrategies(int numDice) {
+        List<SitStrategy> strategies = new ArrayList<>();
+        strategies.add(new CoinFlipStrategy((numDice == Dice.TWO_DICE) ?
+                Player.TWO_DICE_SIT_PERCENTAGE : Player.THREE_DICE_SIT_PERCENTAGE));
+        for (int percentage : COIN_FLIP_PERCENTAGES) {
+            strategies.add(new CoinFlipStrategy(percentage));
+        }
+        for (int threshold : THRESHOLDS) {
+            strategies.add(new ThresholdStrategy(threshold));
+        }
+        strategies.add(PolicyTableStrategy.forDice(numDice));
+        return strategies.toArray(new SitStrategy[0]);
+    }
+
+    /**
+     * Plays every pairing until it is settled or reaches maxGames.
+     *
+     * @return the results of every pairing
+     * @throws InterruptedException if the thread gets interrupted
+     * @throws ExecutionException if a batch of games fails
+     */
+    Pairing[] run() throws InterruptedException, ExecutionException {
+        List<Pairing> pairings = new ArrayList<>();
+        for (int first = Player.STARTING_INDEX; first < strategies.length; first++) {
+            for (int second = first + Player.ONE_INCREMENT; second < strategies.length; second++) {
+                pairings.add(new Pairing(pairings.size(), first, second));
+            }
+        }
+
+        double accept = Math.log((Player.ONE_INCREMENT - SPRT_BETA) / SPRT_ALPHA);
+        double reject = Math.log(SPRT_BETA / (Player.ONE_INCREMENT - SPRT_ALPHA));
+        int maxBatches = (int) Math.max(Player.ONE_INCREMENT, maxGames / BATCH_GAMES);
+        int slots = Runtime.getRuntime().availableProcessors() * BATCHES_PER_CORE;
+
+        List<Pairing> active = new ArrayList<>(pairings);
+        while (!active.isEmpty()) {
+            /* one wave: the same number of batches for every active pairing, enough to keep every core busy */
+            int batchesPerPairing = Math.max(Player.ONE_INCREMENT, slots / active.size());
+            List<Pairing> owners = new ArrayList<>();
+            List<Callable<SimulationResult>> wave = new ArrayList<>();
+            for (Pairing pairing : active) {
+                for (int i = Player.STARTING_INDEX; i < batchesPerPairing && pairing.batches < maxBatches; i++) {
+                    int batch = pairing.batches++;
+                    owners.add(pairing);
+                    wave.add(() -> playBatch(pairing, batch));
+                }
+            }
+
+            List<Future<SimulationResult>> results = ForkJoinPool.commonPool().invokeAll(wave);
+
+            /* tests after every batch in the order of the batches, as if they were played one by one, and
+               drops the batches of a pairing that was settled earlier in the wave */
+            for (int i = Player.STARTING_INDEX; i < results.size(); i++) {
+                Pairing pairing = owners.get(i);
+                if (pairing.verdict != UNDECIDED) {
+                    continue;
+                }
+                pairing.record(results.get(i).get());
+                double llr = pairing.getLogLikelihoodRatio();
+                if (llr >= accept) {
+                    pairing.verdict = FIRST_BETTER;
+                } else if (llr <= reject) {
+                    pairing.verdict = SECOND_BETTER;
+                }
+            }
+
+            List<Pairing> stillActive = new ArrayList<>();
+            for (Pairing pairing : active) {
+                if (pairing.verdict == UNDECIDED && pairing.batches < maxBatches) {
+                    stillActive.add(pairing);
+                }
+            }
+            active = stillActive;
+        }
+        return pairings.toArray(new Pairing[0]);
+    }
+
+    /**
+     * Plays one batch of games of a pairing. The strategies swap seats from one batch to the next, and the
+     * seats of the results are swapped back, so seat FIRST_SEAT is always the first strategy.
+     *
+     * @param pairing the pairing
+     * @param batch the index of the batch in the pairing
+     * @return the results of the batch
+     */
+    private SimulationResult playBatch(Pairing pairing, int batch) {
+        long batchSeed = seed + ((long) pairing.index * Integer.MAX_VALUE + batch) * Simulation.SEED_SPACING;
+        SimulatedGame game = new SimulatedGame(numDice, SEATS, Player.TWO_DICE_SIT_PERCENTAGE,
+                new XoshiroRandomSource(batchSeed));
+        boolean swapped = batch % SEATS == SECOND_SEAT;
+        game.getSession().setStrategy(swapped ?
+                new PerSeatStrategy(strategies[pairing.second], strategies[pairing.first]) :
+                new PerSeatStrategy(strategies[pairing.first], strategies[pairing.second]));
+
+        SimulationResult result = new SimulationResult(numDice, SEATS);
+        for (int g = Player.STARTING_INDEX; g < BATCH_GAMES; g++) {
+            game.play(result);
+        }
+        return swapped ? result.swapSeats(FIRST_SEAT, SECOND_SEAT) : result;
+    }
+
+    /**
+     * Prints the result of every pairing, then every strategy with the number of pairings it won.
+     *
+     * @param pairings the results of run
+     */
+    private void print(Pairing[] pairings) {
+        System.out.printf("\n%d DICE, %d STRATEGIES\n", numDice, strategies.length);
+        System.out.printf(" %-16s | %-16s | %-9s | %-24s | %s\n",
+                "First", "Second", "Games", "First score % (95% CI)", "Verdict");
+        System.out.print("------------------+------------------+-----------+--------------------------+------------------\n");
+
+        int[] pairingsWon = new int[strategies.length];
+        for (Pairing pairing : pairings) {
+            double share = pairing.getScoreShare();
+            double z2 = Z_95 * Z_95 / pairing.games;
+            double center = (share + z2 / SEATS) / (Player.ONE_INCREMENT + z2);
+            double half = Z_95 * Math.sqrt(share * (Player.ONE_INCREMENT - share) / pairing.games
+                    + z2 / (SEATS * SEATS * pairing.games)) / (Player.ONE_INCREMENT + z2);
+            System.out.printf(" %-16s | %-16s | %9d | %6.2f [%6.2f, %6.2f] | %s\n",
+                    strategies[pairing.first], strategies[pairing.second], pairing.games,
+                    share * SimulationResult.TO_PERCENT, (center - half) * SimulationResult.TO_PERCENT,
+                    (center + half) * SimulationResult.TO_PERCENT, VERDICTS[pairing.verdict]);
+
+            if (pairing.verdict == FIRST_BETTER) {
+                pairingsWon[pairing.first]++;
+            } else if (pairing.verdict == SECOND_BETTER) {
+                pairingsWon[pairing.second]++;
+            }
+        }
+
+        System.out.print("\n Strategy         | Pairings won\n------------------+-------------\n");
+        for (int i = Player.STARTING_INDEX; i < strategies.length; i++) {
+            System.out.printf(" %-16s | %12d\n", strategies[i], pairingsWon[i]);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        long maxGames = (args.length > MAX_GAMES_ARG) ? Long.parseLong(args[MAX_GAMES_ARG]) : DEFAULT_MAX_GAMES;
+        long seed = (args.length > SEED_ARG) ? Long.parseLong(args[SEED_ARG]) : DEFAULT_SEED;
+        int[] diceCounts = (args.length > DICE_ARG) ?
+                new int[]{Integer.parseInt(args[DICE_ARG])} : new int[]{Dice.TWO_DICE, Dice.THREE_DICE};
+
+        for (int numDice : diceCounts) {
+            Tournament tournament = new Tournament(numDice, defaultStrategies(numDice), maxGames, seed);
+            long start = System.nanoTime();
+            Pairing[] pairings = tournament.run();
+            double seconds = (System.nanoTime() - start) / NANOS_PER_SEC;
+
+            long games = Player.ZERO_SCORE;
+            for (Pairing pairing : pairings) {
+                games += pairing.games;
+            }
+            tournament.print(pairings);
+            System.out.printf("\n%d games in %.2f s, %.1f%% of the %d games of a fixed-size round robin\n", games,
+                    seconds, games * SimulationResult.TO_PERCENT / (pairings.length * maxGames),
+                    pairings.length * maxGames);
+        }
+    }
+}
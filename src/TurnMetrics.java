@@ -0,0 +1,376 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+import java.lang.management.ManagementFactory;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * This class times every phase of the turns of the console games (see Rounds) and counts the turns, the
+ * rounds, the games and the rolls with ones, for the whole process. It is turned on with
+ * -Dskunk.metrics=<seconds>: the metrics are then registered over JMX as OBJECT_NAME (see TurnMetricsMBean),
+ * and printed to System.err every that many seconds unless it is 0.
+ *
+ * Every game records into its own Recorder, so the games never contend: a recorder only stores into its own
+ * histograms and counters, with no lock and no allocation. The metrics are read by merging the recorders of
+ * the games in progress with the totals of the games over. A recorder is folded into the totals when its
+ * game is over (see Recorder.close), then reused by the next game, so the histograms are not allocated again
+ * for every game.
+ *
+ * The counters count every turn, but only one turn in SAMPLED_TURNS of every game is timed: reading the clock
+ * costs tens of nanoseconds on some machines, and the eight reads of a timed turn would cost more than 1% of
+ * a turn with a virtual pacer. The phases of a timed turn share their boundaries, the end of one phase being
+ * the start of the next one, so only the pauses of the pacer need a read of their own.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public final class TurnMetrics implements TurnMetricsMBean {
+    private final Set<Recorder> live;
+    private final Queue<Recorder> free;
+    private final LatencyHistogram[] retiredPhases;
+    private final long[] retiredCounters;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final String METRICS_PROPERTY = "skunk.metrics";
+    public static final String OBJECT_NAME      = "skunk:type=TurnMetrics";
+
+    public static final int PROMPT      = 0;
+    public static final int AI_DECISION = 1;
+    public static final int ROLL        = 2;
+    public static final int SCORING     = 3;
+    public static final int RENDERING   = 4;
+    public static final int NUM_PHASES  = 5;
+    public static final String[] PHASE_NAMES = {"prompt", "aiDecision", "roll", "scoring", "rendering"};
+
+    public static final int TURNS        = 0;
+    public static final int ROUNDS       = 1;
+    public static final int GAMES        = 2;
+    public static final int ONE_ONE      = 3;
+    public static final int TWO_ONES     = 4;
+    public static final int THREE_ONES   = 5;
+    public static final int NUM_COUNTERS = 6;
+
+    public static final double[] SUMMARY_PERCENTILES = {50, 90, 99, 99.9};
+    public static final String[] SUMMARY_LABELS      = {"p50 us", "p90 us", "p99 us", "p99.9 us"};
+    public static final double NANOS_PER_MICRO       = 1000.0;
+    public static final long NO_DUMP                 = 0;
+    public static final int SAMPLED_TURNS            = 8;
+    public static final int SAMPLE_MASK              = SAMPLED_TURNS - 1;
+
+    /**
+     * What every game records into when the metrics are off: it neither reads the clock nor counts.
+     */
+    public static final Recorder DISABLED = new Recorder(null);
+
+    /**
+     * The timings and the counts of one game, written by the thread of the game only.
+     */
+    public static final class Recorder implements AutoCloseable {
+        private final TurnMetrics metrics;
+        private final LatencyHistogram[] phases;
+        private final AtomicLongArray counters;
+        private int turnsStarted;
+        private boolean timing;
+
+        /**
+         * @param metrics the metrics of the process, or null for DISABLED
+         */
+        private Recorder(TurnMetrics metrics) {
+            this.metrics = metrics;
+            phases = new LatencyHistogram[(metrics == null) ? Player.ZERO_SCORE : NUM_PHASES];
+            for (int phase = Player.STARTING_INDEX; phase < phases.length; phase++) {
+                phases[phase] = new LatencyHistogram();
+            }
+            counters = new AtomicLongArray(NUM_COUNTERS);
+        }
+
+        /**
+         * Starts a turn, which is timed if it is one of the SAMPLED_TURNS turns of the game.
+         *
+         * @return the time the first phase of the turn starts at, to pass to record
+         */
+        public long startTurn() {
+            timing = metrics != null && (turnsStarted++ & SAMPLE_MASK) == Player.ZERO_SCORE;
+            return timing ? System.nanoTime() : Player.ZERO_SCORE;
+        }
+
+        /**
+         * @return the time a phase starts at after a pause, to pass to record
+         */
+        public long start() {
+            return timing ? System.nanoTime() : Player.ZERO_SCORE;
+        }
+
+        /**
+         * Records the time since start in the histogram of a phase, if the turn is timed.
+         *
+         * @param phase one of the phases, e.g. PROMPT
+         * @param start the time the phase started at, from startTurn, start or the previous record
+         * @return the time the phase ended at, which is the start of the next phase
+         */
+        public long record(int phase, long start) {
+            if (!timing) {
+                return Player.ZERO_SCORE;
+            }
+            long now = System.nanoTime();
+            phases[phase].record(now - start);
+            return now;
+        }
+
+        /**
+         * @param counter one of the counters, e.g. TURNS
+         */
+        public void count(int counter) {
+            if (metrics != null) {
+                counters.lazySet(counter, counters.get(counter) + Player.ONE_INCREMENT);
+            }
+        }
+
+        /**
+         * Counts a roll if it has ones.
+         *
+         * @param points the points of the roll, as given by RollScorer
+         */
+        public void countRoll(int points) {
+            if (points == Rounds.DICE_ROLLS_ONE1) {
+                count(ONE_ONE);
+            } else if (points == Rounds.DICE_ROLLS_TWO1) {
+                count(TWO_ONES);
+            } else if (points == Rounds.DICE_ROLLS_THREE1) {
+                count(THREE_ONES);
+            }
+        }
+
+        /**
+         * Folds the recorder into the totals once its game is over. It must not be used after.
+         */
+        @Override
+        public void close() {
+            if (metrics != null) {
+                metrics.retire(this);
+            }
+        }
+    }
+
+    /**
+     * The metrics of the process, created on first use from the system property METRICS_PROPERTY.
+     */
+    private static final class ProcessMetrics {
+        static final TurnMetrics METRICS = open();
+
+        /**
+         * @return the metrics, or null when they are off
+         */
+        private static TurnMetrics open() {
+            String period = System.getProperty(METRICS_PROPERTY);
+            if (period == null) {
+                return null;
+            }
+            TurnMetrics metrics = new TurnMetrics();
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                System.err.println("Could not register the metrics over JMX: " + e);
+            }
+            try {
+                long seconds = period.isEmpty() ? NO_DUMP : Long.parseLong(period);
+                if (seconds > NO_DUMP) {
+                    ScheduledExecutorService dumper = Executors.newSingleThreadScheduledExecutor(task -> {
+                        Thread thread = new Thread(task, "skunk-metrics-dump");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    dumper.scheduleAtFixedRate(() -> System.err.print(metrics.getSummary()), seconds, seconds,
+                            TimeUnit.SECONDS);
+                }
+            } catch (NumberFormatException e) {
+                System.err.println("The metrics are not dumped, " + METRICS_PROPERTY + " must be a number of "
+                        + "seconds: " + period);
+            }
+            return metrics;
+        }
+    }
+
+    TurnMetrics() {
+        live = ConcurrentHashMap.newKeySet();
+        free = new ConcurrentLinkedQueue<>();
+        retiredPhases = new LatencyHistogram[NUM_PHASES];
+        for (int phase = Player.STARTING_INDEX; phase < NUM_PHASES; phase++) {
+            retiredPhases[phase] = new LatencyHistogram();
+        }
+        retiredCounters = new long[NUM_COUNTERS];
+    }
+
+    /**
+     * @return the metrics of the process, or null if METRICS_PROPERTY is not set
+     */
+    public static TurnMetrics processMetrics() {
+        return ProcessMetrics.METRICS;
+    }
+
+    /**
+     * @return a recorder for one game: a new one from the metrics of the process, or DISABLED if they are off
+     */
+    public static Recorder newRecorder() {
+        TurnMetrics metrics = processMetrics();
+        return (metrics == null) ? DISABLED : metrics.recorder();
+    }
+
+    /**
+     * @return a recorder for one game, to be closed when the game is over
+     */
+    public Recorder recorder() {
+        Recorder recorder = free.poll();
+        if (recorder == null) {
+            recorder = new Recorder(this);
+        }
+        live.add(recorder);
+        return recorder;
+    }
+
+    /**
+     * Adds a recorder to the totals, under the lock so no reader counts it twice, and puts it back for reuse.
+     */
+    private synchronized void retire(Recorder recorder) {
+        for (int phase = Player.STARTING_INDEX; phase < NUM_PHASES; phase++) {
+            retiredPhases[phase].add(recorder.phases[phase]);
+            recorder.phases[phase].reset();
+        }
+        for (int counter = Player.STARTING_INDEX; counter < NUM_COUNTERS; counter++) {
+            retiredCounters[counter] += recorder.counters.getAndSet(counter, Player.ZERO_SCORE);
+        }
+        live.remove(recorder);
+        free.add(recorder);
+    }
+
+    /**
+     * @param phase one of the phases, e.g. PROMPT
+     * @return a copy of the latencies of the phase over every game, over or in progress
+     */
+    public synchronized LatencyHistogram histogram(int phase) {
+        LatencyHistogram histogram = new LatencyHistogram().add(retiredPhases[phase]);
+        for (Recorder recorder : live) {
+            histogram.add(recorder.phases[phase]);
+        }
+        return histogram;
+    }
+
+    /**
+     * @param counter one of the counters, e.g. TURNS
+     * @return the count over every game, over or in progress
+     */
+    public synchronized long counter(int counter) {
+        long count = retiredCounters[counter];
+        for (Recorder recorder : live) {
+            count += recorder.counters.get(counter);
+        }
+        return count;
+    }
+
+    @Override
+    public long getTurns() {
+        return counter(TURNS);
+    }
+
+    @Override
+    public long getRounds() {
+        return counter(ROUNDS);
+    }
+
+    @Override
+    public long getGames() {
+        return counter(GAMES);
+    }
+
+    @Override
+    public long getOneOneRolls() {
+        return counter(ONE_ONE);
+    }
+
+    @Override
+    public long getTwoOnesRolls() {
+        return counter(TWO_ONES);
+    }
+
+    @Override
+    public long getThreeOnesRolls() {
+        return counter(THREE_ONES);
+    }
+
+    @Override
+    public String[] getPhases() {
+        return PHASE_NAMES.clone();
+    }
+
+    @Override
+    public long count(String phase) {
+        return histogram(phaseOf(phase)).getCount();
+    }
+
+    @Override
+    public double meanNanos(String phase) {
+        return histogram(phaseOf(phase)).getMean();
+    }
+
+    @Override
+    public long percentileNanos(String phase, double percentile) {
+        return histogram(phaseOf(phase)).getPercentile(percentile);
+    }
+
+    /**
+     * @param name the name of a phase
+     * @return the phase
+     */
+    private static int phaseOf(String name) {
+        for (int phase = Player.STARTING_INDEX; phase < NUM_PHASES; phase++) {
+            if (PHASE_NAMES[phase].equals(name)) {
+                return phase;
+            }
+        }
+        throw new IllegalArgumentException("Unknown phase " + name + ", the phases are "
+                + String.join(", ", PHASE_NAMES));
+    }
+
+    /**
+     * @return a table of the counters and of the latencies of every phase in microseconds
+     */
+    @Override
+    public String getSummary() {
+        StringBuilder s = new StringBuilder();
+        s.append(String.format("\nTURN METRICS: %d games, %d rounds, %d turns, rolls with one one %d, two ones %d, "
+                        + "three ones %d\n", getGames(), getRounds(), getTurns(), getOneOneRolls(), getTwoOnesRolls(),
+                getThreeOnesRolls()));
+        s.append(String.format(" %-10s | %-10s | %-10s", "Phase", "Count", "Mean us"));
+        for (String label : SUMMARY_LABELS) {
+            s.append(String.format(" | %-10s", label));
+        }
+        s.append(String.format(" | %-10s\n", "Max us"));
+        s.append("------------+------------+-----------");
+        for (int column = Player.STARTING_INDEX; column <= SUMMARY_PERCENTILES.length; column++) {
+            s.append("-+-----------");
+        }
+        s.append('\n');
+        for (int phase = Player.STARTING_INDEX; phase < NUM_PHASES; phase++) {
+            LatencyHistogram histogram = histogram(phase);
+            s.append(String.format(" %-10s | %10d | %10.1f", PHASE_NAMES[phase], histogram.getCount(),
+                    histogram.getMean() / NANOS_PER_MICRO));
+            for (double percentile : SUMMARY_PERCENTILES) {
+                s.append(String.format(" | %10.1f", histogram.getPercentile(percentile) / NANOS_PER_MICRO));
+            }
+            s.append(String.format(" | %10.1f\n", histogram.getMax() / NANOS_PER_MICRO));
+        }
+        return s.toString();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+/**
+ * The JMX view of TurnMetrics, registered as TurnMetrics.OBJECT_NAME. The phases are named by
+ * TurnMetrics.PHASE_NAMES and every latency is in nanoseconds.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public interface TurnMetricsMBean {
+
+    /**
+     * @return the number of turns played
+     */
+    long getTurns();
+
+    /**
+     * @return the number of rounds played
+     */
+    long getRounds();
+
+    /**
+     * @return the number of games played to the end
+     */
+    long getGames();
+
+    /**
+     * @return the number of rolls with one one (DICE_ROLLS_ONE1)
+     */
+    long getOneOneRolls();
+
+    /**
+     * @return the number of rolls with two ones (DICE_ROLLS_TWO1)
+     */
+    long getTwoOnesRolls();
+
+    /**
+     * @return the number of rolls with three ones (DICE_ROLLS_THREE1)
+     */
+    long getThreeOnesRolls();
+
+    /**
+     * @return the names of the phases of a turn
+     */
+    String[] getPhases();
+
+    /**
+     * @return the counters and the latencies of every phase, as printed by the periodic dump
+     */
+    String getSummary();
+
+    /**
+     * @param phase the name of a phase
+     * @return the number of times the phase was timed, one turn in TurnMetrics.SAMPLED_TURNS
+     */
+    long count(String phase);
+
+    /**
+     * @param phase the name of a phase
+     * @return the average latency of the phase
+     */
+    double meanNanos(String phase);
+
+    /**
+     * @param phase the name of a phase
+     * @param percentile a percentile between 0 and 100
+     * @return the latency of the phase at the percentile
+     */
+    long percentileNanos(String phase, double percentile);
+}
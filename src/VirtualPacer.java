@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+import java.io.PrintStream;
+
+/**
+ * Never sleeps: every pause moves a virtual clock forward instead, and the waiting animations are not drawn.
+ * Used for tests, batch games and simulations, where the time a game would have taken can still be read
+ * from now().
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public class VirtualPacer extends Pacer {
+    private long virtualMillis;
+
+    @Override
+    public void pause(long millis) {
+        virtualMillis += millis;
+    }
+
+    @Override
+    public long now() {
+        return virtualMillis;
+    }
+
+    @Override
+    public void animate(PrintStream out, String message, int frames) {
+        pause(frames * FRAME_MILLIS);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2019, Owen Ren. All rights reserved.
+ *
+ */
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The xoshiro256** generator of Blackman and Vigna: 256 bits of state updated with shifts, rotations and
+ * xors only. It is the default generator of the game.
+ *
+ * @author Owen Ren
+ * @version 1.0
+ * @since October 18, 2026
+ */
+public class XoshiroRandomSource implements RandomSource {
+    private long s0, s1, s2, s3;
+
+    /* Symbolic constants used to get rid of magic numbers */
+    public static final int SCRAMBLE_ROTATION = 7;
+    public static final long SCRAMBLE_MUL_1   = 5;
+    public static final long SCRAMBLE_MUL_2   = 9;
+    public static final int STATE_SHIFT       = 17;
+    public static final int STATE_ROTATION    = 45;
+    public static final int STATE_LONGS       = 4;
+
+    private static final AtomicLong SEED_UNIQUIFIER = new AtomicLong(System.nanoTime());
+
+    static final ThreadLocal<RandomSource> PER_THREAD = ThreadLocal.withInitial(RandomSource::newSource);
+
+    /**
+     * @param seed any seed, expanded to the full state with SplitMix64
+     */
+    public XoshiroRandomSource(long seed) {
+        SplitMixRandomSource seeder = new SplitMixRandomSource(seed);
+        s0 = seeder.nextLong();
+        s1 = seeder.nextLong();
+        s2 = seeder.nextLong();
+        s3 = seeder.nextLong();
+    }
+
+    /**
+     * Only called once per generator, never per random number.
+     *
+     * @return a seed that differs for every call
+     */
+    static long nextSeed() {
+        return SplitMixRandomSource.mix64(SEED_UNIQUIFIER.addAndGet(GOLDEN_GAMMA) ^ System.nanoTime());
+    }
+
+    @Override
+    public long nextLong() {
+        long result = Long.rotateLeft(s1 * SCRAMBLE_MUL_1, SCRAMBLE_ROTATION) * SCRAMBLE_MUL_2;
+        long t = s1 << STATE_SHIFT;
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, STATE_ROTATION);
+        return result;
+    }
+
+    @Override
+    public RandomSource split() {
+        return new XoshiroRandomSource(nextLong());
+    }
+
+    @Override
+    public long[] getState() {
+        return new long[]{s0, s1, s2, s3};
+    }
+
+    @Override
+    public void setState(long[] state) {
+        if (state.length != STATE_LONGS) {
+            throw new IllegalArgumentException("A xoshiro state has " + STATE_LONGS + " longs.");
+        }
+        s0 = state[0];
+        s1 = state[1];
+        s2 = state[2];
+        s3 = state[3];
+    }
+}